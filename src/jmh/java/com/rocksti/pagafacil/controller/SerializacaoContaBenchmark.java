@@ -0,0 +1,69 @@
+package com.rocksti.pagafacil.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoContaBenchmark {
+
+    @Param({"20", "100"})
+    private int tamanhoPagina;
+
+    private ObjectMapper objectMapper;
+    private Page<ContaEntity> paginaEntidades;
+    private Page<ContaResponse> paginaProjecoes;
+
+    @Setup
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<ContaEntity> contas = IntStream.range(0, tamanhoPagina)
+                .mapToObj(i -> new ContaEntity()
+                        .setId((long) i)
+                        .setDescricao("Pagamento da fatura " + i)
+                        .setValorCentavos(150075L)
+                        .setDataVencimento(LocalDate.of(2024, 9, 30).plusDays(i))
+                        .setSituacao(SituacaoConta.PENDENTE)
+                        .setVersao(0L))
+                .toList();
+        PageRequest pageable = PageRequest.of(0, tamanhoPagina);
+        paginaEntidades = new PageImpl<>(contas, pageable, 10_000);
+        paginaProjecoes = paginaEntidades.map(ContaResponse::of);
+    }
+
+    @Benchmark
+    public byte[] serializarPaginaDeEntidades() throws Exception {
+        return objectMapper.writeValueAsBytes(paginaEntidades);
+    }
+
+    @Benchmark
+    public byte[] serializarPaginaDeProjecoes() throws Exception {
+        return objectMapper.writeValueAsBytes(paginaProjecoes);
+    }
+}
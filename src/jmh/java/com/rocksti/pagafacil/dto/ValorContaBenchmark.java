@@ -0,0 +1,90 @@
+package com.rocksti.pagafacil.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o valor guardado em {@code DECIMAL}, lido como texto e somado em {@link BigDecimal}, com o valor guardado em
+ * centavos, somado em {@code long} e convertido apenas na serialização.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValorContaBenchmark {
+
+    @Param({"100", "10000"})
+    private int quantidade;
+
+    private ObjectMapper objectMapper;
+    private String[] decimais;
+    private BigDecimal[] valores;
+    private long[] centavos;
+
+    @Setup
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Random random = new Random(42);
+        decimais = new String[quantidade];
+        valores = new BigDecimal[quantidade];
+        centavos = new long[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            centavos[i] = random.nextInt(1_000_000);
+            valores[i] = BigDecimal.valueOf(centavos[i], Centavos.ESCALA);
+            decimais[i] = valores[i].toPlainString();
+        }
+    }
+
+    @Benchmark
+    public BigDecimal somarDecimais() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal valor : valores) {
+            total = total.add(valor);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long somarCentavos() {
+        long total = 0;
+        for (long valor : centavos) {
+            total = Math.addExact(total, valor);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public byte[] lerESerializarDecimais() throws Exception {
+        BigDecimal[] lidos = new BigDecimal[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            lidos[i] = new BigDecimal(decimais[i]);
+        }
+        return objectMapper.writeValueAsBytes(lidos);
+    }
+
+    @Benchmark
+    public byte[] lerESerializarCentavos() throws Exception {
+        BigDecimal[] lidos = new BigDecimal[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            lidos[i] = Centavos.paraValor(centavos[i]);
+        }
+        return objectMapper.writeValueAsBytes(lidos);
+    }
+}
@@ -0,0 +1,94 @@
+package com.rocksti.pagafacil.repository;
+
+import com.rocksti.pagafacil.PagafacilApplication;
+import com.rocksti.pagafacil.dto.filtro.FiltroPesquisaConta;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.repository.specification.ContaSpecifications;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContaRepositoryBenchmark {
+
+    private static final int CONTAS = 10_000;
+    private static final LocalDate VENCIMENTO = LocalDate.of(2024, 9, 30);
+
+    private ConfigurableApplicationContext contexto;
+    private ContaRepository contaRepository;
+    private TransactionTemplate transactionTemplate;
+    private List<Long> ids;
+    private final PageRequest pagina = PageRequest.of(0, 100);
+    private final FiltroPesquisaConta filtro = new FiltroPesquisaConta().setDataVencimento(VENCIMENTO);
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(PagafacilApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--logging.level.root=WARN");
+        contaRepository = contexto.getBean(ContaRepository.class);
+        transactionTemplate = contexto.getBean(TransactionTemplate.class);
+        ids = contaRepository.saveAll(IntStream.range(0, CONTAS)
+                        .mapToObj(i -> new ContaEntity()
+                                .setDescricao("Pagamento da fatura " + i)
+                                .setValorCentavos(i % 1000 * 100L)
+                                .setDataVencimento(VENCIMENTO.plusDays(i % 30))
+                                .setSituacao(SituacaoConta.PENDENTE))
+                        .toList())
+                .stream()
+                .map(ContaEntity::getId)
+                .toList();
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Page<ContaEntity> buscarPaginaDeEntidades() {
+        return transactionTemplate.execute(status -> contaRepository.findAll(ContaSpecifications.aPagar(filtro), pagina));
+    }
+
+    @Benchmark
+    public Page<ContaResponse> buscarPaginaDeProjecoes() {
+        return contaRepository.buscarProjecoes(ContaSpecifications.aPagar(filtro), pagina);
+    }
+
+    @Benchmark
+    public List<ContaResponse> buscarPorCursor() {
+        return contaRepository.buscarProjecoes(ContaSpecifications.aPagar(filtro), ContaSpecifications.ORDEM_CURSOR, 101);
+    }
+
+    @Benchmark
+    public ContaResponse buscarProjecaoPorId() {
+        return contaRepository.buscarProjecaoPorId(ids.get(ThreadLocalRandom.current().nextInt(ids.size()))).orElseThrow();
+    }
+}
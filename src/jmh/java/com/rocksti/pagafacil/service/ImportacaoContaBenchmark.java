@@ -0,0 +1,104 @@
+package com.rocksti.pagafacil.service;
+
+import com.opencsv.bean.CsvToBean;
+import com.opencsv.bean.CsvToBeanBuilder;
+import com.opencsv.bean.HeaderColumnNameMappingStrategy;
+import com.rocksti.pagafacil.configuration.ImportacaoProperties;
+import com.rocksti.pagafacil.csv.ContaCsvParser;
+import com.rocksti.pagafacil.dto.ContaCsvDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImportacaoContaBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int linhas;
+
+    private String csv;
+    private Path arquivo;
+    private List<ContaCsvDto> contasCsv;
+    private ContaCsvParser contaCsvParser;
+
+    @Setup
+    public void preparar() throws IOException {
+        StringBuilder conteudo = new StringBuilder("dataVencimento,descricao,valor\n");
+        LocalDate vencimento = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < linhas; i++) {
+            conteudo.append(vencimento.plusDays(i % 365)).append(",Pagamento da fatura ").append(i).append(',')
+                    .append(i % 1000).append(".75\n");
+        }
+        csv = conteudo.toString();
+        arquivo = Files.writeString(Files.createTempFile("contas", ".csv"), csv);
+        contasCsv = parsear(csv);
+        contaCsvParser = new ContaCsvParser(new ImportacaoProperties());
+    }
+
+    @TearDown
+    public void encerrar() throws IOException {
+        contaCsvParser.encerrar();
+        Files.deleteIfExists(arquivo);
+    }
+
+    @Benchmark
+    public void parsearCsv(Blackhole blackhole) {
+        for (ContaCsvDto contaCsvDto : criarCsvToBean(csv)) {
+            blackhole.consume(contaCsvDto);
+        }
+    }
+
+    @Benchmark
+    public void lerCsvMapeadoEmMemoria(Blackhole blackhole) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo)) {
+            contaCsvParser.ler(canal, blackhole::consume, blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void mapearParaEntidade(Blackhole blackhole) {
+        for (ContaCsvDto contaCsvDto : contasCsv) {
+            blackhole.consume(ImportacaoContaService.paraEntidade(contaCsvDto));
+        }
+    }
+
+    private static List<ContaCsvDto> parsear(String csv) {
+        List<ContaCsvDto> contas = new ArrayList<>();
+        criarCsvToBean(csv).forEach(contas::add);
+        return contas;
+    }
+
+    private static CsvToBean<ContaCsvDto> criarCsvToBean(String csv) {
+        HeaderColumnNameMappingStrategy<ContaCsvDto> strategy = new HeaderColumnNameMappingStrategy<>();
+        strategy.setType(ContaCsvDto.class);
+        return new CsvToBeanBuilder<ContaCsvDto>(new StringReader(csv))
+                .withMappingStrategy(strategy)
+                .withIgnoreLeadingWhiteSpace(true)
+                .build();
+    }
+}
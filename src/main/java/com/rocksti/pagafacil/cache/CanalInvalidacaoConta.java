@@ -0,0 +1,17 @@
+package com.rocksti.pagafacil.cache;
+
+import java.util.Collection;
+
+public interface CanalInvalidacaoConta {
+
+    void publicar(String origem, Collection<Long> ids);
+
+    void assinar(String origem, Ouvinte ouvinte);
+
+    interface Ouvinte {
+
+        void invalidar(Collection<Long> ids);
+
+        void invalidarTudo();
+    }
+}
@@ -0,0 +1,25 @@
+package com.rocksti.pagafacil.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class CanalInvalidacaoContaEmMemoria implements CanalInvalidacaoConta {
+
+    private final Map<String, Ouvinte> ouvintes = new ConcurrentHashMap<>();
+
+    @Override
+    public void publicar(String origem, Collection<Long> ids) {
+        ouvintes.forEach((no, ouvinte) -> {
+            if (!Objects.equals(no, origem)) {
+                ouvinte.invalidar(ids);
+            }
+        });
+    }
+
+    @Override
+    public void assinar(String origem, Ouvinte ouvinte) {
+        ouvintes.put(origem, ouvinte);
+    }
+}
@@ -0,0 +1,108 @@
+package com.rocksti.pagafacil.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Log4j2
+public class CanalInvalidacaoContaPostgres implements CanalInvalidacaoConta {
+    private static final String CANAL = "contas_invalidacao";
+    private static final String SEPARADOR_ORIGEM = ":";
+    private static final int IDS_POR_NOTIFICACAO = 500;
+    private static final int ESPERA_NOTIFICACOES_MS = 1000;
+    private static final long ESPERA_RECONEXAO_MS = 5000;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Ouvinte> ouvintes = new ConcurrentHashMap<>();
+    private final Thread escuta;
+    private volatile boolean ativo = true;
+
+    public CanalInvalidacaoContaPostgres(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.escuta = new Thread(this::escutar, "cache-contas-invalidacao");
+        this.escuta.setDaemon(true);
+        this.escuta.start();
+    }
+
+    @Override
+    public void publicar(String origem, Collection<Long> ids) {
+        List<Long> lista = new ArrayList<>(ids);
+        for (int inicio = 0; inicio < lista.size(); inicio += IDS_POR_NOTIFICACAO) {
+            List<Long> parte = lista.subList(inicio, Math.min(inicio + IDS_POR_NOTIFICACAO, lista.size()));
+            String payload = origem + SEPARADOR_ORIGEM + String.join(",", parte.stream().map(String::valueOf).toList());
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", String.class, CANAL, payload);
+        }
+    }
+
+    @Override
+    public void assinar(String origem, Ouvinte ouvinte) {
+        ouvintes.put(origem, ouvinte);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        ativo = false;
+        escuta.interrupt();
+    }
+
+    private void escutar() {
+        while (ativo) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CANAL);
+                }
+                // notificações perdidas enquanto não havia conexão não podem ser recuperadas
+                ouvintes.values().forEach(Ouvinte::invalidarTudo);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (ativo) {
+                    PGNotification[] notificacoes = pgConnection.getNotifications(ESPERA_NOTIFICACOES_MS);
+                    if (notificacoes != null) {
+                        Arrays.stream(notificacoes).forEach(notificacao -> entregar(notificacao.getParameter()));
+                    }
+                }
+            } catch (SQLException e) {
+                if (ativo) {
+                    log.warn("Conexão do canal de invalidação do cache perdida, reconectando", e);
+                    aguardarReconexao();
+                }
+            }
+        }
+    }
+
+    private void entregar(String payload) {
+        int separador = payload.indexOf(SEPARADOR_ORIGEM);
+        String origem = payload.substring(0, separador);
+        List<Long> ids = Arrays.stream(payload.substring(separador + 1).split(","))
+                .map(Long::valueOf)
+                .toList();
+        ouvintes.forEach((no, ouvinte) -> {
+            if (!no.equals(origem)) {
+                ouvinte.invalidar(ids);
+            }
+        });
+    }
+
+    private void aguardarReconexao() {
+        try {
+            Thread.sleep(ESPERA_RECONEXAO_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
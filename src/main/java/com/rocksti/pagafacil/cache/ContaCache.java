@@ -0,0 +1,107 @@
+package com.rocksti.pagafacil.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.rocksti.pagafacil.configuration.CacheContasProperties;
+import com.rocksti.pagafacil.datasource.RoteamentoDataSource;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.dto.response.EstatisticasCacheResponse;
+import com.rocksti.pagafacil.event.ContasAlteradasEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+public class ContaCache implements MeterBinder {
+
+    private final String origem = UUID.randomUUID().toString();
+    private final AtomicLong invalidacoes = new AtomicLong();
+    private final boolean habilitado;
+    private final Cache<Long, ContaResponse> cache;
+    private final CanalInvalidacaoConta canalInvalidacao;
+
+    public ContaCache(CacheContasProperties cacheContasProperties, CanalInvalidacaoConta canalInvalidacao) {
+        this.habilitado = cacheContasProperties.isHabilitado();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheContasProperties.getTamanhoMaximo())
+                .expireAfterWrite(cacheContasProperties.getExpiracao())
+                .recordStats()
+                .build();
+        this.canalInvalidacao = canalInvalidacao;
+        this.canalInvalidacao.assinar(origem, new CanalInvalidacaoConta.Ouvinte() {
+            @Override
+            public void invalidar(Collection<Long> ids) {
+                invalidarLocal(ids);
+            }
+
+            @Override
+            public void invalidarTudo() {
+                ContaCache.this.invalidarTudo();
+            }
+        });
+    }
+
+    /**
+     * Com o cache habilitado, as faltas são carregadas do primário: o valor é servido a todos os usuários até expirar, e
+     * uma réplica atrasada o deixaria desatualizado mesmo para quem acabou de alterar a conta.
+     */
+    public Optional<ContaResponse> buscar(Long id, Function<Long, Optional<ContaResponse>> carregador) {
+        if (!habilitado) {
+            return carregador.apply(id);
+        }
+        return Optional.ofNullable(cache.get(id,
+                chave -> RoteamentoDataSource.lerDoPrimario(() -> carregador.apply(chave)).orElse(null)));
+    }
+
+    public Optional<ContaResponse> obterSePresente(Long id) {
+        return habilitado ? Optional.ofNullable(cache.getIfPresent(id)) : Optional.empty();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "contas");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarContas(ContasAlteradasEvent event) {
+        // o cache não guarda ids não encontrados, então contas recém-cadastradas não têm o que invalidar
+        if (!event.isCriacao()) {
+            invalidar(event.getIds());
+        }
+    }
+
+    public void invalidar(Collection<Long> ids) {
+        invalidarLocal(ids);
+        canalInvalidacao.publicar(origem, ids);
+    }
+
+    public void invalidarTudo() {
+        invalidacoes.addAndGet(cache.estimatedSize());
+        cache.invalidateAll();
+    }
+
+    public EstatisticasCacheResponse estatisticas() {
+        CacheStats stats = cache.stats();
+        return new EstatisticasCacheResponse()
+                .setTamanho(cache.estimatedSize())
+                .setAcertos(stats.hitCount())
+                .setFaltas(stats.missCount())
+                .setTaxaAcerto(stats.hitRate())
+                .setRemocoes(stats.evictionCount())
+                .setInvalidacoes(invalidacoes.get());
+    }
+
+    private void invalidarLocal(Collection<Long> ids) {
+        invalidacoes.addAndGet(ids.size());
+        cache.invalidateAll(ids);
+    }
+}
@@ -0,0 +1,12 @@
+package com.rocksti.pagafacil.cadastro;
+
+import com.rocksti.pagafacil.dto.request.ContaRequest;
+import com.rocksti.pagafacil.entity.ContaEntity;
+
+/**
+ * Cadastro de uma conta pelo endpoint individual. Retorna apenas depois que a conta foi gravada e confirmada.
+ */
+public interface CadastroConta {
+
+    ContaEntity cadastrar(ContaRequest contaRequest);
+}
@@ -0,0 +1,185 @@
+package com.rocksti.pagafacil.cadastro;
+
+import com.rocksti.pagafacil.configuration.CadastroAgrupadoProperties;
+import com.rocksti.pagafacil.datasource.RoteamentoDataSource;
+import com.rocksti.pagafacil.dto.Centavos;
+import com.rocksti.pagafacil.dto.request.ContaRequest;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.exception.ServiceUnavailableException;
+import com.rocksti.pagafacil.exception.TooManyRequestsException;
+import com.rocksti.pagafacil.service.ContaService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Agrupa cadastros concorrentes em uma única transação. Uma thread gravadora retira da fila o primeiro cadastro
+ * pendente e espera até o intervalo configurado, ou até completar o lote, antes de gravar todos juntos; cada chamador
+ * fica bloqueado até o commit do seu lote, no máximo pelo tempo de espera configurado.
+ * <p>
+ * Se o lote falha, os cadastros são regravados um a um, para que cada chamador receba o próprio id ou o próprio erro.
+ * Como a gravação acontece fora da thread da requisição, o usuário de cada cadastro é guardado com ele e, com réplicas
+ * de leitura, a janela de leitura após escrita de cada um é aberta depois do commit.
+ */
+@Log4j2
+public class CadastroContaAgrupado implements CadastroConta {
+    private static final String FILA_CHEIA = "Fila de cadastros cheia, tente novamente mais tarde";
+    private static final String CADASTRO_ENCERRADO = "Cadastro de contas encerrado";
+    private static final String CADASTRO_NAO_CONFIRMADO = "Cadastro não confirmado dentro do tempo de espera, consulte a conta antes de repetir";
+    private static final long ESPERA_FILA_VAZIA_MILLIS = 100;
+
+    private final ContaService contaService;
+    private final RoteamentoDataSource roteamentoDataSource;
+    private final long intervaloNanos;
+    private final long tempoMaximoEsperaNanos;
+    private final int tamanhoMaximoLote;
+    private final BlockingQueue<Pendente> fila;
+    private final DistributionSummary tamanhoLotes;
+    private final Thread gravadora;
+    private volatile boolean ativo = true;
+
+    public CadastroContaAgrupado(ContaService contaService, CadastroAgrupadoProperties properties, MeterRegistry meterRegistry,
+                                 RoteamentoDataSource roteamentoDataSource) {
+        this.contaService = contaService;
+        this.roteamentoDataSource = roteamentoDataSource;
+        this.intervaloNanos = properties.getIntervalo().toNanos();
+        this.tempoMaximoEsperaNanos = properties.getTempoMaximoEspera().toNanos();
+        this.tamanhoMaximoLote = properties.getTamanhoMaximoLote();
+        this.fila = new ArrayBlockingQueue<>(properties.getCapacidadeFila());
+        this.tamanhoLotes = DistributionSummary.builder("pagafacil.cadastro.agrupamento.lote")
+                .description("Cadastros gravados por transação")
+                .register(meterRegistry);
+        this.gravadora = new Thread(this::executar, "cadastro-agrupado");
+        this.gravadora.setDaemon(true);
+        this.gravadora.start();
+    }
+
+    @Override
+    public ContaEntity cadastrar(ContaRequest contaRequest) {
+        if (!ativo || !gravadora.isAlive()) {
+            throw new IllegalStateException(CADASTRO_ENCERRADO);
+        }
+        // recusado aqui, um valor inválido não derruba o lote dos demais cadastros
+        Centavos.de(contaRequest.getValor());
+        Pendente pendente = new Pendente(contaRequest, RoteamentoDataSource.usuarioAtual(), new CompletableFuture<>());
+        if (!fila.offer(pendente)) {
+            throw new TooManyRequestsException(FILA_CHEIA);
+        }
+        try {
+            return pendente.resultado().get(tempoMaximoEsperaNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            // ainda na fila, o cadastro é descartado; se o lote já estava sendo gravado, a conta pode ter sido criada
+            pendente.resultado().completeExceptionally(new ServiceUnavailableException(CADASTRO_NAO_CONFIRMADO));
+            log.warn("Cadastro agrupado não confirmado em {} ms", TimeUnit.NANOSECONDS.toMillis(tempoMaximoEsperaNanos));
+            throw new ServiceUnavailableException(CADASTRO_NAO_CONFIRMADO);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pendente.resultado().completeExceptionally(new IllegalStateException(CADASTRO_ENCERRADO));
+            throw new IllegalStateException(CADASTRO_ENCERRADO, e);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        ativo = false;
+        gravadora.join(TimeUnit.SECONDS.toMillis(30));
+        List<Pendente> restantes = new ArrayList<>();
+        fila.drainTo(restantes);
+        restantes.forEach(pendente -> pendente.resultado().completeExceptionally(new IllegalStateException(CADASTRO_ENCERRADO)));
+    }
+
+    private void executar() {
+        List<Pendente> lote = new ArrayList<>(tamanhoMaximoLote);
+        while (ativo || !fila.isEmpty()) {
+            try {
+                Pendente primeiro = fila.poll(ESPERA_FILA_VAZIA_MILLIS, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                completarLote(lote);
+                // descarta os cadastros cujos chamadores já desistiram de esperar
+                lote.removeIf(pendente -> pendente.resultado().isDone());
+                if (!lote.isEmpty()) {
+                    gravar(lote);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lote.forEach(pendente -> pendente.resultado().completeExceptionally(new IllegalStateException(CADASTRO_ENCERRADO)));
+                return;
+            } catch (RuntimeException e) {
+                log.error("Falha inesperada ao gravar cadastros agrupados", e);
+                lote.forEach(pendente -> pendente.resultado().completeExceptionally(e));
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void completarLote(List<Pendente> lote) throws InterruptedException {
+        long prazo = System.nanoTime() + intervaloNanos;
+        while (lote.size() < tamanhoMaximoLote) {
+            fila.drainTo(lote, tamanhoMaximoLote - lote.size());
+            long restante = prazo - System.nanoTime();
+            if (lote.size() >= tamanhoMaximoLote || restante <= 0) {
+                return;
+            }
+            Pendente proximo = fila.poll(restante, TimeUnit.NANOSECONDS);
+            if (proximo == null) {
+                return;
+            }
+            lote.add(proximo);
+        }
+    }
+
+    private void gravar(List<Pendente> lote) {
+        try {
+            List<ContaEntity> contas = contaService.cadastrarContas(lote.stream().map(Pendente::contaRequest).toList());
+            tamanhoLotes.record(lote.size());
+            for (int i = 0; i < lote.size(); i++) {
+                registrarEscrita(lote.get(i));
+                lote.get(i).resultado().complete(contas.get(i));
+            }
+        } catch (RuntimeException e) {
+            if (lote.size() == 1) {
+                lote.get(0).resultado().completeExceptionally(e);
+                return;
+            }
+            log.warn("Falha ao gravar lote de {} cadastros, gravando um a um: {}", lote.size(), e.getMessage());
+            for (Pendente pendente : lote) {
+                try {
+                    ContaEntity conta = contaService.cadastrarConta(pendente.contaRequest());
+                    tamanhoLotes.record(1);
+                    registrarEscrita(pendente);
+                    pendente.resultado().complete(conta);
+                } catch (RuntimeException erro) {
+                    pendente.resultado().completeExceptionally(erro);
+                }
+            }
+        }
+    }
+
+    private void registrarEscrita(Pendente pendente) {
+        if (roteamentoDataSource != null) {
+            roteamentoDataSource.registrarEscritaConfirmada(pendente.usuario());
+        }
+    }
+
+    private record Pendente(ContaRequest contaRequest, String usuario, CompletableFuture<ContaEntity> resultado) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.rocksti.pagafacil.cadastro;
+
+import com.rocksti.pagafacil.dto.request.ContaRequest;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.service.ContaService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cada cadastro em uma transação própria.
+ */
+@RequiredArgsConstructor
+public class CadastroContaDireto implements CadastroConta {
+    private final ContaService contaService;
+
+    @Override
+    public ContaEntity cadastrar(ContaRequest contaRequest) {
+        return contaService.cadastrarConta(contaRequest);
+    }
+}
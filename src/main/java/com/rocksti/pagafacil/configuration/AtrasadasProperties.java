@@ -0,0 +1,14 @@
+package com.rocksti.pagafacil.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pagafacil.atrasadas")
+public class AtrasadasProperties {
+    private boolean habilitado = true;
+    private String cron = "0 */15 * * * *";
+    private int tamanhoLote = 1000;
+}
@@ -0,0 +1,27 @@
+package com.rocksti.pagafacil.configuration;
+
+import com.rocksti.pagafacil.cache.CanalInvalidacaoConta;
+import com.rocksti.pagafacil.cache.CanalInvalidacaoContaEmMemoria;
+import com.rocksti.pagafacil.cache.CanalInvalidacaoContaPostgres;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "pagafacil.cache.contas.canal", havingValue = "postgres")
+    public CanalInvalidacaoConta canalInvalidacaoContaPostgres(DataSource dataSource) {
+        return new CanalInvalidacaoContaPostgres(dataSource);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CanalInvalidacaoConta canalInvalidacaoContaEmMemoria() {
+        return new CanalInvalidacaoContaEmMemoria();
+    }
+}
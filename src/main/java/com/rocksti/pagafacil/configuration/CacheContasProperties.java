@@ -0,0 +1,16 @@
+package com.rocksti.pagafacil.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pagafacil.cache.contas")
+public class CacheContasProperties {
+    private boolean habilitado = true;
+    private long tamanhoMaximo = 10_000;
+    private Duration expiracao = Duration.ofMinutes(5);
+}
@@ -0,0 +1,18 @@
+package com.rocksti.pagafacil.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pagafacil.cadastro.agrupamento")
+public class CadastroAgrupadoProperties {
+    private boolean habilitado = false;
+    private Duration intervalo = Duration.ofMillis(5);
+    private int tamanhoMaximoLote = 200;
+    private int capacidadeFila = 10_000;
+    private Duration tempoMaximoEspera = Duration.ofSeconds(30);
+}
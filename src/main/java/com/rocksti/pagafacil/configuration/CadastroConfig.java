@@ -0,0 +1,32 @@
+package com.rocksti.pagafacil.configuration;
+
+import com.rocksti.pagafacil.cadastro.CadastroConta;
+import com.rocksti.pagafacil.cadastro.CadastroContaAgrupado;
+import com.rocksti.pagafacil.cadastro.CadastroContaDireto;
+import com.rocksti.pagafacil.datasource.RoteamentoDataSource;
+import com.rocksti.pagafacil.service.ContaService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CadastroConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "pagafacil.cadastro.agrupamento.habilitado", havingValue = "true")
+    public CadastroConta cadastroContaAgrupado(ContaService contaService, CadastroAgrupadoProperties cadastroAgrupadoProperties,
+                                               MeterRegistry meterRegistry,
+                                               ObjectProvider<RoteamentoDataSource> roteamentoDataSource) {
+        return new CadastroContaAgrupado(contaService, cadastroAgrupadoProperties, meterRegistry,
+                roteamentoDataSource.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CadastroConta cadastroContaDireto(ContaService contaService) {
+        return new CadastroContaDireto(contaService);
+    }
+}
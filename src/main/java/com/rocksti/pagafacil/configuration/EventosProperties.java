@@ -0,0 +1,24 @@
+package com.rocksti.pagafacil.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pagafacil.eventos")
+public class EventosProperties {
+    private boolean habilitado = false;
+    private int tamanhoLote = 500;
+    private int maximoAssinantes = 100;
+    private Duration intervaloConsulta = Duration.ofSeconds(1);
+    private Duration esperaLacuna = Duration.ofSeconds(5);
+    private Duration esperaMaximaLacuna = Duration.ofMinutes(10);
+    private int maximoLacunas = 10_000;
+    private Duration intervaloKeepAlive = Duration.ofSeconds(15);
+    private Duration duracaoMaximaConexao = Duration.ofMinutes(30);
+    private Duration retencao = Duration.ofDays(7);
+    private String cronLimpeza = "0 30 3 * * *";
+}
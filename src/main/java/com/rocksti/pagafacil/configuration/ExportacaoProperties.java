@@ -0,0 +1,13 @@
+package com.rocksti.pagafacil.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pagafacil.exportacao")
+public class ExportacaoProperties {
+    private int tamanhoFetch = 1000;
+    private int tamanhoBuffer = 64 * 1024;
+}
@@ -0,0 +1,118 @@
+package com.rocksti.pagafacil.configuration;
+
+import com.rocksti.pagafacil.datasource.FragmentoDataSource;
+import com.rocksti.pagafacil.fragmentacao.GeradorIdConta;
+import com.rocksti.pagafacil.fragmentacao.GeradorIdContaHibernate;
+import com.rocksti.pagafacil.fragmentacao.RoteadorFragmentos;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class FragmentacaoConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "pagafacil.fragmentacao.habilitado", havingValue = "true")
+    public RoteadorFragmentos roteadorFragmentos(FragmentoDataSource fragmentoDataSource,
+                                                 FragmentacaoProperties fragmentacaoProperties) {
+        return new RoteadorFragmentos(fragmentoDataSource.getFragmentos().size(),
+                fragmentacaoProperties.getThreadsConsulta(),
+                fragmentacaoProperties.getCapacidadeFilaConsulta(),
+                fragmentacaoProperties.getMaximoRegistrosPorFragmento(),
+                fragmentacaoProperties.getTempoMaximoConsulta());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RoteadorFragmentos roteadorFragmentosUnico() {
+        return RoteadorFragmentos.unico();
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "pagafacil.fragmentacao.habilitado", havingValue = "true")
+    static class BancosFragmentados {
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource dataSourcePrimario(DataSourceProperties dataSourceProperties) {
+            return dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+        }
+
+        @Bean
+        public FragmentoDataSource fragmentoDataSource(HikariDataSource dataSourcePrimario,
+                                                       DataSourceProperties dataSourceProperties,
+                                                       FragmentacaoProperties fragmentacaoProperties,
+                                                       ReplicasProperties replicasProperties) {
+            if (replicasProperties.isHabilitado()) {
+                throw new IllegalStateException("A fragmentação não pode ser combinada com réplicas de leitura");
+            }
+            List<FragmentacaoProperties.Instancia> instancias = fragmentacaoProperties.getInstancias();
+            if (instancias.size() + 1 > GeradorIdConta.MAXIMO_FRAGMENTOS) {
+                throw new IllegalStateException("A fragmentação admite no máximo " + GeradorIdConta.MAXIMO_FRAGMENTOS + " fragmentos");
+            }
+
+            List<DataSource> fragmentos = new ArrayList<>();
+            fragmentos.add(dataSourcePrimario);
+            for (int i = 0; i < instancias.size(); i++) {
+                fragmentos.add(criarFragmento("fragmento-" + (i + 1), instancias.get(i), dataSourceProperties, fragmentacaoProperties));
+            }
+            return new FragmentoDataSource(fragmentos);
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(FragmentoDataSource fragmentoDataSource) {
+            return new LazyConnectionDataSourceProxy(fragmentoDataSource);
+        }
+
+        @Bean
+        public HibernatePropertiesCustomizer fragmentacaoHibernatePropertiesCustomizer() {
+            return hibernateProperties -> {
+                hibernateProperties.put(GeradorIdContaHibernate.PROPRIEDADE_FRAGMENTADO, true);
+                // cada transação escolhe o seu fragmento; a conexão não pode atravessar transações da mesma sessão
+                hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                        PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+            };
+        }
+
+        @Bean
+        public FlywayMigrationStrategy fragmentacaoFlywayMigrationStrategy(FragmentoDataSource fragmentoDataSource) {
+            return flyway -> fragmentoDataSource.getFragmentos().forEach(fragmento -> Flyway.configure()
+                    .configuration(flyway.getConfiguration())
+                    .dataSource(fragmento)
+                    .load()
+                    .migrate());
+        }
+
+        private static HikariDataSource criarFragmento(String nome, FragmentacaoProperties.Instancia instancia,
+                                                       DataSourceProperties dataSourceProperties,
+                                                       FragmentacaoProperties fragmentacaoProperties) {
+            HikariDataSource fragmento = new HikariDataSource();
+            fragmento.setPoolName(nome);
+            fragmento.setJdbcUrl(instancia.getUrl());
+            fragmento.setUsername(instancia.getUsuario() != null ? instancia.getUsuario() : dataSourceProperties.determineUsername());
+            fragmento.setPassword(instancia.getSenha() != null ? instancia.getSenha() : dataSourceProperties.determinePassword());
+            fragmento.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            fragmento.setMaximumPoolSize(fragmentacaoProperties.getTamanhoMaximoPool());
+            fragmento.setConnectionTimeout(fragmentacaoProperties.getTempoMaximoAquisicao().toMillis());
+            return fragmento;
+        }
+    }
+}
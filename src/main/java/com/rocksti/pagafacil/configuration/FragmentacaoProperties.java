@@ -0,0 +1,31 @@
+package com.rocksti.pagafacil.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pagafacil.fragmentacao")
+public class FragmentacaoProperties {
+    private boolean habilitado = false;
+    private List<Instancia> instancias = new ArrayList<>();
+    private int tamanhoMaximoPool = 10;
+    private Duration tempoMaximoAquisicao = Duration.ofSeconds(2);
+    private int threadsConsulta = 16;
+    private int capacidadeFilaConsulta = 256;
+    private int maximoRegistrosPorFragmento = 10_000;
+    private Duration tempoMaximoConsulta = Duration.ofSeconds(30);
+
+    @Getter
+    @Setter
+    public static class Instancia {
+        private String url;
+        private String usuario;
+        private String senha;
+    }
+}
@@ -0,0 +1,23 @@
+package com.rocksti.pagafacil.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pagafacil.importacao")
+public class ImportacaoProperties {
+    private int tamanhoLote = 1000;
+    private int threads = 2;
+    private int capacidadeFila = 8;
+    private int maximoJobsPorUsuario = 2;
+    private Duration retencaoJobs = Duration.ofHours(1);
+    private Path diretorio = Path.of(System.getProperty("java.io.tmpdir"), "pagafacil-importacoes");
+    private int threadsLeitura = Runtime.getRuntime().availableProcessors();
+    private DataSize tamanhoSegmento = DataSize.ofMegabytes(1);
+}
@@ -0,0 +1,13 @@
+package com.rocksti.pagafacil.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pagafacil.lote")
+public class LoteProperties {
+    private int tamanho = 500;
+    private int maximoItens = 10_000;
+}
@@ -0,0 +1,27 @@
+package com.rocksti.pagafacil.configuration;
+
+import com.rocksti.pagafacil.metrica.ContadorComandosSql;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer metricasHibernatePropertiesCustomizer(MetricasProperties metricasProperties) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, ContadorComandosSql.class.getName());
+            hibernateProperties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS, metricasProperties.isEstatisticasHibernate());
+            hibernateProperties.putIfAbsent(AvailableSettings.LOG_SLOW_QUERY, metricasProperties.getConsultaLenta().toMillis());
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package com.rocksti.pagafacil.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pagafacil.metricas")
+public class MetricasProperties {
+    private boolean estatisticasHibernate = true;
+    private Duration consultaLenta = Duration.ofMillis(500);
+}
@@ -0,0 +1,17 @@
+package com.rocksti.pagafacil.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pagafacil.particoes")
+public class ParticoesProperties {
+    private boolean habilitado = false;
+    private String cron = "0 0 2 * * *";
+    private int mesesAntecedencia = 12;
+    private Duration tempoMaximoBloqueio = Duration.ofSeconds(5);
+}
@@ -0,0 +1,32 @@
+package com.rocksti.pagafacil.configuration;
+
+import com.rocksti.pagafacil.fragmentacao.RoteadorFragmentos;
+import com.rocksti.pagafacil.pesquisa.PesquisaDescricaoConta;
+import com.rocksti.pagafacil.pesquisa.PesquisaDescricaoContaEmMemoria;
+import com.rocksti.pagafacil.pesquisa.PesquisaDescricaoContaPostgres;
+import com.rocksti.pagafacil.repository.ContaRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class PesquisaConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "pagafacil.pesquisa.descricao.indice", havingValue = "postgres")
+    public PesquisaDescricaoConta pesquisaDescricaoContaPostgres(DataSource dataSource, RoteadorFragmentos roteadorFragmentos) {
+        return new PesquisaDescricaoContaPostgres(dataSource, roteadorFragmentos);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PesquisaDescricaoConta pesquisaDescricaoContaEmMemoria(ContaRepository contaRepository,
+                                                                   RoteadorFragmentos roteadorFragmentos,
+                                                                   PesquisaProperties pesquisaProperties) {
+        return new PesquisaDescricaoContaEmMemoria(contaRepository, roteadorFragmentos,
+                pesquisaProperties.getMaximoContasMemoria());
+    }
+}
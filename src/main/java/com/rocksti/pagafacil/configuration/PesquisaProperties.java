@@ -0,0 +1,12 @@
+package com.rocksti.pagafacil.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pagafacil.pesquisa.descricao")
+public class PesquisaProperties {
+    private int maximoContasMemoria = 1_000_000;
+}
@@ -0,0 +1,20 @@
+package com.rocksti.pagafacil.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pagafacil.reativo")
+public class ReativoProperties {
+    private boolean habilitado;
+    private String url;
+    private String usuario;
+    private String senha;
+    private int tamanhoInicialPool = 2;
+    private int tamanhoMaximoPool = 4;
+    private Duration tempoMaximoAquisicao = Duration.ofSeconds(5);
+}
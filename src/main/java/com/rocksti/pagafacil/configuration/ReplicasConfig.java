@@ -0,0 +1,89 @@
+package com.rocksti.pagafacil.configuration;
+
+import com.rocksti.pagafacil.datasource.RoteamentoDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "pagafacil.replicas.habilitado", havingValue = "true")
+public class ReplicasConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public RoteamentoDataSource roteamentoDataSource(HikariDataSource dataSourcePrimario,
+                                                     DataSourceProperties dataSourceProperties,
+                                                     ReplicasProperties replicasProperties) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicasProperties.Instancia> instancias = replicasProperties.getInstancias();
+        for (int i = 0; i < instancias.size(); i++) {
+            String nome = "replica-" + (i + 1);
+            replicas.put(nome, criarReplica(nome, instancias.get(i), dataSourceProperties, replicasProperties));
+        }
+        return new RoteamentoDataSource(dataSourcePrimario, replicas, replicasProperties.getJanelaLeituraAposEscrita());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(RoteamentoDataSource roteamentoDataSource) {
+        return new LazyConnectionDataSourceProxy(roteamentoDataSource);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer replicasHibernatePropertiesCustomizer() {
+        // com open-in-view a sessão atravessa a requisição; devolver a conexão ao fim de cada transação permite
+        // que a transação seguinte seja roteada de novo
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public SchedulingConfigurer verificacaoReplicasConfigurer(RoteamentoDataSource roteamentoDataSource,
+                                                              ReplicasProperties replicasProperties,
+                                                              MeterRegistry meterRegistry) {
+        Gauge.builder("pagafacil.replicas.disponiveis", roteamentoDataSource, roteamento -> roteamento.getReplicasDisponiveis().size())
+                .register(meterRegistry);
+        return registrar -> registrar.addFixedDelayTask(roteamentoDataSource::verificarReplicas,
+                replicasProperties.getIntervaloVerificacao());
+    }
+
+    private static HikariDataSource criarReplica(String nome, ReplicasProperties.Instancia instancia,
+                                                 DataSourceProperties dataSourceProperties,
+                                                 ReplicasProperties replicasProperties) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName(nome);
+        replica.setJdbcUrl(instancia.getUrl());
+        replica.setUsername(instancia.getUsuario() != null ? instancia.getUsuario() : dataSourceProperties.determineUsername());
+        replica.setPassword(instancia.getSenha() != null ? instancia.getSenha() : dataSourceProperties.determinePassword());
+        replica.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        replica.setMaximumPoolSize(replicasProperties.getTamanhoMaximoPool());
+        replica.setConnectionTimeout(replicasProperties.getTempoMaximoAquisicao().toMillis());
+        replica.setReadOnly(true);
+        // uma réplica fora do ar não impede a subida; as leituras ficam no primário até a verificação a encontrar
+        replica.setInitializationFailTimeout(-1);
+        return replica;
+    }
+}
@@ -0,0 +1,29 @@
+package com.rocksti.pagafacil.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pagafacil.replicas")
+public class ReplicasProperties {
+    private boolean habilitado = false;
+    private List<Instancia> instancias = new ArrayList<>();
+    private int tamanhoMaximoPool = 10;
+    private Duration tempoMaximoAquisicao = Duration.ofSeconds(2);
+    private Duration intervaloVerificacao = Duration.ofSeconds(10);
+    private Duration janelaLeituraAposEscrita = Duration.ofSeconds(5);
+
+    @Getter
+    @Setter
+    public static class Instancia {
+        private String url;
+        private String usuario;
+        private String senha;
+    }
+}
@@ -23,6 +23,8 @@ public class SecurityConfig {
                                 //
                                 .requestMatchers( "/contas/**").hasRole("ADMIN")
                                 //
+                                .requestMatchers("/actuator/health").permitAll()
+                                //
                                 .anyRequest().authenticated());
         // @formatter:on
         return http.build();
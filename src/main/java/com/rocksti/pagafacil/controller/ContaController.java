@@ -1,13 +1,38 @@
 package com.rocksti.pagafacil.controller;
 
+import com.rocksti.pagafacil.cache.ContaCache;
+import com.rocksti.pagafacil.cadastro.CadastroConta;
+import com.rocksti.pagafacil.dto.EtagConta;
+import com.rocksti.pagafacil.dto.VersaoConta;
+import com.rocksti.pagafacil.dto.filtro.FiltroExportacaoConta;
 import com.rocksti.pagafacil.dto.filtro.FiltroPesquisaConta;
+import com.rocksti.pagafacil.dto.request.ContaLoteRequest;
 import com.rocksti.pagafacil.dto.request.ContaRequest;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.dto.response.DivergenciaConsolidacao;
+import com.rocksti.pagafacil.dto.response.EstatisticasCacheResponse;
+import com.rocksti.pagafacil.dto.response.ImportacaoJobResponse;
+import com.rocksti.pagafacil.dto.response.PaginaCompacta;
+import com.rocksti.pagafacil.dto.response.PaginaCursor;
+import com.rocksti.pagafacil.dto.response.ResultadoAtualizacaoAtrasadas;
+import com.rocksti.pagafacil.dto.response.ResultadoImportacao;
+import com.rocksti.pagafacil.dto.response.ResultadoOperacaoLote;
 import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.enumeration.FormatoExportacao;
 import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.service.AtualizacaoContasAtrasadasService;
+import com.rocksti.pagafacil.service.ConsolidacaoPagamentoService;
+import com.rocksti.pagafacil.service.ContaLoteService;
 import com.rocksti.pagafacil.service.ContaService;
+import com.rocksti.pagafacil.service.ExportacaoContaService;
+import com.rocksti.pagafacil.service.ImportacaoJobService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -15,14 +40,24 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
 
 @RequiredArgsConstructor
 @RestController
@@ -30,30 +65,82 @@ import java.util.Map;
 public class ContaController {
 
     private final ContaService contaService;
+    private final ContaLoteService contaLoteService;
+    private final ImportacaoJobService importacaoJobService;
+    private final ConsolidacaoPagamentoService consolidacaoPagamentoService;
+    private final AtualizacaoContasAtrasadasService atualizacaoContasAtrasadasService;
+    private final ExportacaoContaService exportacaoContaService;
+    private final ContaCache contaCache;
+    private final CadastroConta cadastroConta;
 
     @PostMapping("/cadastrar")
-    public ResponseEntity<ContaEntity> cadastrarConta(@RequestBody ContaRequest contaRequest) {
-        return ResponseEntity.ok(contaService.cadastrarConta(contaRequest));
+    public ResponseEntity<ContaResponse> cadastrarConta(@RequestBody ContaRequest contaRequest) {
+        return ResponseEntity.ok(ContaResponse.of(cadastroConta.cadastrar(contaRequest)));
     }
 
     @PutMapping("/atualizar/{id}")
-    public ResponseEntity<ContaEntity> atualizarConta(@PathVariable Long id, @RequestBody ContaRequest contaRequest) {
-        return ResponseEntity.ok(contaService.atualizarConta(id, contaRequest));
+    public ResponseEntity<ContaResponse> atualizarConta(@PathVariable Long id, @RequestBody ContaRequest contaRequest,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ContaEntity conta = contaService.atualizarConta(id, contaRequest, EtagConta.versaoEsperada(ifMatch));
+        return ResponseEntity.ok().eTag(EtagConta.daVersao(conta.getVersao())).body(ContaResponse.of(conta));
     }
 
     @PatchMapping("/alterar-situacao/{id}")
-    public ResponseEntity<ContaEntity> alterarSituacaoConta(@PathVariable Long id, @RequestParam SituacaoConta situacao) {
-        return ResponseEntity.ok(contaService.alterarSituacaoConta(id, situacao));
+    public ResponseEntity<ContaResponse> alterarSituacaoConta(@PathVariable Long id, @RequestParam SituacaoConta situacao,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ContaEntity conta = contaService.alterarSituacaoConta(id, situacao, EtagConta.versaoEsperada(ifMatch));
+        return ResponseEntity.ok().eTag(EtagConta.daVersao(conta.getVersao())).body(ContaResponse.of(conta));
+    }
+
+    @PostMapping("/lote/cadastrar")
+    public ResponseEntity<ResultadoOperacaoLote> cadastrarContas(@RequestBody List<ContaRequest> contasRequest) {
+        return ResponseEntity.ok(contaLoteService.cadastrarContas(contasRequest));
+    }
+
+    @PutMapping("/lote/atualizar")
+    public ResponseEntity<ResultadoOperacaoLote> atualizarContas(@RequestBody List<ContaLoteRequest> contasRequest) {
+        return ResponseEntity.ok(contaLoteService.atualizarContas(contasRequest));
+    }
+
+    @PatchMapping("/lote/alterar-situacao")
+    public ResponseEntity<ResultadoOperacaoLote> alterarSituacaoContas(@RequestBody List<Long> ids, @RequestParam SituacaoConta situacao) {
+        return ResponseEntity.ok(contaLoteService.alterarSituacaoContas(ids, situacao));
     }
 
     @GetMapping("/buscar-contas-a-pagar")
-    public ResponseEntity<Page<ContaEntity>> buscarContasAPagar(Pageable pageable, FiltroPesquisaConta filtro) {
-        return ResponseEntity.ok(contaService.buscarContasAPagar(pageable, filtro));
+    public ResponseEntity<Page<ContaResponse>> buscarContasAPagar(Pageable pageable, FiltroPesquisaConta filtro, WebRequest webRequest) {
+        return buscarContasAPagar(pageable, filtro, webRequest, null, Function.identity());
+    }
+
+    @GetMapping(value = "/buscar-contas-a-pagar", produces = PaginaCompacta.MEDIA_TYPE_JSON)
+    public ResponseEntity<PaginaCompacta<ContaResponse>> buscarContasAPagarCompacta(Pageable pageable, FiltroPesquisaConta filtro,
+                                                                                   WebRequest webRequest) {
+        return buscarContasAPagar(pageable, filtro, webRequest, "compacta", PaginaCompacta::of);
+    }
+
+    @GetMapping(value = "/buscar-contas-a-pagar", produces = MediaType.APPLICATION_CBOR_VALUE)
+    public ResponseEntity<PaginaCompacta<ContaResponse>> buscarContasAPagarCbor(Pageable pageable, FiltroPesquisaConta filtro,
+                                                                               WebRequest webRequest) {
+        return buscarContasAPagar(pageable, filtro, webRequest, "cbor", PaginaCompacta::of);
+    }
+
+    @GetMapping("/buscar-contas-a-pagar/cursor")
+    public ResponseEntity<PaginaCursor<ContaResponse>> buscarContasAPagarPorCursor(@RequestParam(required = false) String cursor,
+                                                                                   @RequestParam(defaultValue = "20") int tamanho,
+                                                                                   FiltroPesquisaConta filtro) {
+        return ResponseEntity.ok(contaService.buscarContasAPagarPorCursor(cursor, tamanho, filtro));
     }
 
     @GetMapping("/buscar/{id}")
-    public ResponseEntity<ContaEntity> buscarContaPorId(@PathVariable Long id) {
-        return ResponseEntity.ok(contaService.buscarContaPorId(id));
+    public ResponseEntity<ContaResponse> buscarContaPorId(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String etag = contaService.obterEtagConta(id);
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        ContaResponse conta = contaService.buscarContaPorId(id);
+        return ResponseEntity.ok().eTag(EtagConta.daVersao(conta.getVersao())).body(conta);
     }
 
     @GetMapping("/valor-total-pago")
@@ -61,10 +148,84 @@ public class ContaController {
         return ResponseEntity.ok(contaService.obterValorTotalPagoPorPeriodo(dataInicio, dataFim));
     }
 
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarContas(FiltroExportacaoConta filtro,
+                                                                @RequestParam(defaultValue = "CSV") FormatoExportacao formato) {
+        exportacaoContaService.validar(filtro);
+        StreamingResponseBody corpo = saida -> exportacaoContaService.exportar(filtro, formato, saida);
+        boolean csv = formato == FormatoExportacao.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(csv ? "contas.csv" : "contas.ndjson")
+                        .build()
+                        .toString())
+                .body(corpo);
+    }
+
+    @GetMapping("/cache/estatisticas")
+    public ResponseEntity<EstatisticasCacheResponse> obterEstatisticasCache() {
+        return ResponseEntity.ok(contaCache.estatisticas());
+    }
+
+    @PostMapping("/atrasadas/processar")
+    public ResponseEntity<ResultadoAtualizacaoAtrasadas> processarContasAtrasadas() {
+        return ResponseEntity.ok(atualizacaoContasAtrasadasService.executar());
+    }
+
+    @GetMapping("/atrasadas/ultima-execucao")
+    public ResponseEntity<ResultadoAtualizacaoAtrasadas> obterUltimaExecucaoContasAtrasadas() {
+        ResultadoAtualizacaoAtrasadas ultimaExecucao = atualizacaoContasAtrasadasService.obterUltimaExecucao();
+        return ultimaExecucao != null ? ResponseEntity.ok(ultimaExecucao) : ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/consolidacao-pagamentos/verificar")
+    public ResponseEntity<List<DivergenciaConsolidacao>> verificarConsolidacaoPagamentos(@RequestParam LocalDate dataInicio, @RequestParam LocalDate dataFim) {
+        return ResponseEntity.ok(consolidacaoPagamentoService.verificar(dataInicio, dataFim));
+    }
+
+    @PostMapping("/consolidacao-pagamentos/reconstruir")
+    public ResponseEntity<Map<String, Integer>> reconstruirConsolidacaoPagamentos(@RequestParam LocalDate dataInicio, @RequestParam LocalDate dataFim) {
+        return ResponseEntity.ok(Map.of("diasReconstruidos", consolidacaoPagamentoService.reconstruir(dataInicio, dataFim)));
+    }
+
     @PostMapping("/importar-csv")
-    public ResponseEntity<Void> importarContas(@RequestParam("arquivo") MultipartFile arquivo) {
-        contaService.importarContas(arquivo);
+    public ResponseEntity<ResultadoImportacao> importarContas(@RequestParam("arquivo") MultipartFile arquivo) {
+        return ResponseEntity.ok(contaService.importarContas(arquivo));
+    }
+
+    @PostMapping("/importacoes")
+    public ResponseEntity<ImportacaoJobResponse> submeterImportacao(MultipartHttpServletRequest request, Principal principal) {
+        ImportacaoJobResponse job = importacaoJobService.submeter(() -> request.getFile("arquivo"),
+                principal != null ? principal.getName() : null);
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/contas/importacoes/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/importacoes/{id}")
+    public ResponseEntity<ImportacaoJobResponse> buscarImportacao(@PathVariable UUID id) {
+        return ResponseEntity.ok(importacaoJobService.buscarJob(id));
+    }
+
+    private <T> ResponseEntity<T> buscarContasAPagar(Pageable pageable, FiltroPesquisaConta filtro, WebRequest webRequest,
+                                                     String representacao, Function<Page<ContaResponse>, T> conversor) {
+        // a mesma página é servida em vários formatos, então caches intermediários precisam separá-los pelo Accept
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String etag = etagRepresentacao(contaService.obterEtagContasAPagar(pageable, filtro), representacao);
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+        }
+        Page<ContaResponse> contas = contaService.buscarContasAPagar(pageable, filtro);
+        return ResponseEntity.ok()
+                .eTag(etagRepresentacao(EtagConta.daPagina(contas.map(VersaoConta::of)), representacao))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(conversor.apply(contas));
+    }
 
-        return ResponseEntity.ok().build();
+    private static String etagRepresentacao(String etag, String representacao) {
+        return representacao != null ? EtagConta.daRepresentacao(etag, representacao) : etag;
     }
 }
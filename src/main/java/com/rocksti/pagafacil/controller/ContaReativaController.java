@@ -0,0 +1,38 @@
+package com.rocksti.pagafacil.controller;
+
+import com.rocksti.pagafacil.dto.filtro.FiltroPesquisaConta;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.service.ContaReativaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/contas/reativo")
+@ConditionalOnProperty(name = "pagafacil.reativo.habilitado", havingValue = "true")
+public class ContaReativaController {
+
+    private final ContaReativaService contaReativaService;
+
+    @GetMapping("/buscar-contas-a-pagar")
+    public Flux<ContaResponse> buscarContasAPagar(@RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "20") int tamanho,
+                                                FiltroPesquisaConta filtro) {
+        return contaReativaService.buscarContasAPagar(cursor, tamanho, filtro);
+    }
+
+    @GetMapping("/valor-total-pago")
+    public Mono<Map<String, BigDecimal>> obterValorTotalPagoPorPeriodo(@RequestParam LocalDate dataInicio, @RequestParam LocalDate dataFim) {
+        return contaReativaService.obterValorTotalPagoPorPeriodo(dataInicio, dataFim);
+    }
+}
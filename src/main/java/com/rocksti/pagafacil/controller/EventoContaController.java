@@ -0,0 +1,26 @@
+package com.rocksti.pagafacil.controller;
+
+import com.rocksti.pagafacil.service.EventoContaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/contas/eventos")
+@ConditionalOnProperty(name = "pagafacil.eventos.habilitado", havingValue = "true")
+public class EventoContaController {
+    private final EventoContaService eventoContaService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter assinarEventos(@RequestParam(required = false) String desde,
+                                     @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEvento) {
+        return eventoContaService.assinar(ultimoEvento != null ? ultimoEvento : desde);
+    }
+}
@@ -0,0 +1,33 @@
+package com.rocksti.pagafacil.controller;
+
+import com.rocksti.pagafacil.service.ParticaoContaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/contas/particoes")
+@ConditionalOnProperty(name = "pagafacil.particoes.habilitado", havingValue = "true")
+public class ParticaoContaController {
+
+    private final ParticaoContaService particaoContaService;
+
+    @PostMapping("/criar")
+    public ResponseEntity<Map<String, List<String>>> criarParticoes() {
+        return ResponseEntity.ok(Map.of("particoesCriadas", particaoContaService.criarParticoes()));
+    }
+
+    @PostMapping("/arquivar")
+    public ResponseEntity<Map<String, List<String>>> arquivarParticoes(@RequestParam LocalDate limite) {
+        return ResponseEntity.ok(Map.of("particoesArquivadas", particaoContaService.arquivar(limite)));
+    }
+}
@@ -0,0 +1,23 @@
+package com.rocksti.pagafacil.csv;
+
+import java.util.Arrays;
+
+enum CampoContaCsv {
+    DESCRICAO("descricao"),
+    VALOR("valor"),
+    DATA_VENCIMENTO("dataVencimento");
+
+    private final String coluna;
+
+    CampoContaCsv(String coluna) {
+        this.coluna = coluna.toUpperCase();
+    }
+
+    static CampoContaCsv daColuna(String nome) {
+        String coluna = nome.trim().toUpperCase();
+        return Arrays.stream(values())
+                .filter(campo -> campo.coluna.equals(coluna))
+                .findFirst()
+                .orElse(null);
+    }
+}
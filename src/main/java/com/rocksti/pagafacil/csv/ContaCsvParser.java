@@ -0,0 +1,170 @@
+package com.rocksti.pagafacil.csv;
+
+import com.rocksti.pagafacil.configuration.ImportacaoProperties;
+import com.rocksti.pagafacil.dto.ContaCsvDto;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Lê arquivos CSV de contas mapeados em memória. O arquivo é dividido em segmentos alinhados ao fim de um registro,
+ * lidos em paralelo e entregues ao consumidor na ordem do arquivo.
+ */
+@Component
+public class ContaCsvParser {
+    private static final int TAMANHO_JANELA_VARREDURA = 64 * 1024 * 1024;
+
+    private final long tamanhoSegmento;
+    private final int segmentosEmAndamento;
+    private final ThreadPoolExecutor executor;
+
+    public ContaCsvParser(ImportacaoProperties importacaoProperties) {
+        int threads = Math.max(1, importacaoProperties.getThreadsLeitura());
+        this.tamanhoSegmento = importacaoProperties.getTamanhoSegmento().toBytes();
+        this.segmentosEmAndamento = threads * 2;
+
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "leitura-csv-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public void ler(FileChannel canal,
+                    Consumer<ContaCsvDto> contas,
+                    Consumer<LinhaInvalidaCsv> linhasInvalidas) throws IOException {
+        List<Segmento> segmentos = dividir(canal);
+        if (segmentos.isEmpty()) {
+            return;
+        }
+        String[] cabecalho = LeitorSegmentoCsv.lerCabecalho(mapear(canal, segmentos.get(0)));
+        if (cabecalho == null) {
+            return;
+        }
+        CampoContaCsv[] colunas = new CampoContaCsv[cabecalho.length];
+        for (int i = 0; i < cabecalho.length; i++) {
+            colunas[i] = CampoContaCsv.daColuna(cabecalho[i]);
+        }
+
+        Deque<Future<LeitorSegmentoCsv.ResultadoSegmento>> pendentes = new ArrayDeque<>();
+        int proximo = 1;
+        try {
+            while (proximo < segmentos.size() || !pendentes.isEmpty()) {
+                while (proximo < segmentos.size() && pendentes.size() < segmentosEmAndamento) {
+                    Segmento segmento = segmentos.get(proximo++);
+                    LeitorSegmentoCsv leitor = new LeitorSegmentoCsv(mapear(canal, segmento), segmento.linhaInicial, colunas);
+                    pendentes.add(executor.submit(leitor::ler));
+                }
+                LeitorSegmentoCsv.ResultadoSegmento resultado = aguardar(pendentes.poll());
+                resultado.getContas().forEach(contas);
+                resultado.getLinhasInvalidas().forEach(linhasInvalidas);
+                if (resultado.getErro() != null) {
+                    throw new IOException(resultado.getErro());
+                }
+            }
+        } finally {
+            pendentes.forEach(pendente -> pendente.cancel(true));
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private List<Segmento> dividir(FileChannel canal) throws IOException {
+        long tamanho = canal.size();
+        List<Segmento> segmentos = new ArrayList<>();
+        long inicio = 0;
+        long linhaInicial = 1;
+        long linhas = 0;
+        boolean emAspas = false;
+        boolean escape = false;
+        boolean retorno = false;
+
+        for (long posicao = 0; posicao < tamanho; posicao += TAMANHO_JANELA_VARREDURA) {
+            ByteBuffer janela = canal.map(FileChannel.MapMode.READ_ONLY, posicao,
+                    Math.min(TAMANHO_JANELA_VARREDURA, tamanho - posicao));
+            int limite = janela.limit();
+            for (int i = 0; i < limite; i++) {
+                byte c = janela.get(i);
+                if (escape) {
+                    escape = false;
+                    if (c == '"' || c == '\\' || c == ',') {
+                        continue;
+                    }
+                }
+                if (c == '\\') {
+                    escape = true;
+                } else if (c == '"') {
+                    emAspas = !emAspas;
+                } else if (c == '\r') {
+                    linhas++;
+                } else if (c == '\n') {
+                    if (!retorno) {
+                        linhas++;
+                    }
+                    long fim = posicao + i + 1;
+                    if (!emAspas && (segmentos.isEmpty() || fim - inicio >= tamanhoSegmento)) {
+                        segmentos.add(new Segmento(inicio, fim, linhaInicial));
+                        inicio = fim;
+                        linhaInicial = linhas + 1;
+                    }
+                }
+                retorno = c == '\r';
+            }
+        }
+        if (inicio < tamanho) {
+            segmentos.add(new Segmento(inicio, tamanho, linhaInicial));
+        }
+        return segmentos;
+    }
+
+    private static ByteBuffer mapear(FileChannel canal, Segmento segmento) throws IOException {
+        return canal.map(FileChannel.MapMode.READ_ONLY, segmento.inicio, segmento.fim - segmento.inicio);
+    }
+
+    private static LeitorSegmentoCsv.ResultadoSegmento aguardar(Future<LeitorSegmentoCsv.ResultadoSegmento> pendente)
+            throws IOException {
+        try {
+            return pendente.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Segmento {
+        private final long inicio;
+        private final long fim;
+        private final long linhaInicial;
+    }
+}
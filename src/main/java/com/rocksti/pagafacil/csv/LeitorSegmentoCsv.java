@@ -0,0 +1,333 @@
+package com.rocksti.pagafacil.csv;
+
+import com.rocksti.pagafacil.dto.Centavos;
+import com.rocksti.pagafacil.dto.ContaCsvDto;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lê os registros de um trecho do arquivo que começa no início de um registro, reproduzindo as regras do
+ * {@code CSVParser} do opencsv (separador {@code ,}, aspas {@code "}, escape {@code \} e espaços antes de aspas
+ * ignorados) e as conversões aplicadas por {@code HeaderColumnNameMappingStrategy} em {@link ContaCsvDto}.
+ */
+final class LeitorSegmentoCsv {
+    private static final String QUANTIDADE_DE_CAMPOS = "Quantidade de campos diferente da quantidade de colunas do cabeçalho";
+    private static final String VALOR_INVALIDO = "Valor inválido: %s";
+    private static final String DATA_INVALIDA = "Data de vencimento inválida: %s";
+    private static final String ASPAS_NAO_FINALIZADAS = "Aspas não finalizadas no registro iniciado na linha %d";
+
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final byte SEPARADOR = ',';
+    private static final byte ASPAS = '"';
+    private static final byte ESCAPE = '\\';
+    private static final int INICIO_DA_LINHA = 3;
+    private static final int MAXIMO_DIGITOS_LONG = 18;
+
+    private final ByteBuffer buffer;
+    private final CampoContaCsv[] colunas;
+    private long linha;
+
+    private byte[] saida = new byte[256];
+    private int tamanhoSaida;
+    private int inicioCampo;
+    private int[] inicios = new int[8];
+    private int[] fins = new int[8];
+    private int campos;
+    private boolean emAspas;
+    private boolean emCampo;
+    private boolean registroPendente;
+    private long linhaRegistro;
+
+    LeitorSegmentoCsv(ByteBuffer buffer, long linhaInicial, CampoContaCsv[] colunas) {
+        this.buffer = buffer;
+        this.linha = linhaInicial;
+        this.colunas = colunas;
+    }
+
+    static String[] lerCabecalho(ByteBuffer buffer) {
+        LeitorSegmentoCsv leitor = new LeitorSegmentoCsv(buffer, 1, null);
+        ResultadoSegmento resultado = new ResultadoSegmento();
+        int posicao = 0;
+        while (posicao < buffer.limit() && !resultado.cabecalhoLido()) {
+            posicao = leitor.lerLinha(posicao, resultado);
+        }
+        if (leitor.registroPendente) {
+            throw new IllegalStateException(String.format(ASPAS_NAO_FINALIZADAS, leitor.linhaRegistro));
+        }
+        return resultado.cabecalho;
+    }
+
+    ResultadoSegmento ler() {
+        ResultadoSegmento resultado = new ResultadoSegmento();
+        int posicao = 0;
+        while (posicao < buffer.limit()) {
+            posicao = lerLinha(posicao, resultado);
+        }
+        if (registroPendente) {
+            resultado.erro = String.format(ASPAS_NAO_FINALIZADAS, linhaRegistro);
+        }
+        return resultado;
+    }
+
+    private int lerLinha(int inicio, ResultadoSegmento resultado) {
+        int fim = inicio;
+        int limite = buffer.limit();
+        while (fim < limite && buffer.get(fim) != '\n' && buffer.get(fim) != '\r') {
+            fim++;
+        }
+        if (!registroPendente) {
+            linhaRegistro = linha;
+            tamanhoSaida = 0;
+            inicioCampo = 0;
+            campos = 0;
+        }
+        processarLinha(inicio, fim);
+
+        if (emAspas) {
+            adicionar((byte) '\n');
+            registroPendente = true;
+        } else {
+            emCampo = false;
+            fecharCampo();
+            registroPendente = false;
+            finalizarRegistro(resultado);
+        }
+
+        linha++;
+        if (fim < limite && buffer.get(fim) == '\r' && fim + 1 < limite && buffer.get(fim + 1) == '\n') {
+            return fim + 2;
+        }
+        return fim + 1;
+    }
+
+    private void processarLinha(int inicio, int fim) {
+        for (int i = inicio; i < fim; i++) {
+            byte c = buffer.get(i);
+            if (c == ESCAPE) {
+                emCampo = true;
+                if (i + 1 < fim && escapavel(buffer.get(i + 1))) {
+                    adicionar(buffer.get(++i));
+                }
+            } else if (c == ASPAS) {
+                if ((emAspas || emCampo) && i + 1 < fim && buffer.get(i + 1) == ASPAS) {
+                    adicionar(buffer.get(++i));
+                } else {
+                    emAspas = !emAspas;
+                    if (i - inicio + 1 > INICIO_DA_LINHA
+                        && buffer.get(i - 1) != SEPARADOR
+                        && i + 1 < fim
+                        && buffer.get(i + 1) != SEPARADOR) {
+                        if (tamanhoSaida > inicioCampo && somenteEspacos(saida, inicioCampo, tamanhoSaida)) {
+                            tamanhoSaida = inicioCampo;
+                        } else {
+                            adicionar(c);
+                        }
+                    }
+                }
+                emCampo = !emCampo;
+            } else if (c == SEPARADOR && !emAspas) {
+                fecharCampo();
+                emCampo = false;
+            } else {
+                adicionar(c);
+                emCampo = true;
+            }
+        }
+    }
+
+    private void finalizarRegistro(ResultadoSegmento resultado) {
+        if (colunas == null) {
+            resultado.cabecalho = new String[campos];
+            for (int i = 0; i < campos; i++) {
+                resultado.cabecalho[i] = texto(i);
+            }
+            return;
+        }
+        if (campos != colunas.length) {
+            resultado.linhasInvalidas.add(new LinhaInvalidaCsv(linhaRegistro, QUANTIDADE_DE_CAMPOS));
+            return;
+        }
+
+        ContaCsvDto contaCsvDto = new ContaCsvDto();
+        for (int i = 0; i < campos; i++) {
+            if (colunas[i] == null) {
+                continue;
+            }
+            switch (colunas[i]) {
+                case DESCRICAO -> contaCsvDto.setDescricao(texto(i));
+                case VALOR -> {
+                    BigDecimal valor;
+                    try {
+                        valor = valor(inicios[i], fins[i]);
+                    } catch (NumberFormatException e) {
+                        resultado.linhasInvalidas.add(new LinhaInvalidaCsv(linhaRegistro, String.format(VALOR_INVALIDO, texto(i))));
+                        return;
+                    }
+                    if (valor != null && !Centavos.representavel(valor)) {
+                        resultado.linhasInvalidas.add(new LinhaInvalidaCsv(linhaRegistro, String.format(VALOR_INVALIDO, texto(i))));
+                        return;
+                    }
+                    if (valor != null) {
+                        contaCsvDto.setValor(valor);
+                    }
+                }
+                case DATA_VENCIMENTO -> {
+                    LocalDate dataVencimento;
+                    try {
+                        dataVencimento = data(inicios[i], fins[i]);
+                    } catch (DateTimeException e) {
+                        resultado.linhasInvalidas.add(new LinhaInvalidaCsv(linhaRegistro, String.format(DATA_INVALIDA, texto(i))));
+                        return;
+                    }
+                    if (dataVencimento != null) {
+                        contaCsvDto.setDataVencimento(dataVencimento);
+                    }
+                }
+            }
+        }
+        resultado.contas.add(contaCsvDto);
+    }
+
+    private BigDecimal valor(int inicio, int fim) {
+        if (!ascii(inicio, fim)) {
+            String texto = new String(saida, inicio, fim - inicio, StandardCharsets.UTF_8);
+            return texto.isBlank() ? null : new BigDecimal(texto.trim());
+        }
+        if (somenteEspacos(saida, inicio, fim)) {
+            return null;
+        }
+        while (inicio < fim && saida[inicio] <= ' ') {
+            inicio++;
+        }
+        while (fim > inicio && saida[fim - 1] <= ' ') {
+            fim--;
+        }
+
+        int i = inicio;
+        boolean negativo = saida[i] == '-';
+        if (negativo) {
+            i++;
+        }
+        long numero = 0;
+        int digitos = 0;
+        int escala = 0;
+        boolean decimal = false;
+        for (; i < fim; i++) {
+            byte c = saida[i];
+            if (c >= '0' && c <= '9') {
+                if (++digitos > MAXIMO_DIGITOS_LONG) {
+                    return new BigDecimal(new String(saida, inicio, fim - inicio, StandardCharsets.US_ASCII));
+                }
+                numero = numero * 10 + (c - '0');
+                if (decimal) {
+                    escala++;
+                }
+            } else if (c == '.' && !decimal) {
+                decimal = true;
+            } else {
+                return new BigDecimal(new String(saida, inicio, fim - inicio, StandardCharsets.US_ASCII));
+            }
+        }
+        if (digitos == 0) {
+            throw new NumberFormatException();
+        }
+        return BigDecimal.valueOf(negativo ? -numero : numero, escala);
+    }
+
+    private LocalDate data(int inicio, int fim) {
+        if (ascii(inicio, fim) && somenteEspacos(saida, inicio, fim)) {
+            return null;
+        }
+        if (fim - inicio == 10 && saida[inicio + 4] == '-' && saida[inicio + 7] == '-') {
+            int ano = digitos(inicio, 4);
+            int mes = digitos(inicio + 5, 2);
+            int dia = digitos(inicio + 8, 2);
+            if (ano > 0 && mes >= 1 && mes <= 12 && dia >= 1 && dia <= Month.of(mes).length(Year.isLeap(ano))) {
+                return LocalDate.of(ano, mes, dia);
+            }
+        }
+        String texto = new String(saida, inicio, fim - inicio, StandardCharsets.UTF_8);
+        return texto.isBlank() ? null : FORMATO_DATA.parse(texto, LocalDate::from);
+    }
+
+    private int digitos(int inicio, int quantidade) {
+        int numero = 0;
+        for (int i = inicio; i < inicio + quantidade; i++) {
+            int digito = saida[i] - '0';
+            if (digito < 0 || digito > 9) {
+                return -1;
+            }
+            numero = numero * 10 + digito;
+        }
+        return numero;
+    }
+
+    private String texto(int campo) {
+        return new String(saida, inicios[campo], fins[campo] - inicios[campo], StandardCharsets.UTF_8);
+    }
+
+    private boolean ascii(int inicio, int fim) {
+        for (int i = inicio; i < fim; i++) {
+            if (saida[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean somenteEspacos(byte[] bytes, int inicio, int fim) {
+        boolean ascii = true;
+        for (int i = inicio; i < fim && ascii; i++) {
+            ascii = bytes[i] >= 0;
+            if (ascii && !Character.isWhitespace(bytes[i])) {
+                return false;
+            }
+        }
+        return ascii || new String(bytes, inicio, fim - inicio, StandardCharsets.UTF_8).isBlank();
+    }
+
+    private static boolean escapavel(byte c) {
+        return c == ASPAS || c == ESCAPE || c == SEPARADOR;
+    }
+
+    private void adicionar(byte c) {
+        if (tamanhoSaida == saida.length) {
+            saida = Arrays.copyOf(saida, saida.length * 2);
+        }
+        saida[tamanhoSaida++] = c;
+    }
+
+    private void fecharCampo() {
+        if (campos == inicios.length) {
+            inicios = Arrays.copyOf(inicios, campos * 2);
+            fins = Arrays.copyOf(fins, campos * 2);
+        }
+        inicios[campos] = inicioCampo;
+        fins[campos] = tamanhoSaida;
+        campos++;
+        inicioCampo = tamanhoSaida;
+    }
+
+    @Getter
+    static final class ResultadoSegmento {
+        private final List<ContaCsvDto> contas = new ArrayList<>();
+        private final List<LinhaInvalidaCsv> linhasInvalidas = new ArrayList<>();
+        private String[] cabecalho;
+        private String erro;
+
+        private boolean cabecalhoLido() {
+            return cabecalho != null;
+        }
+    }
+}
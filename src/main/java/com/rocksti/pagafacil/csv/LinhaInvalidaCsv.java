@@ -0,0 +1,11 @@
+package com.rocksti.pagafacil.csv;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class LinhaInvalidaCsv {
+    private final long linha;
+    private final String mensagem;
+}
@@ -0,0 +1,55 @@
+package com.rocksti.pagafacil.datasource;
+
+import com.rocksti.pagafacil.fragmentacao.ContextoFragmento;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Direciona as conexões para o fragmento em uso pela thread. Como o fragmento é escolhido já dentro da transação, deve
+ * ser envolvido por um {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, que só obtém a
+ * conexão no primeiro comando.
+ */
+@Log4j2
+public class FragmentoDataSource extends AbstractRoutingDataSource {
+    private final List<DataSource> fragmentos;
+
+    public FragmentoDataSource(List<DataSource> fragmentos) {
+        this.fragmentos = List.copyOf(fragmentos);
+
+        Map<Object, Object> alvos = new HashMap<>();
+        for (int i = 0; i < fragmentos.size(); i++) {
+            alvos.put(i, fragmentos.get(i));
+        }
+        setTargetDataSources(alvos);
+        setDefaultTargetDataSource(fragmentos.get(ContextoFragmento.PADRAO));
+        setLenientFallback(false);
+        initialize();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ContextoFragmento.atual();
+    }
+
+    public List<DataSource> getFragmentos() {
+        return fragmentos;
+    }
+
+    public void close() {
+        // o fragmento padrão é o datasource primário, encerrado pelo próprio contexto
+        for (int i = ContextoFragmento.PADRAO + 1; i < fragmentos.size(); i++) {
+            if (fragmentos.get(i) instanceof AutoCloseable fechavel) {
+                try {
+                    fechavel.close();
+                } catch (Exception e) {
+                    log.warn("Falha ao encerrar o fragmento {}", i, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.rocksti.pagafacil.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Direciona as conexões das transações somente leitura para as réplicas, em rodízio entre as disponíveis, e as demais
+ * para o primário. Deve ser envolvido por um {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * que só obtém a conexão quando a transação já foi marcada como somente leitura.
+ * <p>
+ * Depois de confirmar uma escrita, as leituras do mesmo usuário continuam no primário durante a janela configurada,
+ * para que ele veja a própria alteração mesmo com atraso na replicação. Leituras cujo resultado é compartilhado com outros
+ * usuários, como as que preenchem o cache de contas, usam {@link #lerDoPrimario(Supplier)}.
+ */
+@Log4j2
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARIO = "primario";
+    private static final int TEMPO_MAXIMO_VALIDACAO_SEGUNDOS = 2;
+    private static final int MAXIMO_USUARIOS_JANELA = 100_000;
+    private static final ThreadLocal<Boolean> LEITURA_NO_PRIMARIO = new ThreadLocal<>();
+
+    private final DataSource primario;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger rodizio = new AtomicInteger();
+    private final Cache<String, Boolean> escritasRecentes;
+
+    public RoteamentoDataSource(DataSource primario, Map<String, DataSource> replicas, Duration janelaLeituraAposEscrita) {
+        this.primario = primario;
+        replicas.forEach((nome, dataSource) -> this.replicas.add(new Replica(nome, dataSource)));
+        this.escritasRecentes = janelaLeituraAposEscrita.isZero()
+                ? null
+                : Caffeine.newBuilder()
+                        .expireAfterWrite(janelaLeituraAposEscrita)
+                        .maximumSize(MAXIMO_USUARIOS_JANELA)
+                        .build();
+
+        Map<Object, Object> alvos = new HashMap<>(replicas);
+        alvos.put(PRIMARIO, primario);
+        setTargetDataSources(alvos);
+        setDefaultTargetDataSource(primario);
+        setLenientFallback(false);
+        initialize();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Replica replica = selecionarReplica();
+        return replica != null ? replica.nome : PRIMARIO;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = selecionarReplica();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.registrarFalha(e);
+            }
+        }
+        return primario.getConnection();
+    }
+
+    public void verificarReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection conexao = replica.dataSource.getConnection()) {
+                if (conexao.isValid(TEMPO_MAXIMO_VALIDACAO_SEGUNDOS)) {
+                    replica.registrarSucesso();
+                } else {
+                    replica.registrarFalha(new SQLException("Conexão inválida"));
+                }
+            } catch (SQLException e) {
+                replica.registrarFalha(e);
+            }
+        }
+    }
+
+    public List<String> getReplicasDisponiveis() {
+        return replicas.stream()
+                .filter(replica -> replica.disponivel)
+                .map(replica -> replica.nome)
+                .toList();
+    }
+
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable fechavel) {
+                try {
+                    fechavel.close();
+                } catch (Exception e) {
+                    log.warn("Falha ao encerrar a réplica {}", replica.nome, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Abre a janela de leitura após escrita para um usuário cuja escrita foi confirmada fora da thread da requisição.
+     */
+    public void registrarEscritaConfirmada(String usuario) {
+        if (escritasRecentes != null && usuario != null) {
+            escritasRecentes.put(usuario, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Executa a operação com as conexões obtidas por ela vindo do primário, ainda que a transação seja somente leitura.
+     * Não altera uma conexão que a transação já tenha obtido antes da operação.
+     */
+    public static <T> T lerDoPrimario(Supplier<T> operacao) {
+        if (LEITURA_NO_PRIMARIO.get() != null) {
+            return operacao.get();
+        }
+        LEITURA_NO_PRIMARIO.set(Boolean.TRUE);
+        try {
+            return operacao.get();
+        } finally {
+            LEITURA_NO_PRIMARIO.remove();
+        }
+    }
+
+    public static String usuarioAtual() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacao != null ? autenticacao.getName() : null;
+    }
+
+    private Replica selecionarReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            registrarEscrita();
+            return null;
+        }
+        if (replicas.isEmpty() || LEITURA_NO_PRIMARIO.get() != null || escritaRecente()) {
+            return null;
+        }
+        int inicio = Math.floorMod(rodizio.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((inicio + i) % replicas.size());
+            if (replica.disponivel) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void registrarEscrita() {
+        String usuario = usuarioAtual();
+        if (escritasRecentes == null || usuario == null || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    registrarEscritaConfirmada(usuario);
+                }
+            });
+        } else {
+            registrarEscritaConfirmada(usuario);
+        }
+    }
+
+    private boolean escritaRecente() {
+        String usuario = usuarioAtual();
+        return escritasRecentes != null && usuario != null && escritasRecentes.getIfPresent(usuario) != null;
+    }
+
+    private static final class Replica {
+        private final String nome;
+        private final DataSource dataSource;
+        private volatile boolean disponivel = true;
+
+        private Replica(String nome, DataSource dataSource) {
+            this.nome = nome;
+            this.dataSource = dataSource;
+        }
+
+        private void registrarFalha(SQLException e) {
+            if (disponivel) {
+                disponivel = false;
+                log.warn("Réplica {} indisponível, leituras direcionadas ao primário: {}", nome, e.getMessage());
+            }
+        }
+
+        private void registrarSucesso() {
+            if (!disponivel) {
+                disponivel = true;
+                log.info("Réplica {} disponível novamente", nome);
+            }
+        }
+    }
+}
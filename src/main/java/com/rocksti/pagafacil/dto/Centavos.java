@@ -0,0 +1,40 @@
+package com.rocksti.pagafacil.dto;
+
+import com.rocksti.pagafacil.exception.BadRequestException;
+
+import java.math.BigDecimal;
+
+/**
+ * Conversão entre os valores da API, em {@link BigDecimal}, e os centavos gravados no banco e usados nas somas.
+ */
+public final class Centavos {
+    public static final int ESCALA = 2;
+    private static final String VALOR_INVALIDO = "O valor deve ter no máximo duas casas decimais";
+
+    private Centavos() {
+    }
+
+    public static Long de(BigDecimal valor) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return valor.movePointRight(ESCALA).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new BadRequestException(VALOR_INVALIDO, e);
+        }
+    }
+
+    public static boolean representavel(BigDecimal valor) {
+        try {
+            valor.movePointRight(ESCALA).longValueExact();
+            return true;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
+    public static BigDecimal paraValor(Long centavos) {
+        return centavos == null ? null : BigDecimal.valueOf(centavos, ESCALA);
+    }
+}
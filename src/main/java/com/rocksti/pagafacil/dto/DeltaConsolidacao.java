@@ -0,0 +1,48 @@
+package com.rocksti.pagafacil.dto;
+
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class DeltaConsolidacao {
+    private final Map<LocalDate, Acumulado> dias = new TreeMap<>();
+
+    public DeltaConsolidacao adicionar(LocalDate dataPagamento, long valorCentavos, long quantidade) {
+        Acumulado acumulado = dias.computeIfAbsent(dataPagamento, data -> new Acumulado());
+        acumulado.valorCentavos = Math.addExact(acumulado.valorCentavos, valorCentavos);
+        acumulado.quantidade += quantidade;
+        return this;
+    }
+
+    public DeltaConsolidacao registrarAlteracao(SituacaoConta situacaoAnterior, LocalDate dataPagamentoAnterior,
+                                                Long valorAnterior, SituacaoConta situacaoAtual,
+                                                LocalDate dataPagamentoAtual, Long valorAtual) {
+        if (situacaoAnterior == SituacaoConta.PAGO && dataPagamentoAnterior != null) {
+            adicionar(dataPagamentoAnterior, Math.negateExact(valorAnterior), -1);
+        }
+        if (situacaoAtual == SituacaoConta.PAGO && dataPagamentoAtual != null) {
+            adicionar(dataPagamentoAtual, valorAtual, 1);
+        }
+        return this;
+    }
+
+    public boolean isVazio() {
+        return dias.isEmpty();
+    }
+
+    public void paraCadaDia(DiaConsolidacao consumidor) {
+        dias.forEach((data, acumulado) -> consumidor.aceitar(data, acumulado.valorCentavos, acumulado.quantidade));
+    }
+
+    @FunctionalInterface
+    public interface DiaConsolidacao {
+        void aceitar(LocalDate dataPagamento, long valorCentavos, long quantidade);
+    }
+
+    private static final class Acumulado {
+        private long valorCentavos;
+        private long quantidade;
+    }
+}
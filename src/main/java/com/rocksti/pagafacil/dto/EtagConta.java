@@ -0,0 +1,49 @@
+package com.rocksti.pagafacil.dto;
+
+import com.rocksti.pagafacil.exception.BadRequestException;
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+public final class EtagConta {
+    private static final String ETAG_INVALIDO = "ETag inválido";
+
+    private EtagConta() {
+    }
+
+    public static String daVersao(Long versao) {
+        return "\"" + versao + "\"";
+    }
+
+    /**
+     * ETag fraco: a página só é comparada via {@code If-None-Match} e o Tomcat não comprime respostas com ETag forte.
+     */
+    public static String daPagina(Page<VersaoConta> pagina) {
+        StringBuilder conteudo = new StringBuilder().append(pagina.getTotalElements());
+        pagina.forEach(versao -> conteudo.append(';').append(versao.getId()).append(':').append(versao.getVersao()));
+        return "W/\"" + DigestUtils.md5DigestAsHex(conteudo.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Distingue o ETag de uma representação alternativa do mesmo conteúdo, para que JSON e CBOR não se validem entre si.
+     */
+    public static String daRepresentacao(String etag, String representacao) {
+        return etag.substring(0, etag.length() - 1) + "-" + representacao + "\"";
+    }
+
+    public static Long versaoEsperada(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.length() < 3 || !etag.startsWith("\"") || !etag.endsWith("\"")) {
+            throw new BadRequestException(ETAG_INVALIDO);
+        }
+        try {
+            return Long.valueOf(etag.substring(1, etag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(ETAG_INVALIDO, e);
+        }
+    }
+}
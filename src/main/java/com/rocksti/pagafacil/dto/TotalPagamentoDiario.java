@@ -0,0 +1,14 @@
+package com.rocksti.pagafacil.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class TotalPagamentoDiario {
+    private LocalDate dataPagamento;
+    private long valorTotalCentavos;
+    private long quantidade;
+}
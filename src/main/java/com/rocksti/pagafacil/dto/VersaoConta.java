@@ -0,0 +1,16 @@
+package com.rocksti.pagafacil.dto;
+
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class VersaoConta {
+    private Long id;
+    private Long versao;
+
+    public static VersaoConta of(ContaResponse conta) {
+        return new VersaoConta(conta.getId(), conta.getVersao());
+    }
+}
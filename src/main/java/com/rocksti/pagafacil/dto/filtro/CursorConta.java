@@ -0,0 +1,40 @@
+package com.rocksti.pagafacil.dto.filtro;
+
+import com.rocksti.pagafacil.exception.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Getter
+@RequiredArgsConstructor
+public class CursorConta {
+    private static final String CURSOR_INVALIDO = "Cursor inválido";
+    private static final String SEPARADOR = "|";
+
+    private final LocalDate dataVencimento;
+    private final Long id;
+
+    public String codificar() {
+        String valor = dataVencimento + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorConta decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(SEPARADOR);
+            if (separador < 0) {
+                throw new BadRequestException(CURSOR_INVALIDO);
+            }
+            return new CursorConta(
+                    LocalDate.parse(valor.substring(0, separador)),
+                    Long.valueOf(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException(CURSOR_INVALIDO, e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.rocksti.pagafacil.dto.filtro;
+
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Setter
+@Getter
+@Accessors(chain = true)
+public class FiltroExportacaoConta {
+    private List<SituacaoConta> situacao;
+    private LocalDate dataVencimentoInicio;
+    private LocalDate dataVencimentoFim;
+    private LocalDate dataPagamentoInicio;
+    private LocalDate dataPagamentoFim;
+}
@@ -0,0 +1,18 @@
+package com.rocksti.pagafacil.dto.request;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+public class ContaLoteRequest {
+    private Long id;
+    private String descricao;
+    private BigDecimal valor;
+    private LocalDate dataVencimento;
+}
@@ -0,0 +1,36 @@
+package com.rocksti.pagafacil.dto.response;
+
+import com.rocksti.pagafacil.dto.Centavos;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+public class ContaResponse {
+    private final Long id;
+    private final LocalDate dataVencimento;
+    private final LocalDate dataPagamento;
+    private final BigDecimal valor;
+    private final String descricao;
+    private final SituacaoConta situacao;
+    private final Long versao;
+
+    public ContaResponse(Long id, LocalDate dataVencimento, LocalDate dataPagamento, Long valorCentavos,
+                         String descricao, SituacaoConta situacao, Long versao) {
+        this.id = id;
+        this.dataVencimento = dataVencimento;
+        this.dataPagamento = dataPagamento;
+        this.valor = Centavos.paraValor(valorCentavos);
+        this.descricao = descricao;
+        this.situacao = situacao;
+        this.versao = versao;
+    }
+
+    public static ContaResponse of(ContaEntity conta) {
+        return new ContaResponse(conta.getId(), conta.getDataVencimento(), conta.getDataPagamento(), conta.getValorCentavos(),
+                conta.getDescricao(), conta.getSituacao(), conta.getVersao());
+    }
+}
@@ -0,0 +1,19 @@
+package com.rocksti.pagafacil.dto.response;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+public class DivergenciaConsolidacao {
+    private LocalDate dataPagamento;
+    private BigDecimal valorConsolidado;
+    private BigDecimal valorApurado;
+    private long quantidadeConsolidada;
+    private long quantidadeApurada;
+}
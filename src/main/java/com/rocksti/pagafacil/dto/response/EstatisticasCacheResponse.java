@@ -0,0 +1,17 @@
+package com.rocksti.pagafacil.dto.response;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+public class EstatisticasCacheResponse {
+    private long tamanho;
+    private long acertos;
+    private long faltas;
+    private double taxaAcerto;
+    private long remocoes;
+    private long invalidacoes;
+}
@@ -0,0 +1,19 @@
+package com.rocksti.pagafacil.dto.response;
+
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.enumeration.TipoEventoConta;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class EventoContaResponse {
+    private final Long id;
+    private final Long contaId;
+    private final TipoEventoConta tipo;
+    private final SituacaoConta situacao;
+    private final Long versao;
+    private final LocalDateTime registradoEm;
+}
@@ -0,0 +1,28 @@
+package com.rocksti.pagafacil.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.rocksti.pagafacil.enumeration.SituacaoImportacao;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportacaoJobResponse {
+    private UUID id;
+    private SituacaoImportacao situacao;
+    private long linhasProcessadas;
+    private long linhasComFalha;
+    private long linhasDuplicadas;
+    private boolean arquivoJaImportado;
+    private double linhasPorSegundo;
+    private LocalDateTime criadaEm;
+    private LocalDateTime iniciadaEm;
+    private LocalDateTime concluidaEm;
+    private String erro;
+}
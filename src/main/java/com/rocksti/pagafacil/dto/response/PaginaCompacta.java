@@ -0,0 +1,31 @@
+package com.rocksti.pagafacil.dto.response;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Envelope enxuto de página, sem os metadados de {@code Pageable} e {@code Sort} que o {@link Page} serializa.
+ */
+@Getter
+@Setter
+@Accessors(chain = true)
+public class PaginaCompacta<T> {
+    public static final String MEDIA_TYPE_JSON = "application/vnd.pagafacil.pagina+json";
+
+    private List<T> conteudo;
+    private int pagina;
+    private int tamanho;
+    private long total;
+
+    public static <T> PaginaCompacta<T> of(Page<T> page) {
+        return new PaginaCompacta<T>()
+                .setConteudo(page.getContent())
+                .setPagina(page.getNumber())
+                .setTamanho(page.getSize())
+                .setTotal(page.getTotalElements());
+    }
+}
@@ -0,0 +1,18 @@
+package com.rocksti.pagafacil.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PaginaCursor<T> {
+    private List<T> conteudo;
+    private int tamanho;
+    private String proximoCursor;
+}
@@ -0,0 +1,18 @@
+package com.rocksti.pagafacil.dto.response;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+public class ResultadoAtualizacaoAtrasadas {
+    private LocalDateTime executadaEm;
+    private long contasAtualizadas;
+    private int lotes;
+    private long duracaoMs;
+    private long atrasoDias;
+}
@@ -0,0 +1,22 @@
+package com.rocksti.pagafacil.dto.response;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+public class ResultadoImportacao {
+    private long linhasImportadas;
+    private long linhasComFalha;
+    private long linhasDuplicadas;
+    private String checksum;
+    private boolean arquivoJaImportado;
+    private long duracaoMs;
+    private double linhasPorSegundo;
+    private List<ResultadoLote> lotes = new ArrayList<>();
+}
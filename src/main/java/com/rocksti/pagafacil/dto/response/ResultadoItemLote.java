@@ -0,0 +1,18 @@
+package com.rocksti.pagafacil.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.rocksti.pagafacil.enumeration.SituacaoItemLote;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResultadoItemLote {
+    private int indice;
+    private Long id;
+    private SituacaoItemLote situacao;
+    private String mensagem;
+}
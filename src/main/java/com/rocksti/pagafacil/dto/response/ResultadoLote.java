@@ -0,0 +1,19 @@
+package com.rocksti.pagafacil.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResultadoLote {
+    private int numero;
+    private int linhas;
+    private int linhasDuplicadas;
+    private boolean confirmado;
+    private long duracaoMs;
+    private String erro;
+}
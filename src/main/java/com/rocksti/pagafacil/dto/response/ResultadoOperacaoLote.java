@@ -0,0 +1,27 @@
+package com.rocksti.pagafacil.dto.response;
+
+import com.rocksti.pagafacil.enumeration.SituacaoItemLote;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+public class ResultadoOperacaoLote {
+    private int total;
+    private long sucessos;
+    private long falhas;
+    private List<ResultadoItemLote> itens;
+
+    public static ResultadoOperacaoLote of(List<ResultadoItemLote> itens) {
+        long sucessos = itens.stream().filter(item -> item.getSituacao() == SituacaoItemLote.SUCESSO).count();
+        return new ResultadoOperacaoLote()
+                .setTotal(itens.size())
+                .setSucessos(sucessos)
+                .setFalhas(itens.size() - sucessos)
+                .setItens(itens);
+    }
+}
@@ -1,19 +1,19 @@
 package com.rocksti.pagafacil.entity;
 
 import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.fragmentacao.IdContaGerado;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Objects;
 
@@ -21,10 +21,10 @@ import java.util.Objects;
 @Setter
 @Accessors(chain = true)
 @Entity
-@Table(name = "contas")
+@Table(name = "contas", indexes = @Index(name = "uk_contas_chave_deduplicacao", columnList = "chave_deduplicacao, data_vencimento", unique = true))
 public class ContaEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdContaGerado(sequencia = "contas_seq", alocacao = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -33,7 +33,7 @@ public class ContaEntity {
     private LocalDate dataPagamento;
 
     @Column(nullable = false)
-    private BigDecimal valor;
+    private Long valorCentavos;
 
     private String descricao;
 
@@ -41,6 +41,13 @@ public class ContaEntity {
     @Enumerated(EnumType.STRING)
     private SituacaoConta situacao;
 
+    @Column(length = 64)
+    private String chaveDeduplicacao;
+
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
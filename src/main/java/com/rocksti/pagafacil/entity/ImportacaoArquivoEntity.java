@@ -0,0 +1,46 @@
+package com.rocksti.pagafacil.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+@Entity
+@Table(name = "importacoes_arquivos")
+public class ImportacaoArquivoEntity {
+    @Id
+    @Column(length = 64)
+    private String checksum;
+
+    @Column(nullable = false)
+    private LocalDateTime importadoEm;
+
+    @Column(nullable = false)
+    private long linhasImportadas;
+
+    @Column(nullable = false)
+    private long linhasDuplicadas;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ImportacaoArquivoEntity that = (ImportacaoArquivoEntity) o;
+        return checksum.equals(that.checksum);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(checksum);
+    }
+}
@@ -0,0 +1,42 @@
+package com.rocksti.pagafacil.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+@Entity
+@Table(name = "pagamentos_diarios")
+public class PagamentoDiarioEntity {
+    @Id
+    private LocalDate dataPagamento;
+
+    @Column(nullable = false)
+    private long valorTotalCentavos;
+
+    @Column(nullable = false)
+    private long quantidade;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        PagamentoDiarioEntity that = (PagamentoDiarioEntity) o;
+        return dataPagamento.equals(that.dataPagamento);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dataPagamento);
+    }
+}
@@ -0,0 +1,54 @@
+package com.rocksti.pagafacil.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+@Entity
+@Table(name = "contas_particoes_arquivadas")
+public class ParticaoArquivadaEntity {
+    @Id
+    @Column(length = 63)
+    private String nome;
+
+    @Column(nullable = false)
+    private LocalDate vencimentoInicio;
+
+    @Column(nullable = false)
+    private LocalDate vencimentoFim;
+
+    private LocalDate pagamentoInicio;
+
+    private LocalDate pagamentoFim;
+
+    @Column(nullable = false)
+    private long quantidade;
+
+    @Column(nullable = false)
+    private LocalDateTime arquivadaEm;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ParticaoArquivadaEntity that = (ParticaoArquivadaEntity) o;
+        return nome.equals(that.nome);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(nome);
+    }
+}
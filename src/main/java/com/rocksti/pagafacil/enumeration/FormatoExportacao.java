@@ -0,0 +1,6 @@
+package com.rocksti.pagafacil.enumeration;
+
+public enum FormatoExportacao {
+    CSV,
+    NDJSON
+}
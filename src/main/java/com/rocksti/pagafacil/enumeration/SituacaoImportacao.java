@@ -0,0 +1,8 @@
+package com.rocksti.pagafacil.enumeration;
+
+public enum SituacaoImportacao {
+    NA_FILA,
+    PROCESSANDO,
+    CONCLUIDA,
+    FALHOU
+}
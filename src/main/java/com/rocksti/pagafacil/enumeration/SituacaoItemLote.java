@@ -0,0 +1,7 @@
+package com.rocksti.pagafacil.enumeration;
+
+public enum SituacaoItemLote {
+    SUCESSO,
+    NAO_ENCONTRADA,
+    ERRO
+}
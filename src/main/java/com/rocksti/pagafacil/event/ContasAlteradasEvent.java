@@ -0,0 +1,29 @@
+package com.rocksti.pagafacil.event;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+@Getter
+public class ContasAlteradasEvent {
+    private final List<Long> ids;
+    private final boolean criacao;
+
+    public ContasAlteradasEvent(Collection<Long> ids) {
+        this(ids, false);
+    }
+
+    private ContasAlteradasEvent(Collection<Long> ids, boolean criacao) {
+        this.ids = List.copyOf(ids);
+        this.criacao = criacao;
+    }
+
+    public static ContasAlteradasEvent of(Long id) {
+        return new ContasAlteradasEvent(List.of(id));
+    }
+
+    public static ContasAlteradasEvent criadas(Collection<Long> ids) {
+        return new ContasAlteradasEvent(ids, true);
+    }
+}
@@ -0,0 +1,8 @@
+package com.rocksti.pagafacil.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
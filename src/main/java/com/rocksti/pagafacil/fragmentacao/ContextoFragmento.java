@@ -0,0 +1,26 @@
+package com.rocksti.pagafacil.fragmentacao;
+
+/**
+ * Fragmento de banco de dados usado pela thread atual. Sem fragmento definido, vale o fragmento padrão, que é o banco
+ * configurado em {@code spring.datasource}.
+ */
+public final class ContextoFragmento {
+    public static final int PADRAO = 0;
+    private static final ThreadLocal<Integer> ATUAL = new ThreadLocal<>();
+
+    private ContextoFragmento() {
+    }
+
+    public static int atual() {
+        Integer fragmento = ATUAL.get();
+        return fragmento != null ? fragmento : PADRAO;
+    }
+
+    static void definir(int fragmento) {
+        ATUAL.set(fragmento);
+    }
+
+    static void limpar() {
+        ATUAL.remove();
+    }
+}
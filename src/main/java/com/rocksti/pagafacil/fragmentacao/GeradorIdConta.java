@@ -0,0 +1,64 @@
+package com.rocksti.pagafacil.fragmentacao;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Gera identificadores de conta únicos entre fragmentos, em 53 bits para continuarem exatos em clientes JavaScript. Cada
+ * fragmento reserva blocos de {@code alocacao} valores na sua própria {@code contas_seq}, como o Hibernate faz com banco
+ * único, e o id é o valor da sequência seguido de 4 bits do fragmento, somado a {@code PRIMEIRO_ID}. O fragmento gravado
+ * no identificador permite rotear qualquer operação por id sem consultar os bancos.
+ * <p>
+ * A sequência do banco garante que instâncias e reinícios nunca recebam o mesmo bloco; dentro do bloco, a geração não
+ * acessa o banco nem depende do relógio.
+ */
+public class GeradorIdConta {
+    public static final int MAXIMO_FRAGMENTOS = 1 << 4;
+    private static final int BITS_FRAGMENTO = Integer.numberOfTrailingZeros(MAXIMO_FRAGMENTOS);
+    // identificadores menores vieram da sequência do banco único, anterior à fragmentação, e ficam no fragmento padrão
+    private static final long PRIMEIRO_ID = 1L << 40;
+    private static final long MAIOR_VALOR_SEQUENCIA = ((1L << 53) - PRIMEIRO_ID >> BITS_FRAGMENTO) - 1;
+
+    private final int alocacao;
+    private final Bloco[] blocos = new Bloco[MAXIMO_FRAGMENTOS];
+
+    public GeradorIdConta(int alocacao) {
+        if (alocacao < 1) {
+            throw new IllegalArgumentException("A alocação de ids deve ser positiva");
+        }
+        this.alocacao = alocacao;
+        for (int fragmento = 0; fragmento < MAXIMO_FRAGMENTOS; fragmento++) {
+            blocos[fragmento] = new Bloco();
+        }
+    }
+
+    /**
+     * Próximo id do fragmento. Esgotado o bloco atual, {@code sequencia} precisa devolver o próximo valor da
+     * {@code contas_seq} do próprio fragmento, que avança de {@code alocacao} em {@code alocacao}.
+     */
+    public long proximo(int fragmento, LongSupplier sequencia) {
+        Bloco bloco = blocos[fragmento];
+        synchronized (bloco) {
+            if (bloco.proximo == bloco.fim) {
+                long inicio = sequencia.getAsLong();
+                if (inicio < 0 || inicio + alocacao - 1 > MAIOR_VALOR_SEQUENCIA) {
+                    throw new IllegalStateException("A contas_seq do fragmento " + fragmento + " passou do maior valor que cabe no id: " + inicio);
+                }
+                bloco.proximo = inicio;
+                bloco.fim = inicio + alocacao;
+            }
+            return PRIMEIRO_ID + (bloco.proximo++ << BITS_FRAGMENTO | fragmento);
+        }
+    }
+
+    public static int fragmento(long id) {
+        if (id < PRIMEIRO_ID) {
+            return ContextoFragmento.PADRAO;
+        }
+        return (int) (id & MAXIMO_FRAGMENTOS - 1);
+    }
+
+    private static class Bloco {
+        private long proximo;
+        private long fim;
+    }
+}
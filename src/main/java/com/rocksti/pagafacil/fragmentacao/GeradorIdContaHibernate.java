@@ -0,0 +1,51 @@
+package com.rocksti.pagafacil.fragmentacao;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+/**
+ * Com banco único, gera os ids pela sequência do banco. No modo fragmentado, indicado pela propriedade
+ * {@link #PROPRIEDADE_FRAGMENTADO} do Hibernate, usa um {@link GeradorIdConta} que reserva os blocos na sequência do
+ * fragmento em uso pela transação e grava o fragmento no id.
+ */
+public class GeradorIdContaHibernate extends SequenceStyleGenerator {
+    public static final String PROPRIEDADE_FRAGMENTADO = "pagafacil.fragmentacao.ids-por-fragmento";
+
+    private final IdContaGerado configuracao;
+    private GeradorIdConta gerador;
+
+    public GeradorIdContaHibernate(IdContaGerado configuracao, Member membro, CustomIdGeneratorCreationContext contexto) {
+        this.configuracao = configuracao;
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        parameters.put(SEQUENCE_PARAM, configuracao.sequencia());
+        parameters.put(INCREMENT_PARAM, String.valueOf(configuracao.alocacao()));
+        super.configure(type, parameters, serviceRegistry);
+        boolean fragmentado = ConfigurationHelper.getBoolean(PROPRIEDADE_FRAGMENTADO,
+                serviceRegistry.requireService(ConfigurationService.class).getSettings(), false);
+        if (fragmentado) {
+            gerador = new GeradorIdConta(configuracao.alocacao());
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (gerador == null) {
+            return super.generate(session, object);
+        }
+        // a conexão da sessão é a do fragmento da transação, então o bloco vem da sequência desse fragmento
+        return gerador.proximo(ContextoFragmento.atual(),
+                () -> getDatabaseStructure().buildCallback(session).getNextValue().makeValue().longValue());
+    }
+}
@@ -0,0 +1,17 @@
+package com.rocksti.pagafacil.fragmentacao;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@IdGeneratorType(GeradorIdContaHibernate.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface IdContaGerado {
+    String sequencia();
+
+    int alocacao();
+}
@@ -0,0 +1,264 @@
+package com.rocksti.pagafacil.fragmentacao;
+
+import com.rocksti.pagafacil.exception.BadRequestException;
+import com.rocksti.pagafacil.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Escolhe o fragmento das operações sobre contas. Os cadastros vão para o próximo fragmento em rodízio e as operações
+ * por id seguem o fragmento gravado no identificador; a escolha vale até o fim da transação e precisa acontecer antes
+ * do primeiro comando, quando a conexão é obtida. As consultas sobre todas as contas, ou sobre ids de vários
+ * fragmentos, rodam em paralelo, uma por fragmento, cada uma na sua transação. As tarefas de manutenção passam por
+ * todos os fragmentos um após o outro, na thread de quem as executa.
+ * <p>
+ * Com um único banco todas as operações ficam no fragmento padrão, na própria thread.
+ */
+@Log4j2
+public class RoteadorFragmentos {
+    private static final String CONSULTA_FRAGMENTOS_ESGOTADA = "Consultas aos fragmentos esgotadas, tente novamente";
+    private static final String PAGINA_ALEM_DO_LIMITE = "Página além do limite da consulta fragmentada";
+    private static final String FALHA_CONSULTA_FRAGMENTOS = "Falha ao consultar os fragmentos";
+
+    private final int quantidade;
+    private final int maximoRegistrosPorFragmento;
+    private final Duration tempoMaximoConsulta;
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger rodizio = new AtomicInteger();
+
+    public RoteadorFragmentos(int quantidade, int threadsConsulta, int capacidadeFilaConsulta,
+                              int maximoRegistrosPorFragmento, Duration tempoMaximoConsulta) {
+        this.quantidade = quantidade;
+        this.maximoRegistrosPorFragmento = maximoRegistrosPorFragmento;
+        this.tempoMaximoConsulta = tempoMaximoConsulta;
+
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threadsConsulta,
+                threadsConsulta,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFilaConsulta),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "fragmentos-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private RoteadorFragmentos() {
+        this.quantidade = 1;
+        this.maximoRegistrosPorFragmento = Integer.MAX_VALUE;
+        this.tempoMaximoConsulta = null;
+        this.executor = null;
+    }
+
+    public static RoteadorFragmentos unico() {
+        return new RoteadorFragmentos();
+    }
+
+    public boolean isFragmentado() {
+        return quantidade > 1;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public void usarFragmentoDaConta(Long id) {
+        if (isFragmentado()) {
+            usar(GeradorIdConta.fragmento(id));
+        }
+    }
+
+    public void usarProximoFragmento() {
+        if (isFragmentado()) {
+            usar(Math.floorMod(rodizio.getAndIncrement(), quantidade));
+        }
+    }
+
+    public int fragmentoDaConta(Long id) {
+        return isFragmentado() && id != null ? GeradorIdConta.fragmento(id) : ContextoFragmento.PADRAO;
+    }
+
+    /**
+     * Executa a operação na thread atual, no fragmento informado. Não pode haver transação em andamento: a conexão de
+     * uma transação já iniciada continuaria presa ao fragmento anterior.
+     */
+    public <T> T executarNoFragmento(int fragmento, Supplier<T> operacao) {
+        if (!isFragmentado()) {
+            return operacao.get();
+        }
+        return noFragmento(fragmento, operacao);
+    }
+
+    public <T> List<T> consultarTodos(Supplier<T> consulta) {
+        if (!isFragmentado()) {
+            return List.of(consulta.get());
+        }
+        return consultar(IntStream.range(0, quantidade).boxed().toList(), fragmento -> consulta.get());
+    }
+
+    /**
+     * Separa os ids pelo fragmento de cada um e consulta os fragmentos envolvidos em paralelo, cada um com os seus ids.
+     */
+    public <T> List<T> consultarPorIds(Collection<Long> ids, Function<Collection<Long>, List<T>> consulta) {
+        if (!isFragmentado()) {
+            return consulta.apply(ids);
+        }
+
+        Map<Integer, List<Long>> idsPorFragmento = ids.stream()
+                .collect(Collectors.groupingBy(this::fragmentoDaConta, TreeMap::new, Collectors.toList()));
+        return consultar(idsPorFragmento.keySet(), fragmento -> consulta.apply(idsPorFragmento.get(fragmento))).stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    private <T> List<T> consultar(Collection<Integer> fragmentos, IntFunction<T> consulta) {
+        List<Future<T>> futuros = new ArrayList<>(fragmentos.size());
+        try {
+            for (int fragmento : fragmentos) {
+                futuros.add(executor.submit(() -> noFragmento(fragmento, () -> consulta.apply(fragmento))));
+            }
+
+            long limite = System.nanoTime() + tempoMaximoConsulta.toNanos();
+            List<T> resultados = new ArrayList<>(fragmentos.size());
+            for (Future<T> futuro : futuros) {
+                resultados.add(futuro.get(limite - System.nanoTime(), TimeUnit.NANOSECONDS));
+            }
+            return resultados;
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException(CONSULTA_FRAGMENTOS_ESGOTADA);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(FALHA_CONSULTA_FRAGMENTOS, e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(FALHA_CONSULTA_FRAGMENTOS, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(FALHA_CONSULTA_FRAGMENTOS, e);
+        } finally {
+            futuros.forEach(futuro -> futuro.cancel(true));
+        }
+    }
+
+    /**
+     * Executa a operação em cada fragmento, um após o outro, na thread atual e sem o tempo máximo das consultas: tarefas
+     * de manutenção não disputam o pool das consultas dos usuários nem são interrompidas no meio. A falha em um fragmento
+     * não impede os seguintes e é relançada no fim. Os resultados vêm na ordem dos fragmentos.
+     */
+    public <T> List<T> executarEmCada(Supplier<T> operacao) {
+        if (!isFragmentado()) {
+            return List.of(operacao.get());
+        }
+        List<T> resultados = new ArrayList<>(quantidade);
+        RuntimeException falha = null;
+        for (int fragmento = 0; fragmento < quantidade; fragmento++) {
+            try {
+                resultados.add(noFragmento(fragmento, operacao));
+            } catch (RuntimeException e) {
+                log.error("Falha ao executar a tarefa no fragmento {}", fragmento, e);
+                if (falha == null) {
+                    falha = e;
+                } else {
+                    falha.addSuppressed(e);
+                }
+            }
+        }
+        if (falha != null) {
+            throw falha;
+        }
+        return resultados;
+    }
+
+    public void executarEmTodos(Runnable tarefa) {
+        executarEmCada(() -> {
+            tarefa.run();
+            return Boolean.TRUE;
+        });
+    }
+
+    /**
+     * Cada fragmento devolve as primeiras linhas até o fim da página pedida, na ordem pedida; a página é recortada da
+     * intercalação dessas listas e o total é a soma dos totais.
+     */
+    public <T> Page<T> paginar(Pageable pageable, Function<Pageable, Page<T>> consulta, Comparator<T> ordem) {
+        if (!isFragmentado()) {
+            return consulta.apply(pageable);
+        }
+        if (pageable.isPaged() && pageable.getOffset() + pageable.getPageSize() > maximoRegistrosPorFragmento) {
+            throw new BadRequestException(PAGINA_ALEM_DO_LIMITE);
+        }
+
+        Pageable primeiros = pageable.isPaged()
+                ? PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize(), pageable.getSort())
+                : pageable;
+        List<Page<T>> paginas = consultarTodos(() -> consulta.apply(primeiros));
+
+        List<T> conteudo = paginas.stream()
+                .flatMap(pagina -> pagina.getContent().stream())
+                .sorted(ordem)
+                .skip(pageable.isPaged() ? pageable.getOffset() : 0)
+                .limit(pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE)
+                .toList();
+        long total = paginas.stream().mapToLong(Page::getTotalElements).sum();
+        return new PageImpl<>(conteudo, pageable, total);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> T noFragmento(int fragmento, Supplier<T> consulta) {
+        ContextoFragmento.definir(fragmento);
+        try {
+            return consulta.get();
+        } finally {
+            ContextoFragmento.limpar();
+        }
+    }
+
+    private static void usar(int fragmento) {
+        ContextoFragmento.definir(fragmento);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ContextoFragmento.limpar();
+                }
+            });
+        }
+    }
+}
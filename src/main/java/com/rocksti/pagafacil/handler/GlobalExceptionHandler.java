@@ -3,11 +3,15 @@ package com.rocksti.pagafacil.handler;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.rocksti.pagafacil.exception.BadRequestException;
 import com.rocksti.pagafacil.exception.NotFoundException;
+import com.rocksti.pagafacil.exception.PreconditionFailedException;
+import com.rocksti.pagafacil.exception.ServiceUnavailableException;
+import com.rocksti.pagafacil.exception.TooManyRequestsException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -26,6 +30,8 @@ import java.util.StringJoiner;
 @Log4j2
 @RestControllerAdvice
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+    private static final String CONTA_ALTERADA_CONCORRENTEMENTE = "A conta foi alterada por outra requisição, tente novamente";
+
     @ExceptionHandler({Exception.class})
     protected ResponseEntity<Object> handleConflict(Exception ex, HttpServletRequest request, WebRequest webRequest) {
         HttpStatus internalServerError = HttpStatus.INTERNAL_SERVER_ERROR;
@@ -43,6 +49,26 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return getHandleExceptionInternal(request, webRequest, HttpStatus.BAD_REQUEST, ex, ex.getMessage());
     }
 
+    @ExceptionHandler({TooManyRequestsException.class})
+    protected ResponseEntity<Object> handleTooManyRequestsException(RuntimeException ex, HttpServletRequest request, WebRequest webRequest) {
+        return getHandleExceptionInternal(request, webRequest, HttpStatus.TOO_MANY_REQUESTS, ex, ex.getMessage());
+    }
+
+    @ExceptionHandler({ServiceUnavailableException.class})
+    protected ResponseEntity<Object> handleServiceUnavailableException(RuntimeException ex, HttpServletRequest request, WebRequest webRequest) {
+        return getHandleExceptionInternal(request, webRequest, HttpStatus.SERVICE_UNAVAILABLE, ex, ex.getMessage());
+    }
+
+    @ExceptionHandler({PreconditionFailedException.class})
+    protected ResponseEntity<Object> handlePreconditionFailedException(RuntimeException ex, HttpServletRequest request, WebRequest webRequest) {
+        return getHandleExceptionInternal(request, webRequest, HttpStatus.PRECONDITION_FAILED, ex, ex.getMessage());
+    }
+
+    @ExceptionHandler({OptimisticLockingFailureException.class})
+    protected ResponseEntity<Object> handleOptimisticLockingFailureException(RuntimeException ex, HttpServletRequest request, WebRequest webRequest) {
+        return getHandleExceptionInternal(request, webRequest, HttpStatus.CONFLICT, ex, CONTA_ALTERADA_CONCORRENTEMENTE);
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers,
                                                                   HttpStatusCode status, WebRequest request) {
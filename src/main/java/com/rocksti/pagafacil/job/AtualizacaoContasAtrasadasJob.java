@@ -0,0 +1,20 @@
+package com.rocksti.pagafacil.job;
+
+import com.rocksti.pagafacil.service.AtualizacaoContasAtrasadasService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "pagafacil.atrasadas.habilitado", havingValue = "true", matchIfMissing = true)
+public class AtualizacaoContasAtrasadasJob {
+
+    private final AtualizacaoContasAtrasadasService atualizacaoContasAtrasadasService;
+
+    @Scheduled(cron = "${pagafacil.atrasadas.cron:0 */15 * * * *}")
+    public void executar() {
+        atualizacaoContasAtrasadasService.executar();
+    }
+}
@@ -0,0 +1,22 @@
+package com.rocksti.pagafacil.job;
+
+import com.rocksti.pagafacil.fragmentacao.RoteadorFragmentos;
+import com.rocksti.pagafacil.service.EventoContaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "pagafacil.eventos.habilitado", havingValue = "true")
+public class LimpezaEventosContaJob {
+
+    private final EventoContaService eventoContaService;
+    private final RoteadorFragmentos roteadorFragmentos;
+
+    @Scheduled(cron = "${pagafacil.eventos.cron-limpeza:0 30 3 * * *}")
+    public void executar() {
+        roteadorFragmentos.executarEmTodos(eventoContaService::removerExpirados);
+    }
+}
@@ -0,0 +1,22 @@
+package com.rocksti.pagafacil.job;
+
+import com.rocksti.pagafacil.fragmentacao.RoteadorFragmentos;
+import com.rocksti.pagafacil.service.ParticaoContaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "pagafacil.particoes.habilitado", havingValue = "true")
+public class ManutencaoParticoesContasJob {
+
+    private final ParticaoContaService particaoContaService;
+    private final RoteadorFragmentos roteadorFragmentos;
+
+    @Scheduled(cron = "${pagafacil.particoes.cron:0 0 2 * * *}")
+    public void executar() {
+        roteadorFragmentos.executarEmTodos(particaoContaService::criarParticoes);
+    }
+}
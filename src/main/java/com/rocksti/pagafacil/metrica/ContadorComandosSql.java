@@ -0,0 +1,30 @@
+package com.rocksti.pagafacil.metrica;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Conta os comandos SQL executados pelas sessões do Hibernate na thread atual. Registrado em
+ * {@code hibernate.session.events.auto}, é instanciado pelo Hibernate a cada sessão aberta.
+ */
+public class ContadorComandosSql implements SessionEventListener {
+
+    private static final ThreadLocal<long[]> COMANDOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    public static void zerar() {
+        COMANDOS.get()[0] = 0;
+    }
+
+    public static long obter() {
+        return COMANDOS.get()[0];
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        COMANDOS.get()[0]++;
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        COMANDOS.get()[0]++;
+    }
+}
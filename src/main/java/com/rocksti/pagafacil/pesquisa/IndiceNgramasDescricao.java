@@ -0,0 +1,213 @@
+package com.rocksti.pagafacil.pesquisa;
+
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de trigramas das descrições das contas. Cada conta ocupa uma posição e cada trigrama guarda, em
+ * ordem, as posições das descrições que o contêm; ao mudar a descrição, a posição anterior é descartada e as listas são
+ * reconstruídas quando as posições descartadas passam de metade do total.
+ */
+public class IndiceNgramasDescricao {
+    static final int TAMANHO_NGRAMA = 3;
+    private static final int MINIMO_DESCARTADAS_COMPACTACAO = 1024;
+    private static final Comparator<Ocorrencia> ORDEM = Comparator.comparingDouble(Ocorrencia::similaridade).reversed()
+            .thenComparing(ocorrencia -> ocorrencia.entrada().dataVencimento(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(ocorrencia -> ocorrencia.entrada().id());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Entrada> entradas = new ArrayList<>();
+    private final Map<Long, Integer> posicoes = new HashMap<>();
+    private final Map<String, Posicoes> postagens = new HashMap<>();
+    private int descartadas;
+
+    public void indexar(ContaResponse conta) {
+        String descricao = normalizar(conta.getDescricao());
+        Set<String> ngramas = ngramas(descricao);
+        Entrada nova = new Entrada(conta.getId(), descricao, conta.getDataVencimento(),
+                conta.getSituacao() != SituacaoConta.PAGO, conta.getVersao() != null ? conta.getVersao() : 0L, ngramas.size());
+
+        lock.writeLock().lock();
+        try {
+            Integer posicao = posicoes.get(nova.id());
+            if (posicao != null) {
+                Entrada atual = entradas.get(posicao);
+                // uma carga inicial lenta não pode sobrescrever uma alteração já indexada
+                if (atual.versao() > nova.versao()) {
+                    return;
+                }
+                if (atual.descricao().equals(nova.descricao())) {
+                    entradas.set(posicao, nova);
+                    return;
+                }
+                descartar(posicao);
+            }
+            adicionar(nova, ngramas);
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer posicao = posicoes.get(id);
+            if (posicao != null) {
+                descartar(posicao);
+                compactarSeNecessario();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return posicoes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ResultadoPesquisa pesquisar(String termo, LocalDate dataVencimento, long deslocamento, int limite) {
+        String normalizado = normalizar(termo);
+        Set<String> ngramasTermo = ngramas(normalizado);
+        List<Ocorrencia> ocorrencias = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Posicoes candidatas = menorLista(ngramasTermo);
+            int quantidade = candidatas != null ? candidatas.tamanho : entradas.size();
+            for (int i = 0; i < quantidade; i++) {
+                Entrada entrada = entradas.get(candidatas != null ? candidatas.valores[i] : i);
+                if (entrada != null
+                    && entrada.aPagar()
+                    && (dataVencimento == null || dataVencimento.equals(entrada.dataVencimento()))
+                    && entrada.descricao().contains(normalizado)) {
+                    ocorrencias.add(new Ocorrencia(entrada, similaridade(normalizado, ngramasTermo.size(), entrada)));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        ocorrencias.sort(ORDEM);
+        int inicio = (int) Math.min(deslocamento, ocorrencias.size());
+        int fim = (int) Math.min((long) inicio + limite, ocorrencias.size());
+        return new ResultadoPesquisa(
+                ocorrencias.subList(inicio, fim).stream().map(ocorrencia -> ocorrencia.entrada().id()).toList(),
+                ocorrencias.size());
+    }
+
+    static String normalizar(String texto) {
+        return texto == null ? "" : texto.toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> ngramas(String texto) {
+        Set<String> ngramas = new LinkedHashSet<>();
+        for (int i = 0; i + TAMANHO_NGRAMA <= texto.length(); i++) {
+            ngramas.add(texto.substring(i, i + TAMANHO_NGRAMA));
+        }
+        return ngramas;
+    }
+
+    /**
+     * Como toda ocorrência contém o termo, os trigramas em comum são os do próprio termo e a similaridade de Jaccard se
+     * reduz à razão entre as quantidades de trigramas: descrições mais curtas ficam à frente.
+     */
+    private static double similaridade(String termo, int ngramasTermo, Entrada entrada) {
+        if (ngramasTermo > 0 && entrada.ngramas() > 0) {
+            return (double) ngramasTermo / entrada.ngramas();
+        }
+        return (double) termo.length() / Math.max(1, entrada.descricao().length());
+    }
+
+    private Posicoes menorLista(Set<String> ngramas) {
+        if (ngramas.isEmpty()) {
+            return null;
+        }
+        Posicoes menor = null;
+        for (String ngrama : ngramas) {
+            Posicoes lista = postagens.get(ngrama);
+            if (lista == null) {
+                return Posicoes.VAZIA;
+            }
+            if (menor == null || lista.tamanho < menor.tamanho) {
+                menor = lista;
+            }
+        }
+        return menor;
+    }
+
+    private void adicionar(Entrada entrada, Set<String> ngramas) {
+        int posicao = entradas.size();
+        entradas.add(entrada);
+        posicoes.put(entrada.id(), posicao);
+        for (String ngrama : ngramas) {
+            postagens.computeIfAbsent(ngrama, chave -> new Posicoes()).adicionar(posicao);
+        }
+    }
+
+    private void descartar(int posicao) {
+        Entrada entrada = entradas.set(posicao, null);
+        posicoes.remove(entrada.id());
+        descartadas++;
+    }
+
+    private void compactarSeNecessario() {
+        if (descartadas < MINIMO_DESCARTADAS_COMPACTACAO || descartadas * 2 < entradas.size()) {
+            return;
+        }
+        List<Entrada> ativas = entradas.stream().filter(Objects::nonNull).toList();
+        entradas.clear();
+        posicoes.clear();
+        postagens.clear();
+        descartadas = 0;
+        ativas.forEach(entrada -> adicionar(entrada, ngramas(entrada.descricao())));
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class ResultadoPesquisa {
+        private final List<Long> ids;
+        private final long total;
+    }
+
+    private record Entrada(Long id, String descricao, LocalDate dataVencimento, boolean aPagar, long versao, int ngramas) {
+    }
+
+    private record Ocorrencia(Entrada entrada, double similaridade) {
+    }
+
+    private static final class Posicoes {
+        private static final Posicoes VAZIA = new Posicoes();
+
+        private int[] valores = new int[4];
+        private int tamanho;
+
+        private void adicionar(int posicao) {
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, tamanho * 2);
+            }
+            valores[tamanho++] = posicao;
+        }
+    }
+}
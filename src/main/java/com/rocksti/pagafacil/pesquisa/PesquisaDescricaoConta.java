@@ -0,0 +1,15 @@
+package com.rocksti.pagafacil.pesquisa;
+
+import com.rocksti.pagafacil.dto.filtro.FiltroPesquisaConta;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Pesquisa de contas a pagar cuja descrição contém o termo do filtro, sem diferenciar maiúsculas e minúsculas, ordenadas
+ * pela similaridade de trigramas entre o termo e a descrição.
+ */
+public interface PesquisaDescricaoConta {
+
+    Page<ContaResponse> pesquisar(FiltroPesquisaConta filtro, Pageable pageable);
+}
@@ -0,0 +1,112 @@
+package com.rocksti.pagafacil.pesquisa;
+
+import com.rocksti.pagafacil.dto.filtro.FiltroPesquisaConta;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.event.ContasAlteradasEvent;
+import com.rocksti.pagafacil.fragmentacao.RoteadorFragmentos;
+import com.rocksti.pagafacil.repository.ContaRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pesquisa por descrição para bancos sem índice de trigramas. O índice é carregado quando a aplicação sobe e mantido
+ * pelos {@link ContasAlteradasEvent} publicados em cadastros, alterações e importações; as contas da página são lidas do
+ * banco para refletirem o estado atual. Com fragmentação, o índice cobre as contas de todos os fragmentos e as contas
+ * são lidas cada uma no fragmento do seu id.
+ * <p>
+ * Serve apenas a uma única instância da aplicação, como em desenvolvimento e nos testes: o índice guarda todas as
+ * descrições no heap e só recebe os eventos publicados nesta instância, então escritas feitas por outras instâncias
+ * nunca chegam a ele. Acima de {@code maximoContas} contas a aplicação não sobe.
+ */
+@Log4j2
+public class PesquisaDescricaoContaEmMemoria implements PesquisaDescricaoConta {
+    private static final int TAMANHO_CARGA = 10_000;
+    private static final String INDICE_EXCEDIDO = "O índice de descrições em memória admite no máximo %d contas; "
+                                                  + "use pagafacil.pesquisa.descricao.indice=postgres";
+
+    private final ContaRepository contaRepository;
+    private final RoteadorFragmentos roteadorFragmentos;
+    private final int maximoContas;
+    private final IndiceNgramasDescricao indice = new IndiceNgramasDescricao();
+
+    public PesquisaDescricaoContaEmMemoria(ContaRepository contaRepository, RoteadorFragmentos roteadorFragmentos,
+                                           int maximoContas) {
+        this.contaRepository = contaRepository;
+        this.roteadorFragmentos = roteadorFragmentos;
+        this.maximoContas = maximoContas;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        long inicio = System.nanoTime();
+        roteadorFragmentos.executarEmTodos(this::carregarFragmento);
+        log.info("Índice de descrições carregado com {} contas em {} ms", indice.tamanho(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+    }
+
+    private void carregarFragmento() {
+        long ultimoId = Long.MIN_VALUE;
+        List<ContaResponse> contas;
+        do {
+            contas = contaRepository.buscarProjecoesAposId(ultimoId, PageRequest.of(0, TAMANHO_CARGA));
+            contas.forEach(indice::indexar);
+            if (indice.tamanho() > maximoContas) {
+                throw new IllegalStateException(String.format(INDICE_EXCEDIDO, maximoContas));
+            }
+            if (!contas.isEmpty()) {
+                ultimoId = contas.get(contas.size() - 1).getId();
+            }
+        } while (contas.size() == TAMANHO_CARGA);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarContas(ContasAlteradasEvent event) {
+        atualizar(event.getIds());
+    }
+
+    @Override
+    public Page<ContaResponse> pesquisar(FiltroPesquisaConta filtro, Pageable pageable) {
+        IndiceNgramasDescricao.ResultadoPesquisa resultado = indice.pesquisar(filtro.getDescricao(), filtro.getDataVencimento(),
+                pageable.isPaged() ? pageable.getOffset() : 0,
+                pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE);
+        if (resultado.getIds().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, resultado.getTotal());
+        }
+
+        Map<Long, ContaResponse> contas = roteadorFragmentos.consultarPorIds(resultado.getIds(), contaRepository::buscarProjecoesPorIds).stream()
+                .collect(Collectors.toMap(ContaResponse::getId, Function.identity()));
+        List<ContaResponse> conteudo = resultado.getIds().stream()
+                .map(contas::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(conteudo, pageable, resultado.getTotal() - (resultado.getIds().size() - conteudo.size()));
+    }
+
+    private void atualizar(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Set<Long> removidas = new HashSet<>(ids);
+        for (ContaResponse conta : roteadorFragmentos.consultarPorIds(ids, contaRepository::buscarProjecoesPorIds)) {
+            indice.indexar(conta);
+            removidas.remove(conta.getId());
+        }
+        removidas.forEach(indice::remover);
+    }
+}
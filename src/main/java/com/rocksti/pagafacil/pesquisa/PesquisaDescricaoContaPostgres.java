@@ -0,0 +1,86 @@
+package com.rocksti.pagafacil.pesquisa;
+
+import com.rocksti.pagafacil.dto.filtro.FiltroPesquisaConta;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.fragmentacao.RoteadorFragmentos;
+import com.rocksti.pagafacil.repository.specification.ContaSpecifications;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Usa o índice GIN de trigramas ({@code pg_trgm}) sobre {@code lower(descricao)}, criado pela migração {@code V9}, tanto
+ * no filtro {@code LIKE} quanto na ordenação por {@code similarity}. Com fragmentação, cada fragmento devolve as
+ * primeiras linhas com a sua similaridade e a página é recortada da intercalação delas.
+ */
+public class PesquisaDescricaoContaPostgres implements PesquisaDescricaoConta {
+
+    private static final Comparator<ContaSimilar> RELEVANCIA = Comparator.comparingDouble(ContaSimilar::similaridade).reversed()
+            .thenComparing(contaSimilar -> contaSimilar.conta().getDataVencimento())
+            .thenComparing(contaSimilar -> contaSimilar.conta().getId());
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final RoteadorFragmentos roteadorFragmentos;
+
+    public PesquisaDescricaoContaPostgres(DataSource dataSource, RoteadorFragmentos roteadorFragmentos) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.roteadorFragmentos = roteadorFragmentos;
+    }
+
+    @Override
+    public Page<ContaResponse> pesquisar(FiltroPesquisaConta filtro, Pageable pageable) {
+        return roteadorFragmentos.paginar(pageable, primeiros -> consultar(filtro, primeiros), RELEVANCIA)
+                .map(ContaSimilar::conta);
+    }
+
+    private Page<ContaSimilar> consultar(FiltroPesquisaConta filtro, Pageable pageable) {
+        String termo = filtro.getDescricao().toLowerCase(Locale.ROOT);
+        StringBuilder condicao = new StringBuilder(" FROM contas WHERE situacao <> 'PAGO' AND lower(descricao) LIKE :padrao ESCAPE '\\'");
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("termo", termo)
+                .addValue("padrao", ContaSpecifications.padraoContem(termo));
+        if (filtro.getDataVencimento() != null) {
+            condicao.append(" AND data_vencimento = :dataVencimento");
+            parametros.addValue("dataVencimento", filtro.getDataVencimento());
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT id, data_vencimento, data_pagamento, valor_centavos, descricao, situacao, versao, ")
+                .append("similarity(lower(descricao), :termo) AS similaridade")
+                .append(condicao)
+                .append(" ORDER BY similaridade DESC, data_vencimento, id");
+        if (pageable.isPaged()) {
+            sql.append(" LIMIT :limite OFFSET :deslocamento");
+            parametros.addValue("limite", pageable.getPageSize())
+                    .addValue("deslocamento", pageable.getOffset());
+        }
+
+        return PageableExecutionUtils.getPage(
+                jdbcTemplate.query(sql.toString(), parametros, (resultSet, linha) -> new ContaSimilar(paraConta(resultSet), resultSet.getDouble("similaridade"))),
+                pageable,
+                () -> jdbcTemplate.queryForObject("SELECT count(*)" + condicao, parametros, Long.class));
+    }
+
+    private static ContaResponse paraConta(ResultSet resultSet) throws SQLException {
+        return new ContaResponse(
+                resultSet.getLong("id"),
+                resultSet.getObject("data_vencimento", LocalDate.class),
+                resultSet.getObject("data_pagamento", LocalDate.class),
+                resultSet.getObject("valor_centavos", Long.class),
+                resultSet.getString("descricao"),
+                SituacaoConta.valueOf(resultSet.getString("situacao")),
+                resultSet.getLong("versao"));
+    }
+
+    private record ContaSimilar(ContaResponse conta, double similaridade) {
+    }
+}
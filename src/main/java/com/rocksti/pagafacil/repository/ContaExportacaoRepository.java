@@ -0,0 +1,68 @@
+package com.rocksti.pagafacil.repository;
+
+import com.rocksti.pagafacil.configuration.ExportacaoProperties;
+import com.rocksti.pagafacil.dto.filtro.FiltroExportacaoConta;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+@Repository
+public class ContaExportacaoRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ContaExportacaoRepository(DataSource dataSource, ExportacaoProperties exportacaoProperties) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(exportacaoProperties.getTamanhoFetch());
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    public void percorrer(FiltroExportacaoConta filtro, Consumer<ContaResponse> consumidor) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, data_vencimento, data_pagamento, valor_centavos, descricao, situacao, versao FROM contas WHERE 1 = 1");
+        MapSqlParameterSource parametros = new MapSqlParameterSource();
+        if (filtro.getSituacao() != null && !filtro.getSituacao().isEmpty()) {
+            sql.append(" AND situacao IN (:situacao)");
+            parametros.addValue("situacao", filtro.getSituacao().stream().map(SituacaoConta::name).toList());
+        }
+        adicionarPeriodo(sql, parametros, "data_vencimento", filtro.getDataVencimentoInicio(), filtro.getDataVencimentoFim());
+        adicionarPeriodo(sql, parametros, "data_pagamento", filtro.getDataPagamentoInicio(), filtro.getDataPagamentoFim());
+        sql.append(" ORDER BY id");
+
+        jdbcTemplate.query(sql.toString(), parametros, resultSet -> {
+            consumidor.accept(paraConta(resultSet));
+        });
+    }
+
+    private static void adicionarPeriodo(StringBuilder sql, MapSqlParameterSource parametros, String coluna,
+                                         LocalDate inicio, LocalDate fim) {
+        if (inicio != null) {
+            sql.append(" AND ").append(coluna).append(" >= :").append(coluna).append("_inicio");
+            parametros.addValue(coluna + "_inicio", inicio);
+        }
+        if (fim != null) {
+            sql.append(" AND ").append(coluna).append(" <= :").append(coluna).append("_fim");
+            parametros.addValue(coluna + "_fim", fim);
+        }
+    }
+
+    private static ContaResponse paraConta(ResultSet resultSet) throws SQLException {
+        return new ContaResponse(
+                resultSet.getLong("id"),
+                resultSet.getObject("data_vencimento", LocalDate.class),
+                resultSet.getObject("data_pagamento", LocalDate.class),
+                resultSet.getObject("valor_centavos", Long.class),
+                resultSet.getString("descricao"),
+                SituacaoConta.valueOf(resultSet.getString("situacao")),
+                resultSet.getLong("versao"));
+    }
+}
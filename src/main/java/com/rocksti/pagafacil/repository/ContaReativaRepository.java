@@ -0,0 +1,102 @@
+package com.rocksti.pagafacil.repository;
+
+import com.rocksti.pagafacil.configuration.ReativoProperties;
+import com.rocksti.pagafacil.dto.filtro.CursorConta;
+import com.rocksti.pagafacil.dto.filtro.FiltroPesquisaConta;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+@Repository
+@ConditionalOnProperty(name = "pagafacil.reativo.habilitado", havingValue = "true")
+public class ContaReativaRepository {
+
+    private static final String COLUNAS_CONTA = "id, data_vencimento, data_pagamento, valor_centavos, descricao, situacao, versao";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient databaseClient;
+
+    public ContaReativaRepository(ReativoProperties reativoProperties) {
+        ConnectionFactoryOptions.Builder opcoes = ConnectionFactoryOptions.parse(reativoProperties.getUrl()).mutate();
+        if (reativoProperties.getUsuario() != null) {
+            opcoes.option(ConnectionFactoryOptions.USER, reativoProperties.getUsuario());
+        }
+        if (reativoProperties.getSenha() != null) {
+            opcoes.option(ConnectionFactoryOptions.PASSWORD, reativoProperties.getSenha());
+        }
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opcoes.build()))
+                .name("pagafacil-reativo")
+                .initialSize(reativoProperties.getTamanhoInicialPool())
+                .maxSize(reativoProperties.getTamanhoMaximoPool())
+                .maxAcquireTime(reativoProperties.getTempoMaximoAquisicao())
+                .build());
+        this.databaseClient = DatabaseClient.create(pool);
+    }
+
+    public Flux<ContaResponse> buscarContasAPagar(FiltroPesquisaConta filtro, CursorConta cursor, int limite) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUNAS_CONTA)
+                .append(" FROM contas WHERE situacao <> 'PAGO'");
+        if (filtro.getDataVencimento() != null) {
+            sql.append(" AND data_vencimento = :dataVencimento");
+        }
+        if (StringUtils.hasLength(filtro.getDescricao())) {
+            sql.append(" AND descricao = :descricao");
+        }
+        if (cursor != null) {
+            sql.append(" AND data_vencimento >= :cursorVencimento"
+                       + " AND (data_vencimento > :cursorVencimento OR (data_vencimento = :cursorVencimento AND id > :cursorId))");
+        }
+        sql.append(" ORDER BY data_vencimento, id LIMIT :limite");
+
+        DatabaseClient.GenericExecuteSpec consulta = databaseClient.sql(sql.toString()).bind("limite", limite);
+        if (filtro.getDataVencimento() != null) {
+            consulta = consulta.bind("dataVencimento", filtro.getDataVencimento());
+        }
+        if (StringUtils.hasLength(filtro.getDescricao())) {
+            consulta = consulta.bind("descricao", filtro.getDescricao());
+        }
+        if (cursor != null) {
+            consulta = consulta.bind("cursorVencimento", cursor.getDataVencimento()).bind("cursorId", cursor.getId());
+        }
+        return consulta.map(ContaReativaRepository::paraConta).all();
+    }
+
+    public Mono<Long> obterCentavosPagosPorPeriodo(LocalDate dataInicio, LocalDate dataFim) {
+        return databaseClient.sql("SELECT CAST(COALESCE(SUM(valor_total_centavos), 0) AS BIGINT) AS valor_total_centavos " +
+                                  "FROM pagamentos_diarios " +
+                                  "WHERE data_pagamento BETWEEN :dataInicio AND :dataFim")
+                .bind("dataInicio", dataInicio)
+                .bind("dataFim", dataFim)
+                .map(linha -> linha.get("valor_total_centavos", Long.class))
+                .one();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        pool.dispose();
+    }
+
+    private static ContaResponse paraConta(Readable linha) {
+        return new ContaResponse(
+                linha.get("id", Long.class),
+                linha.get("data_vencimento", LocalDate.class),
+                linha.get("data_pagamento", LocalDate.class),
+                linha.get("valor_centavos", Long.class),
+                linha.get("descricao", String.class),
+                SituacaoConta.valueOf(linha.get("situacao", String.class)),
+                linha.get("versao", Long.class));
+    }
+}
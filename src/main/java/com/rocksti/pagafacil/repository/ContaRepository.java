@@ -1,27 +1,74 @@
 package com.rocksti.pagafacil.repository;
 
+import com.rocksti.pagafacil.dto.TotalPagamentoDiario;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
 import com.rocksti.pagafacil.entity.ContaEntity;
-import org.springframework.data.domain.Page;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ContaRepository extends JpaRepository<ContaEntity, Long> {
-
-    @Query("SELECT SUM(c.valor) FROM ContaEntity c WHERE c.dataPagamento BETWEEN :dataInicio AND :dataFim AND c.situacao = 'PAGO'")
-    BigDecimal obterValorTotalPagoPorPeriodo(LocalDate dataInicio, LocalDate dataFim);
-
-    @Query("SELECT c FROM ContaEntity c WHERE " +
-           "c.situacao != 'PAGO' AND " +
-           "(COALESCE(:dataVencimento, c.dataVencimento) = c.dataVencimento) AND " +
-           "(COALESCE(:descricao, '') = '' OR c.descricao = :descricao)")
-    Page<ContaEntity> findByAPagarComFiltro(Pageable pageable,
-                                            @Param("dataVencimento") LocalDate dataVencimento,
-                                            @Param("descricao") String descricao);
+public interface ContaRepository extends JpaRepository<ContaEntity, Long>, JpaSpecificationExecutor<ContaEntity>,
+        ContaRepositoryCustom {
+
+    @Query("SELECT new com.rocksti.pagafacil.dto.TotalPagamentoDiario(c.dataPagamento, SUM(c.valorCentavos), COUNT(c)) " +
+           "FROM ContaEntity c WHERE c.dataPagamento BETWEEN :dataInicio AND :dataFim AND c.situacao = 'PAGO' " +
+           "GROUP BY c.dataPagamento")
+    List<TotalPagamentoDiario> obterTotaisPagosPorDia(LocalDate dataInicio, LocalDate dataFim);
+
+    @Query("SELECT new com.rocksti.pagafacil.dto.response.ContaResponse(c.id, c.dataVencimento, c.dataPagamento, " +
+           "c.valorCentavos, c.descricao, c.situacao, c.versao) FROM ContaEntity c WHERE c.id = :id")
+    Optional<ContaResponse> buscarProjecaoPorId(Long id);
+
+    @Query("SELECT new com.rocksti.pagafacil.dto.response.ContaResponse(c.id, c.dataVencimento, c.dataPagamento, " +
+           "c.valorCentavos, c.descricao, c.situacao, c.versao) FROM ContaEntity c WHERE c.id IN :ids")
+    List<ContaResponse> buscarProjecoesPorIds(Collection<Long> ids);
+
+    @Query("SELECT new com.rocksti.pagafacil.dto.response.ContaResponse(c.id, c.dataVencimento, c.dataPagamento, " +
+           "c.valorCentavos, c.descricao, c.situacao, c.versao) FROM ContaEntity c WHERE c.id > :id ORDER BY c.id")
+    List<ContaResponse> buscarProjecoesAposId(Long id, Pageable pageable);
+
+    // sem flush automático: a edição consulta as chaves com a conta já alterada e ainda sem a nova chave
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT c.chaveDeduplicacao FROM ContaEntity c WHERE c.chaveDeduplicacao IN :chaves " +
+           "AND c.dataVencimento BETWEEN :vencimentoInicio AND :vencimentoFim")
+    List<String> buscarChavesDeduplicacao(Collection<String> chaves, LocalDate vencimentoInicio, LocalDate vencimentoFim);
+
+    @Query("SELECT c.versao FROM ContaEntity c WHERE c.id = :id")
+    Optional<Long> obterVersao(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ContaEntity c WHERE c.id IN :ids")
+    List<ContaEntity> bloquearPorIds(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ContaEntity c SET c.situacao = :situacao, c.dataPagamento = :dataPagamento, c.versao = c.versao + 1 " +
+           "WHERE c.id IN :ids")
+    int alterarSituacao(Collection<Long> ids, SituacaoConta situacao, LocalDate dataPagamento);
+
+    @Query(value = "SELECT id FROM contas WHERE situacao = 'PENDENTE' AND data_vencimento < :hoje " +
+                   "ORDER BY data_vencimento LIMIT :limite FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> bloquearPendentesVencidas(LocalDate hoje, int limite);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ContaEntity c SET c.situacao = 'ATRASADO', c.versao = c.versao + 1 " +
+           "WHERE c.id IN :ids AND c.situacao = 'PENDENTE' AND c.dataVencimento < :hoje")
+    int marcarAtrasadas(Collection<Long> ids, LocalDate hoje);
+
+    @Query("SELECT MIN(c.dataVencimento) FROM ContaEntity c WHERE c.situacao = 'PENDENTE' AND c.dataVencimento < :hoje")
+    LocalDate obterVencimentoPendenteMaisAntigo(LocalDate hoje);
 }
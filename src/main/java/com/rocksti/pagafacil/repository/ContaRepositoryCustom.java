@@ -0,0 +1,20 @@
+package com.rocksti.pagafacil.repository;
+
+import com.rocksti.pagafacil.dto.VersaoConta;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ContaRepositoryCustom {
+
+    Page<VersaoConta> buscarVersoes(Specification<ContaEntity> specification, Pageable pageable);
+
+    Page<ContaResponse> buscarProjecoes(Specification<ContaEntity> specification, Pageable pageable);
+
+    List<ContaResponse> buscarProjecoes(Specification<ContaEntity> specification, Sort sort, int limite);
+}
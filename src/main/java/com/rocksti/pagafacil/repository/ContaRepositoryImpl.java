@@ -0,0 +1,105 @@
+package com.rocksti.pagafacil.repository;
+
+import com.rocksti.pagafacil.dto.VersaoConta;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+public class ContaRepositoryImpl implements ContaRepositoryCustom {
+    private static final String PROPRIEDADE_VALOR = "valor";
+    private static final String PROPRIEDADE_VALOR_CENTAVOS = "valorCentavos";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<VersaoConta> buscarVersoes(Specification<ContaEntity> specification, Pageable pageable) {
+        return buscarPagina(VersaoConta.class, ContaRepositoryImpl::selecionarVersao, specification, pageable);
+    }
+
+    @Override
+    public Page<ContaResponse> buscarProjecoes(Specification<ContaEntity> specification, Pageable pageable) {
+        return buscarPagina(ContaResponse.class, ContaRepositoryImpl::selecionarConta, specification, pageable);
+    }
+
+    @Override
+    public List<ContaResponse> buscarProjecoes(Specification<ContaEntity> specification, Sort sort, int limite) {
+        return criarConsulta(ContaResponse.class, ContaRepositoryImpl::selecionarConta, specification, sort)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    private <T> Page<T> buscarPagina(Class<T> tipo, BiFunction<CriteriaBuilder, Root<ContaEntity>, Selection<T>> selecao,
+                                     Specification<ContaEntity> specification, Pageable pageable) {
+        TypedQuery<T> consulta = criarConsulta(tipo, selecao, specification, pageable.getSort());
+        if (pageable.isPaged()) {
+            consulta.setFirstResult((int) pageable.getOffset());
+            consulta.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(consulta.getResultList(), pageable, () -> contar(specification));
+    }
+
+    private <T> TypedQuery<T> criarConsulta(Class<T> tipo, BiFunction<CriteriaBuilder, Root<ContaEntity>, Selection<T>> selecao,
+                                            Specification<ContaEntity> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(tipo);
+        Root<ContaEntity> root = query.from(ContaEntity.class);
+        query.select(selecao.apply(cb, root));
+        Predicate predicado = specification.toPredicate(root, query, cb);
+        if (predicado != null) {
+            query.where(predicado);
+        }
+        query.orderBy(QueryUtils.toOrders(ordemDaEntidade(sort), root, cb));
+        return entityManager.createQuery(query);
+    }
+
+    private long contar(Specification<ContaEntity> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<ContaEntity> root = query.from(ContaEntity.class);
+        query.select(cb.count(root));
+        Predicate predicado = specification.toPredicate(root, query, cb);
+        if (predicado != null) {
+            query.where(predicado);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // o valor exposto na API é guardado em centavos na entidade
+    private static Sort ordemDaEntidade(Sort sort) {
+        return Sort.by(sort.stream()
+                .map(order -> order.getProperty().equals(PROPRIEDADE_VALOR) ? order.withProperty(PROPRIEDADE_VALOR_CENTAVOS) : order)
+                .toList());
+    }
+
+    private static Selection<VersaoConta> selecionarVersao(CriteriaBuilder cb, Root<ContaEntity> root) {
+        return cb.construct(VersaoConta.class, root.get("id"), root.get("versao"));
+    }
+
+    private static Selection<ContaResponse> selecionarConta(CriteriaBuilder cb, Root<ContaEntity> root) {
+        return cb.construct(ContaResponse.class,
+                root.get("id"),
+                root.get("dataVencimento"),
+                root.get("dataPagamento"),
+                root.get("valorCentavos"),
+                root.get("descricao"),
+                root.get("situacao"),
+                root.get("versao"));
+    }
+}
@@ -0,0 +1,38 @@
+package com.rocksti.pagafacil.repository;
+
+import com.rocksti.pagafacil.dto.response.EventoContaResponse;
+import com.rocksti.pagafacil.entity.EventoContaEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EventoContaRepository extends JpaRepository<EventoContaEntity, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO eventos_contas (conta_id, tipo, situacao, versao, registrado_em) " +
+                   "SELECT id, CASE WHEN versao = 0 THEN 'CRIADA' ELSE 'ALTERADA' END, situacao, versao, :registradoEm " +
+                   "FROM contas WHERE id IN (:contaIds) ORDER BY id", nativeQuery = true)
+    int registrar(Collection<Long> contaIds, LocalDateTime registradoEm);
+
+    @Query("SELECT new com.rocksti.pagafacil.dto.response.EventoContaResponse(e.id, e.contaId, e.tipo, e.situacao, " +
+           "e.versao, e.registradoEm) FROM EventoContaEntity e WHERE e.id > :id ORDER BY e.id")
+    List<EventoContaResponse> buscarApos(Long id, Pageable pageable);
+
+    @Query("SELECT new com.rocksti.pagafacil.dto.response.EventoContaResponse(e.id, e.contaId, e.tipo, e.situacao, " +
+           "e.versao, e.registradoEm) FROM EventoContaEntity e WHERE e.id IN :ids ORDER BY e.id")
+    List<EventoContaResponse> buscarPorIds(Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM EventoContaEntity e")
+    long obterUltimoId();
+
+    @Modifying
+    @Query("DELETE FROM EventoContaEntity e WHERE e.registradoEm < :limite")
+    int removerAnteriores(LocalDateTime limite);
+}
@@ -0,0 +1,9 @@
+package com.rocksti.pagafacil.repository;
+
+import com.rocksti.pagafacil.entity.ImportacaoArquivoEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImportacaoArquivoRepository extends JpaRepository<ImportacaoArquivoEntity, String> {
+}
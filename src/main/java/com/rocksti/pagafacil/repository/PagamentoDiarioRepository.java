@@ -0,0 +1,28 @@
+package com.rocksti.pagafacil.repository;
+
+import com.rocksti.pagafacil.entity.PagamentoDiarioEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PagamentoDiarioRepository extends JpaRepository<PagamentoDiarioEntity, LocalDate> {
+
+    @Query("SELECT SUM(p.valorTotalCentavos) FROM PagamentoDiarioEntity p WHERE p.dataPagamento BETWEEN :dataInicio AND :dataFim")
+    Long obterCentavosPorPeriodo(LocalDate dataInicio, LocalDate dataFim);
+
+    List<PagamentoDiarioEntity> findByDataPagamentoBetween(LocalDate dataInicio, LocalDate dataFim);
+
+    @Modifying
+    @Query("UPDATE PagamentoDiarioEntity p SET p.valorTotalCentavos = p.valorTotalCentavos + :valorCentavos, p.quantidade = p.quantidade + :quantidade " +
+           "WHERE p.dataPagamento = :dataPagamento")
+    int acumular(LocalDate dataPagamento, long valorCentavos, long quantidade);
+
+    @Modifying
+    @Query("DELETE FROM PagamentoDiarioEntity p WHERE p.dataPagamento BETWEEN :dataInicio AND :dataFim")
+    int removerPorPeriodo(LocalDate dataInicio, LocalDate dataFim);
+}
@@ -0,0 +1,16 @@
+package com.rocksti.pagafacil.repository;
+
+import com.rocksti.pagafacil.entity.ParticaoArquivadaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface ParticaoArquivadaRepository extends JpaRepository<ParticaoArquivadaEntity, String> {
+
+    @Query("SELECT COUNT(p) > 0 FROM ParticaoArquivadaEntity p " +
+           "WHERE p.pagamentoInicio <= :dataFim AND p.pagamentoFim >= :dataInicio")
+    boolean possuiPagamentosNoPeriodo(LocalDate dataInicio, LocalDate dataFim);
+}
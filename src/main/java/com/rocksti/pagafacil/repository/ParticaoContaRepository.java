@@ -0,0 +1,46 @@
+package com.rocksti.pagafacil.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Manutenção das partições mensais de {@code contas}, feita pelas funções criadas na migração {@code V8}. Disponível
+ * apenas no PostgreSQL.
+ */
+@RequiredArgsConstructor
+@Repository
+public class ParticaoContaRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Limita, até o fim da transação atual, a espera por bloqueios; sem isso, um comando que aguarda um bloqueio
+     * exclusivo faz esperar também todas as consultas que chegam depois dele.
+     */
+    public void limitarEsperaBloqueio(Duration tempoMaximo) {
+        jdbcTemplate.queryForObject("SELECT set_config('lock_timeout', ?, true)", String.class, tempoMaximo.toMillis() + "ms");
+    }
+
+    public String criarParticao(LocalDate mes) {
+        return jdbcTemplate.queryForObject("SELECT criar_particao_contas(?)", String.class, mes);
+    }
+
+    public List<LocalDate> buscarMesesNaParticaoPadrao() {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(date_trunc('month', data_vencimento) AS DATE) FROM contas_padrao ORDER BY 1",
+                LocalDate.class);
+    }
+
+    public List<String> buscarParticoesEncerradas(LocalDate limite) {
+        return jdbcTemplate.queryForList("SELECT * FROM particoes_contas_encerradas(?)", String.class, limite);
+    }
+
+    public boolean arquivarParticao(String nome) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT arquivar_particao_contas(?)", Boolean.class, nome));
+    }
+}
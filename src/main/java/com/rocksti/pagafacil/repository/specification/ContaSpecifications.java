@@ -0,0 +1,57 @@
+package com.rocksti.pagafacil.repository.specification;
+
+import com.rocksti.pagafacil.dto.filtro.CursorConta;
+import com.rocksti.pagafacil.dto.filtro.FiltroPesquisaConta;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public final class ContaSpecifications {
+
+    public static final Sort ORDEM_CURSOR = Sort.by("dataVencimento", "id");
+    private static final char ESCAPE = '\\';
+
+    private ContaSpecifications() {
+    }
+
+    public static Specification<ContaEntity> aPagar(FiltroPesquisaConta filtro) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            // literal, e não parâmetro, para que o planner case o predicado com o índice parcial de contas a pagar
+            predicados.add(cb.notEqual(root.get("situacao"), cb.literal(SituacaoConta.PAGO)));
+            if (filtro.getDataVencimento() != null) {
+                predicados.add(cb.equal(root.get("dataVencimento"), filtro.getDataVencimento()));
+            }
+            if (StringUtils.hasLength(filtro.getDescricao())) {
+                predicados.add(cb.like(cb.lower(root.get("descricao")),
+                        padraoContem(filtro.getDescricao().toLowerCase(Locale.ROOT)), ESCAPE));
+            }
+            return cb.and(predicados.toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<ContaEntity> aposCursor(CursorConta cursor) {
+        // o limite inferior redundante fora do OR permite ao PostgreSQL descartar as partições anteriores ao cursor
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("dataVencimento"), cursor.getDataVencimento()),
+                cb.or(
+                        cb.greaterThan(root.get("dataVencimento"), cursor.getDataVencimento()),
+                        cb.and(
+                                cb.equal(root.get("dataVencimento"), cursor.getDataVencimento()),
+                                cb.greaterThan(root.get("id"), cursor.getId()))));
+    }
+
+    public static String padraoContem(String termo) {
+        String escapado = termo.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escapado + "%";
+    }
+}
@@ -0,0 +1,111 @@
+package com.rocksti.pagafacil.service;
+
+import com.rocksti.pagafacil.configuration.AtrasadasProperties;
+import com.rocksti.pagafacil.dto.response.ResultadoAtualizacaoAtrasadas;
+import com.rocksti.pagafacil.event.ContasAlteradasEvent;
+import com.rocksti.pagafacil.fragmentacao.RoteadorFragmentos;
+import com.rocksti.pagafacil.repository.ContaRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+@Log4j2
+@RequiredArgsConstructor
+@Service
+public class AtualizacaoContasAtrasadasService {
+    private static final String METRICA_EXECUCAO = "pagafacil.atrasadas.execucao";
+    private static final String METRICA_CONTAS_ATUALIZADAS = "pagafacil.atrasadas.contas.atualizadas";
+    private static final String METRICA_ATRASO = "pagafacil.atrasadas.atraso.dias";
+
+    private final ContaRepository contaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtrasadasProperties atrasadasProperties;
+    private final MeterRegistry meterRegistry;
+    private final RoteadorFragmentos roteadorFragmentos;
+
+    private volatile ResultadoAtualizacaoAtrasadas ultimaExecucao;
+
+    @PostConstruct
+    void registrarMetricas() {
+        Gauge.builder(METRICA_ATRASO, this, servico -> servico.ultimaExecucao != null
+                        ? servico.ultimaExecucao.getAtrasoDias()
+                        : Double.NaN)
+                .description("Dias de atraso da conta pendente vencida mais antiga após a última execução")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Marca as contas atrasadas de todos os fragmentos, um após o outro, e publica um único resultado: as contas e os
+     * lotes somados e o maior atraso restante entre os fragmentos.
+     */
+    public ResultadoAtualizacaoAtrasadas executar() {
+        long inicio = System.nanoTime();
+        LocalDate hoje = LocalDate.now();
+
+        List<ExecucaoFragmento> execucoes = roteadorFragmentos.executarEmCada(() -> executarNoFragmento(hoje));
+        long contasAtualizadas = execucoes.stream().mapToLong(ExecucaoFragmento::contasAtualizadas).sum();
+        int lotes = execucoes.stream().mapToInt(ExecucaoFragmento::lotes).sum();
+        LocalDate vencimentoMaisAntigo = execucoes.stream()
+                .map(ExecucaoFragmento::vencimentoMaisAntigo)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+
+        long duracao = System.nanoTime() - inicio;
+        ResultadoAtualizacaoAtrasadas resultado = new ResultadoAtualizacaoAtrasadas()
+                .setExecutadaEm(LocalDateTime.now())
+                .setContasAtualizadas(contasAtualizadas)
+                .setLotes(lotes)
+                .setDuracaoMs(TimeUnit.NANOSECONDS.toMillis(duracao))
+                .setAtrasoDias(vencimentoMaisAntigo != null ? ChronoUnit.DAYS.between(vencimentoMaisAntigo, hoje) : 0);
+        ultimaExecucao = resultado;
+        meterRegistry.timer(METRICA_EXECUCAO).record(duracao, TimeUnit.NANOSECONDS);
+        meterRegistry.counter(METRICA_CONTAS_ATUALIZADAS).increment(contasAtualizadas);
+
+        log.info("Contas atrasadas: {} atualizadas em {} lotes e {} ms, atraso restante de {} dias",
+                resultado.getContasAtualizadas(), resultado.getLotes(), resultado.getDuracaoMs(), resultado.getAtrasoDias());
+        return resultado;
+    }
+
+    public ResultadoAtualizacaoAtrasadas obterUltimaExecucao() {
+        return ultimaExecucao;
+    }
+
+    private ExecucaoFragmento executarNoFragmento(LocalDate hoje) {
+        int tamanhoLote = atrasadasProperties.getTamanhoLote();
+        long contasAtualizadas = 0;
+        int lotes = 0;
+        int processadas;
+        do {
+            processadas = transactionTemplate.execute(status -> {
+                List<Long> ids = contaRepository.bloquearPendentesVencidas(hoje, tamanhoLote);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                int atualizadas = contaRepository.marcarAtrasadas(ids, hoje);
+                eventPublisher.publishEvent(new ContasAlteradasEvent(ids));
+                return atualizadas;
+            });
+            contasAtualizadas += processadas;
+            lotes++;
+        } while (processadas == tamanhoLote);
+        return new ExecucaoFragmento(contasAtualizadas, lotes, contaRepository.obterVencimentoPendenteMaisAntigo(hoje));
+    }
+
+    private record ExecucaoFragmento(long contasAtualizadas, int lotes, LocalDate vencimentoMaisAntigo) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.rocksti.pagafacil.service;
+
+import com.rocksti.pagafacil.dto.Centavos;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.repository.ContaRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Chave que impede a importação repetida de uma conta. A migração {@code V7} a calculou para as contas já existentes e
+ * a importação a grava nas contas que cria; cadastros pela API não recebem chave.
+ */
+final class ChaveDeduplicacaoConta {
+
+    private ChaveDeduplicacaoConta() {
+    }
+
+    /**
+     * Mesma chave calculada pela migração {@code V7}: SHA-256 de {@code dataVencimento|valor|descricao}, com o valor sem
+     * zeros à direita.
+     */
+    static String calcular(MessageDigest digest, ContaEntity conta) {
+        String valor = conta.getValorCentavos() == null
+                ? ""
+                : Centavos.paraValor(conta.getValorCentavos()).stripTrailingZeros().toPlainString();
+        String descricao = conta.getDescricao() == null ? "" : conta.getDescricao();
+        String chave = conta.getDataVencimento() + "|" + valor + "|" + descricao;
+        return HexFormat.of().formatHex(digest.digest(chave.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Recalcula a chave das contas editadas que têm uma, depois de aplicados os novos valores e antes da gravação. Se
+     * outra conta já tem a nova chave, a editada fica sem chave: a outra continua impedindo a importação desses valores.
+     */
+    static void recalcular(Collection<ContaEntity> contas, ContaRepository contaRepository) {
+        MessageDigest digest = novoDigest();
+        Map<String, ContaEntity> novasChaves = new HashMap<>();
+        LocalDate vencimentoInicio = null;
+        LocalDate vencimentoFim = null;
+        for (ContaEntity conta : contas) {
+            if (conta.getChaveDeduplicacao() == null) {
+                continue;
+            }
+            String chave = calcular(digest, conta);
+            if (chave.equals(conta.getChaveDeduplicacao())) {
+                continue;
+            }
+            if (novasChaves.putIfAbsent(chave, conta) != null) {
+                conta.setChaveDeduplicacao(null);
+                continue;
+            }
+            LocalDate dataVencimento = conta.getDataVencimento();
+            vencimentoInicio = vencimentoInicio == null || dataVencimento.isBefore(vencimentoInicio) ? dataVencimento : vencimentoInicio;
+            vencimentoFim = vencimentoFim == null || dataVencimento.isAfter(vencimentoFim) ? dataVencimento : vencimentoFim;
+        }
+        if (novasChaves.isEmpty()) {
+            return;
+        }
+        contaRepository.buscarChavesDeduplicacao(novasChaves.keySet(), vencimentoInicio, vencimentoFim)
+                .forEach(chave -> novasChaves.remove(chave).setChaveDeduplicacao(null));
+        novasChaves.forEach((chave, conta) -> conta.setChaveDeduplicacao(chave));
+    }
+
+    static MessageDigest novoDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
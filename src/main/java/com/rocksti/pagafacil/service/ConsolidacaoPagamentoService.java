@@ -0,0 +1,167 @@
+package com.rocksti.pagafacil.service;
+
+import com.rocksti.pagafacil.dto.Centavos;
+import com.rocksti.pagafacil.dto.DeltaConsolidacao;
+import com.rocksti.pagafacil.dto.TotalPagamentoDiario;
+import com.rocksti.pagafacil.dto.response.DivergenciaConsolidacao;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.entity.PagamentoDiarioEntity;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.exception.BadRequestException;
+import com.rocksti.pagafacil.repository.ContaRepository;
+import com.rocksti.pagafacil.repository.PagamentoDiarioRepository;
+import com.rocksti.pagafacil.repository.ParticaoArquivadaRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Log4j2
+@Service
+public class ConsolidacaoPagamentoService {
+    private static final String PERIODO_INVALIDO = "Período inválido";
+    private static final String PERIODO_ARQUIVADO = "O período possui pagamentos de contas em partições arquivadas";
+
+    private final PagamentoDiarioRepository pagamentoDiarioRepository;
+    private final ContaRepository contaRepository;
+    private final ParticaoArquivadaRepository particaoArquivadaRepository;
+    private final TransactionTemplate novaTransacao;
+
+    public ConsolidacaoPagamentoService(PagamentoDiarioRepository pagamentoDiarioRepository,
+                                        ContaRepository contaRepository,
+                                        ParticaoArquivadaRepository particaoArquivadaRepository,
+                                        PlatformTransactionManager transactionManager) {
+        this.pagamentoDiarioRepository = pagamentoDiarioRepository;
+        this.contaRepository = contaRepository;
+        this.particaoArquivadaRepository = particaoArquivadaRepository;
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional
+    public void registrarAlteracao(SituacaoConta situacaoAnterior, LocalDate dataPagamentoAnterior,
+                                   Long valorAnterior, ContaEntity conta) {
+        aplicar(new DeltaConsolidacao().registrarAlteracao(situacaoAnterior, dataPagamentoAnterior, valorAnterior,
+                conta.getSituacao(), conta.getDataPagamento(), conta.getValorCentavos()));
+    }
+
+    @Transactional
+    public void aplicar(DeltaConsolidacao delta) {
+        delta.paraCadaDia((dataPagamento, valorCentavos, quantidade) -> {
+            if (valorCentavos != 0 || quantidade != 0) {
+                acumular(dataPagamento, valorCentavos, quantidade);
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public long obterCentavosPagosPorPeriodo(LocalDate dataInicio, LocalDate dataFim) {
+        Long resultado = pagamentoDiarioRepository.obterCentavosPorPeriodo(dataInicio, dataFim);
+
+        return resultado != null ? resultado : 0L;
+    }
+
+    @Transactional(readOnly = true)
+    public List<DivergenciaConsolidacao> verificar(LocalDate dataInicio, LocalDate dataFim) {
+        validarPeriodo(dataInicio, dataFim);
+        validarPeriodoNaoArquivado(dataInicio, dataFim);
+
+        Map<LocalDate, PagamentoDiarioEntity> consolidados = pagamentoDiarioRepository
+                .findByDataPagamentoBetween(dataInicio, dataFim).stream()
+                .collect(Collectors.toMap(PagamentoDiarioEntity::getDataPagamento, Function.identity()));
+        Map<LocalDate, TotalPagamentoDiario> apurados = contaRepository
+                .obterTotaisPagosPorDia(dataInicio, dataFim).stream()
+                .collect(Collectors.toMap(TotalPagamentoDiario::getDataPagamento, Function.identity()));
+
+        Map<LocalDate, DivergenciaConsolidacao> divergencias = new TreeMap<>();
+        consolidados.forEach((data, consolidado) -> {
+            TotalPagamentoDiario apurado = apurados.get(data);
+            long valorApurado = apurado != null ? apurado.getValorTotalCentavos() : 0L;
+            long quantidadeApurada = apurado != null ? apurado.getQuantidade() : 0;
+            if (consolidado.getValorTotalCentavos() != valorApurado || consolidado.getQuantidade() != quantidadeApurada) {
+                divergencias.put(data, new DivergenciaConsolidacao()
+                        .setDataPagamento(data)
+                        .setValorConsolidado(Centavos.paraValor(consolidado.getValorTotalCentavos()))
+                        .setQuantidadeConsolidada(consolidado.getQuantidade())
+                        .setValorApurado(Centavos.paraValor(valorApurado))
+                        .setQuantidadeApurada(quantidadeApurada));
+            }
+        });
+        apurados.forEach((data, apurado) -> {
+            if (!consolidados.containsKey(data)) {
+                divergencias.put(data, new DivergenciaConsolidacao()
+                        .setDataPagamento(data)
+                        .setValorConsolidado(Centavos.paraValor(0L))
+                        .setValorApurado(Centavos.paraValor(apurado.getValorTotalCentavos()))
+                        .setQuantidadeApurada(apurado.getQuantidade()));
+            }
+        });
+        return new ArrayList<>(divergencias.values());
+    }
+
+    @Transactional
+    public int reconstruir(LocalDate dataInicio, LocalDate dataFim) {
+        validarPeriodo(dataInicio, dataFim);
+        validarPeriodoNaoArquivado(dataInicio, dataFim);
+
+        pagamentoDiarioRepository.removerPorPeriodo(dataInicio, dataFim);
+        pagamentoDiarioRepository.flush();
+        List<PagamentoDiarioEntity> dias = contaRepository.obterTotaisPagosPorDia(dataInicio, dataFim).stream()
+                .map(total -> new PagamentoDiarioEntity()
+                        .setDataPagamento(total.getDataPagamento())
+                        .setValorTotalCentavos(total.getValorTotalCentavos())
+                        .setQuantidade(total.getQuantidade()))
+                .toList();
+        pagamentoDiarioRepository.saveAll(dias);
+
+        log.info("Consolidação de pagamentos reconstruída de {} a {}: {} dias", dataInicio, dataFim, dias.size());
+        return dias.size();
+    }
+
+    private void acumular(LocalDate dataPagamento, long valorCentavos, long quantidade) {
+        if (pagamentoDiarioRepository.acumular(dataPagamento, valorCentavos, quantidade) == 0) {
+            criarDia(dataPagamento);
+            pagamentoDiarioRepository.acumular(dataPagamento, valorCentavos, quantidade);
+        }
+    }
+
+    private void criarDia(LocalDate dataPagamento) {
+        try {
+            novaTransacao.executeWithoutResult(status -> {
+                if (!pagamentoDiarioRepository.existsById(dataPagamento)) {
+                    pagamentoDiarioRepository.saveAndFlush(new PagamentoDiarioEntity()
+                            .setDataPagamento(dataPagamento)
+                            .setValorTotalCentavos(0L)
+                            .setQuantidade(0));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Dia {} criado concorrentemente na consolidação de pagamentos", dataPagamento);
+        }
+    }
+
+    // as contas das partições arquivadas não estão mais em contas, mas seus pagamentos continuam consolidados
+    private void validarPeriodoNaoArquivado(LocalDate dataInicio, LocalDate dataFim) {
+        if (particaoArquivadaRepository.possuiPagamentosNoPeriodo(dataInicio, dataFim)) {
+            throw new BadRequestException(PERIODO_ARQUIVADO);
+        }
+    }
+
+    private static void validarPeriodo(LocalDate dataInicio, LocalDate dataFim) {
+        if (Objects.isNull(dataInicio) || Objects.isNull(dataFim) || dataInicio.isAfter(dataFim)) {
+            throw new BadRequestException(PERIODO_INVALIDO);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.rocksti.pagafacil.service;
+
+import com.rocksti.pagafacil.configuration.LoteProperties;
+import com.rocksti.pagafacil.dto.Centavos;
+import com.rocksti.pagafacil.dto.DeltaConsolidacao;
+import com.rocksti.pagafacil.dto.request.ContaLoteRequest;
+import com.rocksti.pagafacil.dto.request.ContaRequest;
+import com.rocksti.pagafacil.dto.response.ResultadoItemLote;
+import com.rocksti.pagafacil.dto.response.ResultadoOperacaoLote;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.enumeration.SituacaoItemLote;
+import com.rocksti.pagafacil.event.ContasAlteradasEvent;
+import com.rocksti.pagafacil.exception.BadRequestException;
+import com.rocksti.pagafacil.fragmentacao.RoteadorFragmentos;
+import com.rocksti.pagafacil.repository.ContaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Log4j2
+@RequiredArgsConstructor
+@Service
+public class ContaLoteService {
+    private static final String LOTE_VAZIO = "Nenhum item informado";
+    private static final String LOTE_MUITO_GRANDE = "Quantidade máxima de itens por requisição excedida";
+    private static final String ID_NAO_INFORMADO = "Id não informado";
+    private static final String CONTA_NAO_ENCONTRADA = "Conta não encontrada";
+    private static final String SITUACAO_NAO_INFORMADA = "Situação não informada";
+
+    private final ContaRepository contaRepository;
+    private final ConsolidacaoPagamentoService consolidacaoPagamentoService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LoteProperties loteProperties;
+    private final RoteadorFragmentos roteadorFragmentos;
+
+    public ResultadoOperacaoLote cadastrarContas(List<ContaRequest> contasRequest) {
+        validarTamanho(contasRequest);
+
+        List<ResultadoItemLote> itens = new ArrayList<>(contasRequest.size());
+        processarEmLotes(contasRequest, contaRequest -> null, contaRequest -> erroValor(contaRequest.getValor()), itens, lote -> {
+            List<ContaEntity> contas = contaRepository.saveAll(lote.stream()
+                    .map(contaRequest -> new ContaEntity()
+                            .setSituacao(SituacaoConta.PENDENTE)
+                            .setValorCentavos(Centavos.de(contaRequest.getValor()))
+                            .setDescricao(contaRequest.getDescricao())
+                            .setDataVencimento(contaRequest.getDataVencimento()))
+                    .toList());
+            eventPublisher.publishEvent(ContasAlteradasEvent.criadas(contas.stream().map(ContaEntity::getId).toList()));
+
+            List<ResultadoItemLote> resultados = new ArrayList<>(contas.size());
+            for (int i = 0; i < contas.size(); i++) {
+                resultados.add(item(i, contas.get(i).getId(), SituacaoItemLote.SUCESSO, null));
+            }
+            return resultados;
+        });
+        return ResultadoOperacaoLote.of(itens);
+    }
+
+    public ResultadoOperacaoLote atualizarContas(List<ContaLoteRequest> contasRequest) {
+        validarTamanho(contasRequest);
+
+        List<ResultadoItemLote> itens = new ArrayList<>(contasRequest.size());
+        processarEmLotes(contasRequest, ContaLoteRequest::getId, contaRequest -> erroValor(contaRequest.getValor()), itens, lote -> {
+            Map<Long, ContaEntity> existentes = contaRepository.bloquearPorIds(idsInformados(lote, ContaLoteRequest::getId))
+                    .stream()
+                    .collect(Collectors.toMap(ContaEntity::getId, Function.identity()));
+
+            DeltaConsolidacao delta = new DeltaConsolidacao();
+            List<ContaEntity> alteradas = new ArrayList<>(lote.size());
+            List<ResultadoItemLote> resultados = new ArrayList<>(lote.size());
+            for (int i = 0; i < lote.size(); i++) {
+                ContaLoteRequest contaRequest = lote.get(i);
+                ContaEntity conta = contaRequest.getId() != null ? existentes.get(contaRequest.getId()) : null;
+                if (conta == null) {
+                    resultados.add(itemNaoProcessado(i, contaRequest.getId()));
+                    continue;
+                }
+                Long valorAnterior = conta.getValorCentavos();
+                conta.setValorCentavos(Centavos.de(contaRequest.getValor()))
+                        .setDescricao(contaRequest.getDescricao())
+                        .setDataVencimento(contaRequest.getDataVencimento());
+                delta.registrarAlteracao(conta.getSituacao(), conta.getDataPagamento(), valorAnterior,
+                        conta.getSituacao(), conta.getDataPagamento(), conta.getValorCentavos());
+                alteradas.add(conta);
+                resultados.add(item(i, conta.getId(), SituacaoItemLote.SUCESSO, null));
+            }
+
+            ChaveDeduplicacaoConta.recalcular(alteradas, contaRepository);
+            contaRepository.saveAll(alteradas);
+            consolidacaoPagamentoService.aplicar(delta);
+            eventPublisher.publishEvent(new ContasAlteradasEvent(alteradas.stream().map(ContaEntity::getId).toList()));
+            return resultados;
+        });
+        return ResultadoOperacaoLote.of(itens);
+    }
+
+    public ResultadoOperacaoLote alterarSituacaoContas(List<Long> ids, SituacaoConta situacao) {
+        validarTamanho(ids);
+        if (situacao == null) {
+            throw new BadRequestException(SITUACAO_NAO_INFORMADA);
+        }
+
+        LocalDate dataPagamento = Objects.equals(situacao, SituacaoConta.PAGO) ? LocalDate.now() : null;
+        List<ResultadoItemLote> itens = new ArrayList<>(ids.size());
+        processarEmLotes(ids, Function.identity(), id -> null, itens, lote -> {
+            Map<Long, ContaEntity> existentes = contaRepository.bloquearPorIds(idsInformados(lote, Function.identity()))
+                    .stream()
+                    .collect(Collectors.toMap(ContaEntity::getId, Function.identity()));
+
+            DeltaConsolidacao delta = new DeltaConsolidacao();
+            existentes.values().forEach(conta -> delta.registrarAlteracao(conta.getSituacao(), conta.getDataPagamento(),
+                    conta.getValorCentavos(), situacao, dataPagamento, conta.getValorCentavos()));
+            if (!existentes.isEmpty()) {
+                contaRepository.alterarSituacao(existentes.keySet(), situacao, dataPagamento);
+                consolidacaoPagamentoService.aplicar(delta);
+                eventPublisher.publishEvent(new ContasAlteradasEvent(existentes.keySet()));
+            }
+
+            List<ResultadoItemLote> resultados = new ArrayList<>(lote.size());
+            for (int i = 0; i < lote.size(); i++) {
+                Long id = lote.get(i);
+                resultados.add(existentes.containsKey(id)
+                        ? item(i, id, SituacaoItemLote.SUCESSO, null)
+                        : itemNaoProcessado(i, id));
+            }
+            return resultados;
+        });
+        return ResultadoOperacaoLote.of(itens);
+    }
+
+    /**
+     * Divide os itens em lotes e, dentro de cada lote, separa os itens pelo fragmento da conta; cada grupo roda na sua
+     * transação, no seu fragmento. Itens recusados pela validação recebem o próprio erro antes da transação, sem
+     * derrubar o grupo. Os resultados voltam na ordem dos itens informados.
+     */
+    private <T> void processarEmLotes(List<T> itens, Function<T, Long> id, Function<T, String> validacao,
+                                      List<ResultadoItemLote> resultados, ProcessadorLote<T> processador) {
+        int tamanhoLote = loteProperties.getTamanho();
+        for (int inicio = 0; inicio < itens.size(); inicio += tamanhoLote) {
+            int inicioLote = inicio;
+            List<T> lote = itens.subList(inicio, Math.min(inicio + tamanhoLote, itens.size()));
+            ResultadoItemLote[] resultadosLote = new ResultadoItemLote[lote.size()];
+            Map<Integer, List<Integer>> posicoesPorFragmento = new TreeMap<>();
+            for (int i = 0; i < lote.size(); i++) {
+                T item = lote.get(i);
+                String erro = validacao.apply(item);
+                if (erro != null) {
+                    resultadosLote[i] = item(i, id.apply(item), SituacaoItemLote.ERRO, erro);
+                } else {
+                    posicoesPorFragmento.computeIfAbsent(roteadorFragmentos.fragmentoDaConta(id.apply(item)),
+                            fragmento -> new ArrayList<>()).add(i);
+                }
+            }
+
+            posicoesPorFragmento.forEach((fragmento, posicoes) -> {
+                List<T> grupo = posicoes.stream().map(lote::get).toList();
+                try {
+                    roteadorFragmentos.executarNoFragmento(fragmento, () -> transactionTemplate.execute(status -> processador.processar(grupo)))
+                            .forEach(resultado -> resultadosLote[posicoes.get(resultado.getIndice())] = resultado);
+                } catch (RuntimeException e) {
+                    log.error("Falha ao processar o lote iniciado no item {} no fragmento {}", inicioLote + posicoes.get(0), fragmento, e);
+                    posicoes.forEach(posicao -> resultadosLote[posicao] = item(posicao, null, SituacaoItemLote.ERRO, e.getMessage()));
+                }
+            });
+            for (int i = 0; i < resultadosLote.length; i++) {
+                resultados.add(resultadosLote[i].setIndice(inicio + i));
+            }
+        }
+    }
+
+    private void validarTamanho(List<?> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new BadRequestException(LOTE_VAZIO);
+        }
+        if (itens.size() > loteProperties.getMaximoItens()) {
+            throw new BadRequestException(LOTE_MUITO_GRANDE);
+        }
+    }
+
+    private static String erroValor(BigDecimal valor) {
+        try {
+            Centavos.de(valor);
+            return null;
+        } catch (BadRequestException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static <T> Set<Long> idsInformados(List<T> lote, Function<T, Long> id) {
+        return lote.stream()
+                .map(id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static ResultadoItemLote itemNaoProcessado(int indice, Long id) {
+        return id == null
+                ? item(indice, null, SituacaoItemLote.ERRO, ID_NAO_INFORMADO)
+                : item(indice, id, SituacaoItemLote.NAO_ENCONTRADA, CONTA_NAO_ENCONTRADA);
+    }
+
+    private static ResultadoItemLote item(int indice, Long id, SituacaoItemLote situacao, String mensagem) {
+        return new ResultadoItemLote()
+                .setIndice(indice)
+                .setId(id)
+                .setSituacao(situacao)
+                .setMensagem(mensagem);
+    }
+
+    @FunctionalInterface
+    private interface ProcessadorLote<T> {
+        List<ResultadoItemLote> processar(List<T> lote);
+    }
+}
@@ -0,0 +1,44 @@
+package com.rocksti.pagafacil.service;
+
+import com.rocksti.pagafacil.dto.Centavos;
+import com.rocksti.pagafacil.dto.filtro.CursorConta;
+import com.rocksti.pagafacil.dto.filtro.FiltroPesquisaConta;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.exception.BadRequestException;
+import com.rocksti.pagafacil.repository.ContaReativaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@Service
+@ConditionalOnProperty(name = "pagafacil.reativo.habilitado", havingValue = "true")
+public class ContaReativaService {
+    private static final String TAMANHO_PAGINA_INVALIDO = "Tamanho de página inválido";
+    private static final String PERIODO_INVALIDO = "Período inválido";
+    private static final int TAMANHO_MAXIMO_PAGINA = 1000;
+
+    private final ContaReativaRepository contaReativaRepository;
+
+    public Flux<ContaResponse> buscarContasAPagar(String cursor, int tamanho, FiltroPesquisaConta filtro) {
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+            throw new BadRequestException(TAMANHO_PAGINA_INVALIDO);
+        }
+        CursorConta cursorConta = cursor != null && !cursor.isBlank() ? CursorConta.decodificar(cursor) : null;
+        return contaReativaRepository.buscarContasAPagar(filtro, cursorConta, tamanho);
+    }
+
+    public Mono<Map<String, BigDecimal>> obterValorTotalPagoPorPeriodo(LocalDate dataInicio, LocalDate dataFim) {
+        if (dataInicio == null || dataFim == null || dataInicio.isAfter(dataFim)) {
+            throw new BadRequestException(PERIODO_INVALIDO);
+        }
+        return contaReativaRepository.obterCentavosPagosPorPeriodo(dataInicio, dataFim)
+                .map(centavosPagos -> Map.of("valorTotalPago", Centavos.paraValor(centavosPagos)));
+    }
+}
@@ -1,109 +1,241 @@
 package com.rocksti.pagafacil.service;
 
-import com.opencsv.bean.CsvToBean;
-import com.opencsv.bean.CsvToBeanBuilder;
-import com.opencsv.bean.HeaderColumnNameMappingStrategy;
-import com.rocksti.pagafacil.dto.ContaCsvDto;
+import com.rocksti.pagafacil.cache.ContaCache;
+import com.rocksti.pagafacil.dto.Centavos;
+import com.rocksti.pagafacil.dto.EtagConta;
+import com.rocksti.pagafacil.dto.VersaoConta;
+import com.rocksti.pagafacil.dto.filtro.CursorConta;
 import com.rocksti.pagafacil.dto.filtro.FiltroPesquisaConta;
 import com.rocksti.pagafacil.dto.request.ContaRequest;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.dto.response.PaginaCursor;
+import com.rocksti.pagafacil.dto.response.ResultadoImportacao;
 import com.rocksti.pagafacil.entity.ContaEntity;
 import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.event.ContasAlteradasEvent;
 import com.rocksti.pagafacil.exception.BadRequestException;
 import com.rocksti.pagafacil.exception.NotFoundException;
+import com.rocksti.pagafacil.exception.PreconditionFailedException;
+import com.rocksti.pagafacil.fragmentacao.RoteadorFragmentos;
+import com.rocksti.pagafacil.pesquisa.PesquisaDescricaoConta;
 import com.rocksti.pagafacil.repository.ContaRepository;
+import com.rocksti.pagafacil.repository.specification.ContaSpecifications;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.support.PropertyComparator;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+@Timed(value = "pagafacil.conta.servico", description = "Operações de ContaService", histogram = true)
 @RequiredArgsConstructor
 @Service
 public class ContaService {
     private static final String CONTA_NAO_ENCONTRADA = "Conta não encontrada";
     private static final String ERRO_AO_IMPORTAR_CSV = "Erro ao importar CSV";
+    private static final String TAMANHO_PAGINA_INVALIDO = "Tamanho de página inválido";
+    private static final String VERSAO_DIVERGENTE = "A conta foi alterada desde a versão informada";
+    private static final int TAMANHO_MAXIMO_PAGINA = 1000;
 
     private final ContaRepository contaRepository;
-
+    private final ImportacaoContaService importacaoContaService;
+    private final ConsolidacaoPagamentoService consolidacaoPagamentoService;
+    private final ContaCache contaCache;
+    private final PesquisaDescricaoConta pesquisaDescricaoConta;
+    private final RoteadorFragmentos roteadorFragmentos;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
     public ContaEntity cadastrarConta(ContaRequest contaRequest) {
-        ContaEntity novaConta = new ContaEntity()
-                .setSituacao(SituacaoConta.PENDENTE)
-                .setValor(contaRequest.getValor())
-                .setDescricao(contaRequest.getDescricao())
-                .setDataVencimento(contaRequest.getDataVencimento());
+        roteadorFragmentos.usarProximoFragmento();
+        ContaEntity contaCadastrada = contaRepository.save(novaConta(contaRequest));
+        eventPublisher.publishEvent(ContasAlteradasEvent.criadas(List.of(contaCadastrada.getId())));
+        return contaCadastrada;
+    }
 
-        return contaRepository.save(novaConta);
+    @Transactional
+    public List<ContaEntity> cadastrarContas(List<ContaRequest> contasRequest) {
+        roteadorFragmentos.usarProximoFragmento();
+        List<ContaEntity> contasCadastradas = contaRepository.saveAll(contasRequest.stream().map(ContaService::novaConta).toList());
+        eventPublisher.publishEvent(ContasAlteradasEvent.criadas(contasCadastradas.stream().map(ContaEntity::getId).toList()));
+        return contasCadastradas;
     }
 
+    @Transactional
     public ContaEntity atualizarConta(Long id, ContaRequest contaRequest) {
+        return atualizarConta(id, contaRequest, null);
+    }
+
+    @Transactional
+    public ContaEntity atualizarConta(Long id, ContaRequest contaRequest, Long versaoEsperada) {
+        roteadorFragmentos.usarFragmentoDaConta(id);
         return contaRepository.findById(id)
                 .map(contaExistente -> {
-                    contaExistente.setValor(contaRequest.getValor());
+                    validarVersao(contaExistente, versaoEsperada);
+                    Long valorAnterior = contaExistente.getValorCentavos();
+                    contaExistente.setValorCentavos(Centavos.de(contaRequest.getValor()));
                     contaExistente.setDescricao(contaRequest.getDescricao());
                     contaExistente.setDataVencimento(contaRequest.getDataVencimento());
-                    return contaRepository.save(contaExistente);
+                    ChaveDeduplicacaoConta.recalcular(List.of(contaExistente), contaRepository);
+                    ContaEntity contaAtualizada = contaRepository.save(contaExistente);
+                    consolidacaoPagamentoService.registrarAlteracao(contaAtualizada.getSituacao(),
+                            contaAtualizada.getDataPagamento(), valorAnterior, contaAtualizada);
+                    eventPublisher.publishEvent(ContasAlteradasEvent.of(id));
+                    return contaAtualizada;
                 })
                 .orElseThrow(() -> new NotFoundException(CONTA_NAO_ENCONTRADA));
     }
 
+    @Transactional
     public ContaEntity alterarSituacaoConta(Long id, SituacaoConta situacao) {
+        return alterarSituacaoConta(id, situacao, null);
+    }
+
+    @Transactional
+    public ContaEntity alterarSituacaoConta(Long id, SituacaoConta situacao, Long versaoEsperada) {
+        roteadorFragmentos.usarFragmentoDaConta(id);
         return contaRepository.findById(id)
                 .map(contaExistente -> {
+                    validarVersao(contaExistente, versaoEsperada);
+                    SituacaoConta situacaoAnterior = contaExistente.getSituacao();
+                    LocalDate dataPagamentoAnterior = contaExistente.getDataPagamento();
                     contaExistente.setSituacao(situacao);
                     contaExistente.setDataPagamento(Objects.equals(situacao, SituacaoConta.PAGO)
                             ? LocalDate.now()
                             : null);
-                    return contaRepository.save(contaExistente);
+                    ContaEntity contaAlterada = contaRepository.save(contaExistente);
+                    consolidacaoPagamentoService.registrarAlteracao(situacaoAnterior, dataPagamentoAnterior,
+                            contaAlterada.getValorCentavos(), contaAlterada);
+                    eventPublisher.publishEvent(ContasAlteradasEvent.of(id));
+                    return contaAlterada;
                 })
                 .orElseThrow(() -> new NotFoundException(CONTA_NAO_ENCONTRADA));
     }
 
-    public Page<ContaEntity> buscarContasAPagar(Pageable pageable, FiltroPesquisaConta filtro) {
-        return contaRepository.findByAPagarComFiltro(pageable,
-                filtro.getDataVencimento(),
-                filtro.getDescricao());
+    @Transactional(readOnly = true)
+    public Page<ContaResponse> buscarContasAPagar(Pageable pageable, FiltroPesquisaConta filtro) {
+        if (pesquisaPorRelevancia(pageable, filtro)) {
+            return pesquisaDescricaoConta.pesquisar(filtro, pageable);
+        }
+        if (roteadorFragmentos.isFragmentado()) {
+            return roteadorFragmentos.paginar(pageable,
+                    primeiros -> contaRepository.buscarProjecoes(ContaSpecifications.aPagar(filtro), primeiros),
+                    ordem(pageable.getSort()));
+        }
+        return contaRepository.buscarProjecoes(ContaSpecifications.aPagar(filtro), pageable);
     }
 
-    public ContaEntity buscarContaPorId(Long id) {
-        return contaRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException(CONTA_NAO_ENCONTRADA));
+    @Transactional(readOnly = true)
+    public String obterEtagContasAPagar(Pageable pageable, FiltroPesquisaConta filtro) {
+        if (roteadorFragmentos.isFragmentado() || pesquisaPorRelevancia(pageable, filtro)) {
+            return EtagConta.daPagina(buscarContasAPagar(pageable, filtro).map(VersaoConta::of));
+        }
+        return EtagConta.daPagina(contaRepository.buscarVersoes(ContaSpecifications.aPagar(filtro), pageable));
     }
 
-    public Map<String, BigDecimal> obterValorTotalPagoPorPeriodo(LocalDate dataInicio, LocalDate dataFim) {
-        BigDecimal resultado = contaRepository.obterValorTotalPagoPorPeriodo(dataInicio, dataFim);
+    @Transactional(readOnly = true)
+    public PaginaCursor<ContaResponse> buscarContasAPagarPorCursor(String cursor, int tamanho, FiltroPesquisaConta filtro) {
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+            throw new BadRequestException(TAMANHO_PAGINA_INVALIDO);
+        }
 
-        return Map.of("valorTotalPago", resultado != null ? resultado : BigDecimal.ZERO);
+        Specification<ContaEntity> specification = cursor != null && !cursor.isBlank()
+                ? ContaSpecifications.aPagar(filtro).and(ContaSpecifications.aposCursor(CursorConta.decodificar(cursor)))
+                : ContaSpecifications.aPagar(filtro);
+
+        // a ordem (dataVencimento, id) é total entre os fragmentos, então o mesmo cursor posiciona a leitura em cada um
+        List<ContaResponse> contas = roteadorFragmentos.isFragmentado()
+                ? roteadorFragmentos.consultarTodos(() -> contaRepository.buscarProjecoes(specification, ContaSpecifications.ORDEM_CURSOR, tamanho + 1)).stream()
+                        .flatMap(List::stream)
+                        .sorted(ordem(ContaSpecifications.ORDEM_CURSOR))
+                        .limit(tamanho + 1L)
+                        .toList()
+                : contaRepository.buscarProjecoes(specification, ContaSpecifications.ORDEM_CURSOR, tamanho + 1);
+
+        boolean possuiMais = contas.size() > tamanho;
+        List<ContaResponse> conteudo = possuiMais ? contas.subList(0, tamanho) : contas;
+        ContaResponse ultima = conteudo.isEmpty() ? null : conteudo.get(conteudo.size() - 1);
+
+        return new PaginaCursor<ContaResponse>()
+                .setConteudo(conteudo)
+                .setTamanho(conteudo.size())
+                .setProximoCursor(possuiMais
+                        ? new CursorConta(ultima.getDataVencimento(), ultima.getId()).codificar()
+                        : null);
     }
 
-    public List<ContaEntity> importarContas(MultipartFile fileCsv) {
-        try (InputStreamReader reader = new InputStreamReader(fileCsv.getInputStream())) {
-            HeaderColumnNameMappingStrategy<ContaCsvDto> strategy = new HeaderColumnNameMappingStrategy<>();
-            strategy.setType(ContaCsvDto.class);
+    @Transactional(readOnly = true)
+    public ContaResponse buscarContaPorId(Long id) {
+        roteadorFragmentos.usarFragmentoDaConta(id);
+        return contaCache.buscar(id, contaRepository::buscarProjecaoPorId)
+                .orElseThrow(() -> new NotFoundException(CONTA_NAO_ENCONTRADA));
+    }
 
-            CsvToBean<ContaCsvDto> csvToBean = new CsvToBeanBuilder<ContaCsvDto>(reader)
-                    .withMappingStrategy(strategy)
-                    .withIgnoreLeadingWhiteSpace(true)
-                    .build();
+    @Transactional(readOnly = true)
+    public String obterEtagConta(Long id) {
+        roteadorFragmentos.usarFragmentoDaConta(id);
+        Long versao = contaCache.obterSePresente(id)
+                .map(ContaResponse::getVersao)
+                .or(() -> contaRepository.obterVersao(id))
+                .orElseThrow(() -> new NotFoundException(CONTA_NAO_ENCONTRADA));
+        return EtagConta.daVersao(versao);
+    }
 
-            List<ContaEntity> contas = csvToBean.parse().stream()
-                    .map(contaCsvDto -> new ContaEntity()
-                            .setSituacao(SituacaoConta.PENDENTE)
-                            .setDescricao(contaCsvDto.getDescricao())
-                            .setValor(contaCsvDto.getValor())
-                            .setDataVencimento(contaCsvDto.getDataVencimento()))
-                    .toList();
+    public Map<String, BigDecimal> obterValorTotalPagoPorPeriodo(LocalDate dataInicio, LocalDate dataFim) {
+        long centavosPagos = roteadorFragmentos
+                .consultarTodos(() -> consolidacaoPagamentoService.obterCentavosPagosPorPeriodo(dataInicio, dataFim))
+                .stream()
+                .mapToLong(Long::longValue)
+                .reduce(0L, Math::addExact);
+        return Map.of("valorTotalPago", Centavos.paraValor(centavosPagos));
+    }
 
-            return contaRepository.saveAll(contas);
+    public ResultadoImportacao importarContas(MultipartFile fileCsv) {
+        try (InputStream entrada = fileCsv.getInputStream()) {
+            return importacaoContaService.importar(entrada);
         } catch (IllegalStateException | IOException e) {
             throw new BadRequestException(ERRO_AO_IMPORTAR_CSV, e);
         }
     }
+
+    private static void validarVersao(ContaEntity conta, Long versaoEsperada) {
+        if (versaoEsperada != null && !versaoEsperada.equals(conta.getVersao())) {
+            throw new PreconditionFailedException(VERSAO_DIVERGENTE);
+        }
+    }
+
+    private static boolean pesquisaPorRelevancia(Pageable pageable, FiltroPesquisaConta filtro) {
+        return StringUtils.hasLength(filtro.getDescricao()) && pageable.getSort().isUnsorted();
+    }
+
+    private static Comparator<ContaResponse> ordem(Sort sort) {
+        Comparator<ContaResponse> ordem = (conta, outra) -> 0;
+        for (Sort.Order order : sort) {
+            ordem = ordem.thenComparing(new PropertyComparator<>(order.getProperty(), order.isIgnoreCase(), order.isAscending()));
+        }
+        return ordem.thenComparing(ContaResponse::getId);
+    }
+
+    private static ContaEntity novaConta(ContaRequest contaRequest) {
+        return new ContaEntity()
+                .setSituacao(SituacaoConta.PENDENTE)
+                .setValorCentavos(Centavos.de(contaRequest.getValor()))
+                .setDescricao(contaRequest.getDescricao())
+                .setDataVencimento(contaRequest.getDataVencimento());
+    }
 }
@@ -0,0 +1,228 @@
+package com.rocksti.pagafacil.service;
+
+import com.rocksti.pagafacil.configuration.EventosProperties;
+import com.rocksti.pagafacil.dto.response.EventoContaResponse;
+import com.rocksti.pagafacil.event.ContasAlteradasEvent;
+import com.rocksti.pagafacil.exception.TooManyRequestsException;
+import com.rocksti.pagafacil.fragmentacao.RoteadorFragmentos;
+import com.rocksti.pagafacil.repository.EventoContaRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registra na tabela {@code eventos_contas}, na mesma transação da escrita, um evento por conta alterada, e entrega
+ * esses eventos aos assinantes por server-sent events a partir de uma posição informada.
+ * <p>
+ * Cada assinante tem uma thread própria que lê no máximo {@code tamanhoLote} eventos por vez e só busca os próximos
+ * depois de enviá-los; um cliente lento bloqueia apenas a sua thread, sem acumular eventos em memória. Ids pulados são
+ * acompanhados por {@link LacunasEventos}.
+ * <p>
+ * Com fragmentação, cada fragmento grava os eventos das suas contas na sua tabela, com a sua sequência; a assinatura
+ * acompanha uma posição e as lacunas de cada fragmento, e o id enviado é a {@link PosicaoEventos} de todos eles.
+ */
+@Log4j2
+@Service
+@ConditionalOnProperty(name = "pagafacil.eventos.habilitado", havingValue = "true")
+public class EventoContaService {
+    private static final String LIMITE_ASSINANTES = "Limite de assinantes de eventos atingido, tente novamente mais tarde";
+    private static final String NOME_EVENTO = "conta";
+
+    private final EventoContaRepository eventoContaRepository;
+    private final EventosProperties eventosProperties;
+    private final RoteadorFragmentos roteadorFragmentos;
+    private final ThreadPoolExecutor executor;
+    private final Object novosEventos = new Object();
+
+    public EventoContaService(EventoContaRepository eventoContaRepository, EventosProperties eventosProperties,
+                              RoteadorFragmentos roteadorFragmentos) {
+        this.eventoContaRepository = eventoContaRepository;
+        this.eventosProperties = eventosProperties;
+        this.roteadorFragmentos = roteadorFragmentos;
+
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                eventosProperties.getMaximoAssinantes(),
+                eventosProperties.getMaximoAssinantes(),
+                0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "eventos-contas-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(ContasAlteradasEvent event) {
+        if (!event.getIds().isEmpty()) {
+            eventoContaRepository.registrar(event.getIds(), LocalDateTime.now());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoConfirmarAlteracao(ContasAlteradasEvent event) {
+        synchronized (novosEventos) {
+            novosEventos.notifyAll();
+        }
+    }
+
+    /**
+     * Sem posição informada, a assinatura começa no evento mais recente e recebe apenas os próximos.
+     */
+    public SseEmitter assinar(String posicao) {
+        SseEmitter emitter = new SseEmitter(eventosProperties.getDuracaoMaximaConexao().toMillis());
+        Assinatura assinatura = new Assinatura(emitter, posicao);
+        emitter.onCompletion(assinatura::encerrar);
+        emitter.onTimeout(assinatura::encerrar);
+        emitter.onError(erro -> assinatura.encerrar());
+        try {
+            executor.execute(assinatura);
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException(LIMITE_ASSINANTES);
+        }
+        return emitter;
+    }
+
+    @Transactional
+    public int removerExpirados() {
+        int removidos = eventoContaRepository.removerAnteriores(LocalDateTime.now().minus(eventosProperties.getRetencao()));
+        log.info("Eventos de contas removidos: {}", removidos);
+        return removidos;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private final class Assinatura implements Runnable {
+        private final SseEmitter emitter;
+        private final long[] posicoes;
+        private final LacunasEventos[] lacunas;
+        private long ultimoEnvioNanos = System.nanoTime();
+        private volatile boolean ativa = true;
+
+        private Assinatura(SseEmitter emitter, String posicao) {
+            this.emitter = emitter;
+            this.lacunas = new LacunasEventos[roteadorFragmentos.getQuantidade()];
+            for (int fragmento = 0; fragmento < lacunas.length; fragmento++) {
+                lacunas[fragmento] = new LacunasEventos(
+                        eventosProperties.getEsperaLacuna().toNanos(),
+                        eventosProperties.getEsperaMaximaLacuna().toNanos(),
+                        eventosProperties.getMaximoLacunas(),
+                        System::nanoTime);
+            }
+            this.posicoes = posicao != null
+                    ? PosicaoEventos.decodificar(posicao, lacunas, eventosProperties.getMaximoLacunas())
+                    : roteadorFragmentos.executarEmCada(eventoContaRepository::obterUltimoId).stream().mapToLong(Long::longValue).toArray();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (ativa && !Thread.currentThread().isInterrupted()) {
+                    if (enviarProximos() == 0) {
+                        aguardarNovosEventos();
+                    }
+                }
+            } catch (IOException e) {
+                log.debug("Assinante de eventos desconectado na posição {}: {}", PosicaoEventos.codificar(posicoes, lacunas), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Falha ao entregar eventos de contas a partir da posição {}", PosicaoEventos.codificar(posicoes, lacunas), e);
+                emitter.completeWithError(e);
+                return;
+            }
+            emitter.complete();
+        }
+
+        private int enviarProximos() throws IOException {
+            int enviados = 0;
+            for (int fragmento = 0; fragmento < posicoes.length; fragmento++) {
+                enviados += enviarAtrasados(fragmento) + enviarProximos(fragmento);
+            }
+            if (enviados > 0) {
+                ultimoEnvioNanos = System.nanoTime();
+            }
+            return enviados;
+        }
+
+        private int enviarProximos(int fragmento) throws IOException {
+            long posicao = posicoes[fragmento];
+            List<EventoContaResponse> eventos = roteadorFragmentos.executarNoFragmento(fragmento,
+                    () -> eventoContaRepository.buscarApos(posicao, PageRequest.of(0, eventosProperties.getTamanhoLote())));
+            int enviados = 0;
+            for (EventoContaResponse evento : eventos) {
+                // um id pulado pode ser de uma transação ainda não confirmada; espera por ela antes de seguir
+                if (evento.getId() != posicoes[fragmento] + 1 && lacunas[fragmento].aguardar(posicoes[fragmento], evento.getId())) {
+                    break;
+                }
+                // a posição enviada junto do evento já não pode listá-lo entre as lacunas
+                posicoes[fragmento] = evento.getId();
+                lacunas[fragmento].entregue(evento.getId());
+                enviar(evento);
+                enviados++;
+            }
+            return enviados;
+        }
+
+        /**
+         * Entrega os eventos de lacunas já ultrapassadas cujas transações confirmaram depois da espera. Levam a posição
+         * atual como id, para que uma reconexão não volte atrás; as lacunas ainda abertas seguem nessa posição.
+         */
+        private int enviarAtrasados(int fragmento) throws IOException {
+            List<Long> pendentes = lacunas[fragmento].pendentes(posicoes[fragmento], eventosProperties.getTamanhoLote());
+            if (pendentes.isEmpty()) {
+                return 0;
+            }
+            List<EventoContaResponse> atrasados = roteadorFragmentos.executarNoFragmento(fragmento,
+                    () -> eventoContaRepository.buscarPorIds(pendentes));
+            for (EventoContaResponse evento : atrasados) {
+                lacunas[fragmento].entregue(evento.getId());
+                enviar(evento);
+            }
+            return atrasados.size();
+        }
+
+        private void enviar(EventoContaResponse evento) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(PosicaoEventos.codificar(posicoes, lacunas))
+                    .name(NOME_EVENTO)
+                    .data(evento));
+        }
+
+        private void aguardarNovosEventos() throws IOException, InterruptedException {
+            synchronized (novosEventos) {
+                novosEventos.wait(eventosProperties.getIntervaloConsulta().toMillis());
+            }
+            if (System.nanoTime() - ultimoEnvioNanos >= eventosProperties.getIntervaloKeepAlive().toNanos()) {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+                ultimoEnvioNanos = System.nanoTime();
+            }
+        }
+
+        private void encerrar() {
+            ativa = false;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.rocksti.pagafacil.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.opencsv.CSVWriter;
+import com.opencsv.ICSVWriter;
+import com.rocksti.pagafacil.configuration.ExportacaoProperties;
+import com.rocksti.pagafacil.dto.filtro.FiltroExportacaoConta;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.enumeration.FormatoExportacao;
+import com.rocksti.pagafacil.exception.BadRequestException;
+import com.rocksti.pagafacil.fragmentacao.RoteadorFragmentos;
+import com.rocksti.pagafacil.repository.ContaExportacaoRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Log4j2
+@Service
+public class ExportacaoContaService {
+    private static final String PERIODO_INVALIDO = "Período inválido";
+    private static final String ERRO_AO_ESCREVER_EXPORTACAO = "Erro ao escrever a exportação";
+    private static final String[] CABECALHO_CSV = {"dataVencimento", "descricao", "valor", "id", "situacao", "dataPagamento"};
+
+    private final ContaExportacaoRepository contaExportacaoRepository;
+    private final ExportacaoProperties exportacaoProperties;
+    private final ObjectMapper objectMapper;
+    private final RoteadorFragmentos roteadorFragmentos;
+    private final TransactionTemplate transacaoSomenteLeitura;
+
+    public ExportacaoContaService(ContaExportacaoRepository contaExportacaoRepository,
+                                  ExportacaoProperties exportacaoProperties,
+                                  ObjectMapper objectMapper,
+                                  RoteadorFragmentos roteadorFragmentos,
+                                  PlatformTransactionManager transactionManager) {
+        this.contaExportacaoRepository = contaExportacaoRepository;
+        this.exportacaoProperties = exportacaoProperties;
+        this.objectMapper = objectMapper;
+        this.roteadorFragmentos = roteadorFragmentos;
+        this.transacaoSomenteLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoSomenteLeitura.setReadOnly(true);
+    }
+
+    public void validar(FiltroExportacaoConta filtro) {
+        validarPeriodo(filtro.getDataVencimentoInicio(), filtro.getDataVencimentoFim());
+        validarPeriodo(filtro.getDataPagamentoInicio(), filtro.getDataPagamentoFim());
+    }
+
+    public long exportar(FiltroExportacaoConta filtro, FormatoExportacao formato, OutputStream saida) throws IOException {
+        validar(filtro);
+        long inicio = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), exportacaoProperties.getTamanhoBuffer());
+
+        long linhas = formato == FormatoExportacao.CSV ? exportarCsv(filtro, writer) : exportarNdjson(filtro, writer);
+        writer.flush();
+
+        log.info("Exportação {} concluída: {} contas em {} ms", formato, linhas,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        return linhas;
+    }
+
+    private long exportarCsv(FiltroExportacaoConta filtro, Writer writer) {
+        ICSVWriter csvWriter = new CSVWriter(writer);
+        csvWriter.writeNext(CABECALHO_CSV, false);
+        int intervaloVerificacao = exportacaoProperties.getTamanhoFetch();
+        AtomicLong escritas = new AtomicLong();
+        return percorrer(filtro, conta -> {
+            csvWriter.writeNext(new String[]{
+                    conta.getDataVencimento().toString(),
+                    conta.getDescricao(),
+                    conta.getValor().toPlainString(),
+                    conta.getId().toString(),
+                    conta.getSituacao().name(),
+                    Objects.toString(conta.getDataPagamento(), "")
+            }, false);
+            // o CSVWriter engole IOException, então a desconexão do cliente só é percebida ao verificar o erro
+            if (escritas.incrementAndGet() % intervaloVerificacao == 0 && csvWriter.checkError()) {
+                throw new UncheckedIOException(new IOException(ERRO_AO_ESCREVER_EXPORTACAO));
+            }
+        });
+    }
+
+    private long exportarNdjson(FiltroExportacaoConta filtro, Writer writer) throws IOException {
+        SequenceWriter sequenceWriter = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(writer);
+        long linhas = percorrer(filtro, conta -> {
+            try {
+                sequenceWriter.write(conta);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        sequenceWriter.flush();
+        if (linhas > 0) {
+            writer.write('\n');
+        }
+        return linhas;
+    }
+
+    /**
+     * Com fragmentação, percorre um fragmento após o outro, cada um no seu cursor e na sua transação, na thread que
+     * escreve a resposta; as contas saem agrupadas por fragmento.
+     */
+    private long percorrer(FiltroExportacaoConta filtro, Consumer<ContaResponse> escritor) {
+        AtomicLong linhas = new AtomicLong();
+        for (int fragmento = 0; fragmento < roteadorFragmentos.getQuantidade(); fragmento++) {
+            roteadorFragmentos.executarNoFragmento(fragmento, () -> transacaoSomenteLeitura.execute(status -> {
+                contaExportacaoRepository.percorrer(filtro, conta -> {
+                    escritor.accept(conta);
+                    linhas.incrementAndGet();
+                });
+                return null;
+            }));
+        }
+        return linhas.get();
+    }
+
+    private static void validarPeriodo(LocalDate inicio, LocalDate fim) {
+        if (inicio != null && fim != null && inicio.isAfter(fim)) {
+            throw new BadRequestException(PERIODO_INVALIDO);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.rocksti.pagafacil.service;
+
+import com.rocksti.pagafacil.configuration.ImportacaoProperties;
+import com.rocksti.pagafacil.csv.ContaCsvParser;
+import com.rocksti.pagafacil.dto.Centavos;
+import com.rocksti.pagafacil.dto.ContaCsvDto;
+import com.rocksti.pagafacil.dto.response.ResultadoImportacao;
+import com.rocksti.pagafacil.dto.response.ResultadoLote;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.entity.ImportacaoArquivoEntity;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.event.ContasAlteradasEvent;
+import com.rocksti.pagafacil.repository.ContaRepository;
+import com.rocksti.pagafacil.repository.ImportacaoArquivoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Log4j2
+@RequiredArgsConstructor
+@Service
+public class ImportacaoContaService {
+    private static final String METRICA_LINHAS = "pagafacil.importacao.linhas";
+    private static final String METRICA_ARQUIVOS_REPETIDOS = "pagafacil.importacao.arquivos.repetidos";
+    private static final int TAMANHO_BUFFER_CHECKSUM = 1024 * 1024;
+
+    private final ContaRepository contaRepository;
+    private final ImportacaoArquivoRepository importacaoArquivoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ImportacaoProperties importacaoProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContaCsvParser contaCsvParser;
+    private final MeterRegistry meterRegistry;
+
+    public ResultadoImportacao importar(InputStream entrada) throws IOException {
+        Files.createDirectories(importacaoProperties.getDiretorio());
+        Path arquivo = Files.createTempFile(importacaoProperties.getDiretorio(), "importacao-", ".csv");
+        try {
+            Files.copy(entrada, arquivo, StandardCopyOption.REPLACE_EXISTING);
+            return importar(arquivo, ProgressoImportacao.NENHUM);
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    public ResultadoImportacao importar(Path arquivo, ProgressoImportacao progresso) throws IOException {
+        long inicio = System.nanoTime();
+        String checksum = calcularChecksum(arquivo);
+        if (importacaoArquivoRepository.existsById(checksum)) {
+            meterRegistry.counter(METRICA_ARQUIVOS_REPETIDOS).increment();
+            log.info("Arquivo {} já importado, importação ignorada", checksum);
+            return new ResultadoImportacao()
+                    .setChecksum(checksum)
+                    .setArquivoJaImportado(true)
+                    .setDuracaoMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        }
+
+        AtomicLong linhasInvalidas = new AtomicLong();
+        ResultadoImportacao resultado = new ResultadoImportacao().setChecksum(checksum);
+
+        int tamanhoLote = importacaoProperties.getTamanhoLote();
+        List<ContaEntity> lote = new ArrayList<>(tamanhoLote);
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            contaCsvParser.ler(canal, contaCsvDto -> {
+                lote.add(paraEntidade(contaCsvDto));
+                if (lote.size() == tamanhoLote) {
+                    gravarLote(lote, resultado);
+                    lote.clear();
+                    progresso.atualizar(resultado.getLinhasImportadas(), resultado.getLinhasComFalha() + linhasInvalidas.get());
+                }
+            }, linhaInvalida -> {
+                linhasInvalidas.incrementAndGet();
+                log.warn("Linha {} ignorada na importação: {}", linhaInvalida.getLinha(), linhaInvalida.getMensagem());
+            });
+        }
+        if (!lote.isEmpty()) {
+            gravarLote(lote, resultado);
+        }
+
+        long duracaoNanos = System.nanoTime() - inicio;
+        resultado.setLinhasComFalha(resultado.getLinhasComFalha() + linhasInvalidas.get())
+                .setDuracaoMs(TimeUnit.NANOSECONDS.toMillis(duracaoNanos))
+                .setLinhasPorSegundo(duracaoNanos > 0
+                        ? resultado.getLinhasImportadas() * 1_000_000_000d / duracaoNanos
+                        : 0);
+        meterRegistry.counter(METRICA_LINHAS, "resultado", "importada").increment(resultado.getLinhasImportadas());
+        meterRegistry.counter(METRICA_LINHAS, "resultado", "falha").increment(resultado.getLinhasComFalha());
+        meterRegistry.counter(METRICA_LINHAS, "resultado", "duplicada").increment(resultado.getLinhasDuplicadas());
+
+        if (resultado.getLotes().stream().allMatch(ResultadoLote::isConfirmado)) {
+            registrarArquivo(resultado);
+        }
+        log.info("Importação concluída: {} linhas importadas, {} duplicadas, {} com falha, {} lotes em {} ms ({} linhas/s)",
+                resultado.getLinhasImportadas(), resultado.getLinhasDuplicadas(), resultado.getLinhasComFalha(),
+                resultado.getLotes().size(), resultado.getDuracaoMs(), Math.round(resultado.getLinhasPorSegundo()));
+        return resultado;
+    }
+
+    private void gravarLote(List<ContaEntity> lote, ResultadoImportacao resultado) {
+        long inicio = System.nanoTime();
+        ResultadoLote resultadoLote = new ResultadoLote()
+                .setNumero(resultado.getLotes().size() + 1)
+                .setLinhas(lote.size());
+        List<ContaEntity> novas = lote;
+        try {
+            novas = removerDuplicadas(lote);
+            try {
+                salvar(novas);
+            } catch (DataIntegrityViolationException e) {
+                // outra importação gravou parte destas contas depois da verificação; tenta uma vez sem elas
+                novas.forEach(conta -> conta.setId(null).setVersao(null));
+                novas = removerDuplicadas(novas);
+                salvar(novas);
+            }
+            resultadoLote.setConfirmado(true);
+            resultado.setLinhasImportadas(resultado.getLinhasImportadas() + novas.size());
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar o lote {} da importação", resultadoLote.getNumero(), e);
+            resultadoLote.setErro(e.getMessage());
+            resultado.setLinhasComFalha(resultado.getLinhasComFalha() + novas.size());
+        }
+        resultadoLote.setLinhasDuplicadas(lote.size() - novas.size());
+        resultado.setLinhasDuplicadas(resultado.getLinhasDuplicadas() + resultadoLote.getLinhasDuplicadas());
+        resultadoLote.setDuracaoMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        resultado.getLotes().add(resultadoLote);
+    }
+
+    private void salvar(List<ContaEntity> contas) {
+        if (contas.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            List<ContaEntity> salvas = contaRepository.saveAll(contas);
+            eventPublisher.publishEvent(ContasAlteradasEvent.criadas(salvas.stream().map(ContaEntity::getId).toList()));
+        });
+    }
+
+    private List<ContaEntity> removerDuplicadas(List<ContaEntity> lote) {
+        MessageDigest digest = novoDigest();
+        Map<String, ContaEntity> contasPorChave = new LinkedHashMap<>(lote.size() * 2);
+        for (ContaEntity conta : lote) {
+            contasPorChave.putIfAbsent(conta.getChaveDeduplicacao() != null
+                    ? conta.getChaveDeduplicacao()
+                    : ChaveDeduplicacaoConta.calcular(digest, conta), conta);
+        }
+        contasPorChave.forEach((chave, conta) -> conta.setChaveDeduplicacao(chave));
+        LocalDate vencimentoInicio = null;
+        LocalDate vencimentoFim = null;
+        for (ContaEntity conta : contasPorChave.values()) {
+            LocalDate dataVencimento = conta.getDataVencimento();
+            if (dataVencimento != null) {
+                vencimentoInicio = vencimentoInicio == null || dataVencimento.isBefore(vencimentoInicio) ? dataVencimento : vencimentoInicio;
+                vencimentoFim = vencimentoFim == null || dataVencimento.isAfter(vencimentoFim) ? dataVencimento : vencimentoFim;
+            }
+        }
+        // o período de vencimento do lote permite ao PostgreSQL consultar apenas as partições envolvidas
+        if (vencimentoInicio != null) {
+            contaRepository.buscarChavesDeduplicacao(contasPorChave.keySet(), vencimentoInicio, vencimentoFim)
+                    .forEach(contasPorChave::remove);
+        }
+        return new ArrayList<>(contasPorChave.values());
+    }
+
+    private void registrarArquivo(ResultadoImportacao resultado) {
+        try {
+            importacaoArquivoRepository.save(new ImportacaoArquivoEntity()
+                    .setChecksum(resultado.getChecksum())
+                    .setImportadoEm(LocalDateTime.now())
+                    .setLinhasImportadas(resultado.getLinhasImportadas())
+                    .setLinhasDuplicadas(resultado.getLinhasDuplicadas()));
+        } catch (DataIntegrityViolationException e) {
+            log.info("Arquivo {} registrado por outra importação concluída ao mesmo tempo", resultado.getChecksum());
+        }
+    }
+
+    private static String calcularChecksum(Path arquivo) throws IOException {
+        MessageDigest digest = novoDigest();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANHO_BUFFER_CHECKSUM);
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            while (canal.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest novoDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static ContaEntity paraEntidade(ContaCsvDto contaCsvDto) {
+        return new ContaEntity()
+                .setSituacao(SituacaoConta.PENDENTE)
+                .setDescricao(contaCsvDto.getDescricao())
+                .setValorCentavos(Centavos.de(contaCsvDto.getValor()))
+                .setDataVencimento(contaCsvDto.getDataVencimento());
+    }
+
+    @FunctionalInterface
+    public interface ProgressoImportacao {
+        ProgressoImportacao NENHUM = (linhasImportadas, linhasComFalha) -> {
+        };
+
+        void atualizar(long linhasImportadas, long linhasComFalha);
+    }
+}
@@ -0,0 +1,207 @@
+package com.rocksti.pagafacil.service;
+
+import com.rocksti.pagafacil.configuration.ImportacaoProperties;
+import com.rocksti.pagafacil.dto.response.ImportacaoJobResponse;
+import com.rocksti.pagafacil.dto.response.ResultadoImportacao;
+import com.rocksti.pagafacil.enumeration.SituacaoImportacao;
+import com.rocksti.pagafacil.exception.BadRequestException;
+import com.rocksti.pagafacil.exception.NotFoundException;
+import com.rocksti.pagafacil.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Log4j2
+@Service
+public class ImportacaoJobService {
+    private static final String IMPORTACAO_NAO_ENCONTRADA = "Importação não encontrada";
+    private static final String ARQUIVO_NAO_INFORMADO = "Arquivo não informado";
+    private static final String ERRO_AO_RECEBER_CSV = "Erro ao receber CSV";
+    private static final String FILA_CHEIA = "Fila de importações cheia, tente novamente mais tarde";
+    private static final String LIMITE_POR_USUARIO = "Limite de importações simultâneas por usuário atingido";
+
+    private final ImportacaoContaService importacaoContaService;
+    private final ImportacaoProperties importacaoProperties;
+    private final ThreadPoolExecutor executor;
+    private final Map<UUID, ImportacaoJob> jobs = new ConcurrentHashMap<>();
+
+    public ImportacaoJobService(ImportacaoContaService importacaoContaService, ImportacaoProperties importacaoProperties) {
+        this.importacaoContaService = importacaoContaService;
+        this.importacaoProperties = importacaoProperties;
+
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                importacaoProperties.getThreads(),
+                importacaoProperties.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(importacaoProperties.getCapacidadeFila()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "importacao-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Reserva a vaga do usuário antes de obter o arquivo: com o multipart resolvido sob demanda, o corpo da requisição só
+     * é lido e gravado em disco por {@code arquivo} depois que a importação é admitida.
+     */
+    public ImportacaoJobResponse submeter(Supplier<MultipartFile> arquivo, String usuario) {
+        removerJobsExpirados();
+
+        ImportacaoJob job = new ImportacaoJob(UUID.randomUUID(), usuario);
+        synchronized (jobs) {
+            long jobsDoUsuario = jobs.values().stream()
+                    .filter(outro -> Objects.equals(outro.usuario, usuario) && !outro.finalizado())
+                    .count();
+            if (jobsDoUsuario >= importacaoProperties.getMaximoJobsPorUsuario()) {
+                throw new TooManyRequestsException(LIMITE_POR_USUARIO);
+            }
+            jobs.put(job.id, job);
+        }
+        try {
+            MultipartFile recebido = arquivo.get();
+            if (recebido == null) {
+                throw new BadRequestException(ARQUIVO_NAO_INFORMADO);
+            }
+            Files.createDirectories(importacaoProperties.getDiretorio());
+            job.arquivo = importacaoProperties.getDiretorio().resolve(job.id + ".csv");
+            recebido.transferTo(job.arquivo);
+        } catch (IOException e) {
+            cancelar(job);
+            throw new BadRequestException(ERRO_AO_RECEBER_CSV, e);
+        } catch (RuntimeException e) {
+            cancelar(job);
+            throw e;
+        }
+
+        try {
+            executor.execute(() -> processar(job));
+        } catch (RejectedExecutionException e) {
+            cancelar(job);
+            throw new TooManyRequestsException(FILA_CHEIA);
+        }
+        return job.paraResponse();
+    }
+
+    public ImportacaoJobResponse buscarJob(UUID id) {
+        ImportacaoJob job = jobs.get(id);
+        if (job == null) {
+            throw new NotFoundException(IMPORTACAO_NAO_ENCONTRADA);
+        }
+        return job.paraResponse();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private void processar(ImportacaoJob job) {
+        job.inicioNanos = System.nanoTime();
+        job.iniciadaEm = LocalDateTime.now();
+        job.situacao = SituacaoImportacao.PROCESSANDO;
+        SituacaoImportacao situacaoFinal = SituacaoImportacao.FALHOU;
+        try {
+            ResultadoImportacao resultado = importacaoContaService.importar(job.arquivo, (linhasImportadas, linhasComFalha) -> {
+                job.linhasProcessadas = linhasImportadas;
+                job.linhasComFalha = linhasComFalha;
+            });
+            job.linhasProcessadas = resultado.getLinhasImportadas();
+            job.linhasComFalha = resultado.getLinhasComFalha();
+            job.linhasDuplicadas = resultado.getLinhasDuplicadas();
+            job.arquivoJaImportado = resultado.isArquivoJaImportado();
+            situacaoFinal = SituacaoImportacao.CONCLUIDA;
+        } catch (IOException | RuntimeException e) {
+            log.error("Falha na importação {}", job.id, e);
+            job.erro = e.getMessage();
+        } finally {
+            job.fimNanos = System.nanoTime();
+            job.concluidaEm = LocalDateTime.now();
+            job.situacao = situacaoFinal;
+            excluirArquivo(job.arquivo);
+        }
+    }
+
+    private void cancelar(ImportacaoJob job) {
+        jobs.remove(job.id);
+        excluirArquivo(job.arquivo);
+    }
+
+    private void removerJobsExpirados() {
+        LocalDateTime limite = LocalDateTime.now().minus(importacaoProperties.getRetencaoJobs());
+        jobs.values().removeIf(job -> job.finalizado() && job.concluidaEm.isBefore(limite));
+    }
+
+    private static void excluirArquivo(Path arquivo) {
+        if (arquivo == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Não foi possível excluir o arquivo {}", arquivo, e);
+        }
+    }
+
+    private static class ImportacaoJob {
+        private final UUID id;
+        private final String usuario;
+        private final LocalDateTime criadaEm = LocalDateTime.now();
+        private Path arquivo;
+        private volatile SituacaoImportacao situacao = SituacaoImportacao.NA_FILA;
+        private volatile long linhasProcessadas;
+        private volatile long linhasComFalha;
+        private volatile long linhasDuplicadas;
+        private volatile boolean arquivoJaImportado;
+        private volatile long inicioNanos;
+        private volatile long fimNanos;
+        private volatile LocalDateTime iniciadaEm;
+        private volatile LocalDateTime concluidaEm;
+        private volatile String erro;
+
+        private ImportacaoJob(UUID id, String usuario) {
+            this.id = id;
+            this.usuario = usuario;
+        }
+
+        private boolean finalizado() {
+            return situacao == SituacaoImportacao.CONCLUIDA || situacao == SituacaoImportacao.FALHOU;
+        }
+
+        private ImportacaoJobResponse paraResponse() {
+            long duracaoNanos = inicioNanos == 0
+                    ? 0
+                    : (finalizado() ? fimNanos : System.nanoTime()) - inicioNanos;
+            return new ImportacaoJobResponse()
+                    .setId(id)
+                    .setSituacao(situacao)
+                    .setLinhasProcessadas(linhasProcessadas)
+                    .setLinhasComFalha(linhasComFalha)
+                    .setLinhasDuplicadas(linhasDuplicadas)
+                    .setArquivoJaImportado(arquivoJaImportado)
+                    .setLinhasPorSegundo(duracaoNanos > 0 ? linhasProcessadas * 1_000_000_000d / duracaoNanos : 0)
+                    .setCriadaEm(criadaEm)
+                    .setIniciadaEm(iniciadaEm)
+                    .setConcluidaEm(concluidaEm)
+                    .setErro(erro);
+        }
+    }
+}
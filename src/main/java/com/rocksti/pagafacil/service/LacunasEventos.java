@@ -0,0 +1,127 @@
+package com.rocksti.pagafacil.service;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Ids de eventos pulados por uma assinatura, com o instante em que ela viu cada lacuna. Um id pulado pode ser de uma
+ * transação ainda não confirmada: a assinatura espera por ele até {@code espera} contada desse instante, e depois segue
+ * adiante, mas continua procurando o evento até {@code esperaMaxima}, para entregá-lo quando a transação confirmar.
+ * <p>
+ * Acima de {@code maximo} ids acompanhados, os mais antigos são abandonados. Os ids já ultrapassados seguem na posição
+ * enviada ao cliente ({@link PosicaoEventos}) e voltam a ser procurados quando ele reconecta.
+ */
+@Log4j2
+final class LacunasEventos {
+    private final long esperaNanos;
+    private final long esperaMaximaNanos;
+    private final int maximo;
+    private final LongSupplier relogio;
+    private final TreeMap<Long, Long> vistasEm = new TreeMap<>();
+
+    LacunasEventos(long esperaNanos, long esperaMaximaNanos, int maximo, LongSupplier relogio) {
+        this.esperaNanos = esperaNanos;
+        this.esperaMaximaNanos = esperaMaximaNanos;
+        this.maximo = maximo;
+        this.relogio = relogio;
+    }
+
+    /**
+     * Registra os ids entre a posição e o próximo evento lido e indica se a assinatura ainda deve esperar por eles antes
+     * de seguir.
+     */
+    boolean aguardar(long posicao, long proximoId) {
+        long agora = relogio.getAsLong();
+        // os ids de uma lacuna já vista só diminuem conforme os eventos chegam; basta registrá-los na primeira vez
+        if (!vistasEm.containsKey(posicao + 1)) {
+            for (long id = posicao + 1; id < proximoId; id++) {
+                vistasEm.putIfAbsent(id, agora);
+            }
+            limitar();
+        }
+        Long vistaEm = vistasEm.get(posicao + 1);
+        return vistaEm != null && agora - vistaEm < esperaNanos;
+    }
+
+    /**
+     * Ids já ultrapassados pela posição que ainda não apareceram, no máximo {@code limite}; os que passaram da espera
+     * máxima são abandonados.
+     */
+    List<Long> pendentes(long posicao, int limite) {
+        long agora = relogio.getAsLong();
+        List<Long> pendentes = new ArrayList<>();
+        int abandonados = 0;
+        Iterator<Map.Entry<Long, Long>> iterator = vistasEm.headMap(posicao, true).entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Long> lacuna = iterator.next();
+            if (agora - lacuna.getValue() >= esperaMaximaNanos) {
+                iterator.remove();
+                abandonados++;
+            } else if (pendentes.size() < limite) {
+                pendentes.add(lacuna.getKey());
+            }
+        }
+        if (abandonados > 0) {
+            log.warn("{} eventos de contas não apareceram dentro da espera máxima e não serão entregues", abandonados);
+        }
+        return pendentes;
+    }
+
+    /**
+     * Intervalos {@code [inicio, fim]} dos ids já ultrapassados pela posição que ainda são procurados, em ordem
+     * crescente; acima de {@code limite} intervalos ficam apenas os mais recentes.
+     */
+    List<long[]> intervalos(long posicao, int limite) {
+        List<long[]> intervalos = new ArrayList<>();
+        long[] atual = null;
+        for (long id : vistasEm.headMap(posicao, true).descendingKeySet()) {
+            if (atual != null && id == atual[0] - 1) {
+                atual[0] = id;
+            } else if (intervalos.size() < limite) {
+                atual = new long[]{id, id};
+                intervalos.add(atual);
+            } else {
+                break;
+            }
+        }
+        Collections.reverse(intervalos);
+        return intervalos;
+    }
+
+    /**
+     * Volta a procurar os ids de uma posição recebida na reconexão, contando a espera máxima a partir de agora.
+     */
+    void restaurar(long inicio, long fim) {
+        long agora = relogio.getAsLong();
+        for (long id = inicio; id <= fim; id++) {
+            vistasEm.putIfAbsent(id, agora);
+        }
+        limitar();
+    }
+
+    void entregue(long id) {
+        vistasEm.remove(id);
+    }
+
+    int tamanho() {
+        return vistasEm.size();
+    }
+
+    private void limitar() {
+        int abandonados = 0;
+        while (vistasEm.size() > maximo) {
+            vistasEm.pollFirstEntry();
+            abandonados++;
+        }
+        if (abandonados > 0) {
+            log.warn("Limite de lacunas acompanhadas atingido; {} eventos de contas não serão procurados", abandonados);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.rocksti.pagafacil.service;
+
+import com.rocksti.pagafacil.cache.ContaCache;
+import com.rocksti.pagafacil.configuration.ParticoesProperties;
+import com.rocksti.pagafacil.exception.BadRequestException;
+import com.rocksti.pagafacil.repository.ParticaoContaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Log4j2
+@RequiredArgsConstructor
+@Service
+@ConditionalOnProperty(name = "pagafacil.particoes.habilitado", havingValue = "true")
+public class ParticaoContaService {
+    private static final String BLOQUEIO_NAO_OBTIDO = "55P03";
+    private static final String LIMITE_INVALIDO = "A data limite de arquivamento deve ser anterior ao mês atual";
+
+    private final ParticaoContaRepository particaoContaRepository;
+    private final ParticoesProperties particoesProperties;
+    private final ContaCache contaCache;
+    private final TransactionTemplate transactionTemplate;
+
+    public List<String> criarParticoes() {
+        LocalDate mesAtual = LocalDate.now().withDayOfMonth(1);
+        Set<LocalDate> meses = new TreeSet<>(particaoContaRepository.buscarMesesNaParticaoPadrao());
+        for (int i = 0; i <= particoesProperties.getMesesAntecedencia(); i++) {
+            meses.add(mesAtual.plusMonths(i));
+        }
+
+        List<String> criadas = new ArrayList<>();
+        // uma transação por mês: anexar a partição bloqueia a partição padrão até o fim da transação
+        for (LocalDate mes : meses) {
+            try {
+                String particao = transactionTemplate.execute(status -> {
+                    particaoContaRepository.limitarEsperaBloqueio(particoesProperties.getTempoMaximoBloqueio());
+                    return particaoContaRepository.criarParticao(mes);
+                });
+                if (particao != null) {
+                    criadas.add(particao);
+                }
+            } catch (DataAccessException e) {
+                if (!bloqueioNaoObtido(e)) {
+                    throw e;
+                }
+                log.warn("Partição de contas do mês {} não criada: bloqueio não obtido a tempo", mes);
+            }
+        }
+        if (!criadas.isEmpty()) {
+            log.info("Partições de contas criadas: {}", criadas);
+        }
+        return criadas;
+    }
+
+    public List<String> arquivar(LocalDate limite) {
+        if (Objects.isNull(limite) || limite.isAfter(LocalDate.now().withDayOfMonth(1))) {
+            throw new BadRequestException(LIMITE_INVALIDO);
+        }
+
+        List<String> arquivadas = new ArrayList<>();
+        // uma transação por partição: o DETACH bloqueia contas inteira até o fim da transação
+        for (String particao : particaoContaRepository.buscarParticoesEncerradas(limite)) {
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                    particaoContaRepository.limitarEsperaBloqueio(particoesProperties.getTempoMaximoBloqueio());
+                    return particaoContaRepository.arquivarParticao(particao);
+                }))) {
+                    arquivadas.add(particao);
+                }
+            } catch (DataAccessException e) {
+                if (!bloqueioNaoObtido(e)) {
+                    throw e;
+                }
+                log.warn("Partição de contas {} não arquivada: bloqueio não obtido a tempo", particao);
+            }
+        }
+        if (!arquivadas.isEmpty()) {
+            // os ids arquivados não são conhecidos aqui; nas demais instâncias as entradas expiram pelo tempo do cache
+            contaCache.invalidarTudo();
+        }
+        log.info("Partições de contas arquivadas até {}: {}", limite, arquivadas);
+        return arquivadas;
+    }
+
+    // o tradutor padrão do JdbcTemplate não classifica o estado 55P03 (lock_timeout) do PostgreSQL
+    private static boolean bloqueioNaoObtido(DataAccessException e) {
+        return e instanceof PessimisticLockingFailureException
+               || e.getMostSpecificCause() instanceof SQLException causa && BLOQUEIO_NAO_OBTIDO.equals(causa.getSQLState());
+    }
+}
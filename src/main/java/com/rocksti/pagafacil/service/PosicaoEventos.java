@@ -0,0 +1,72 @@
+package com.rocksti.pagafacil.service;
+
+import com.rocksti.pagafacil.exception.BadRequestException;
+
+import java.util.StringJoiner;
+
+/**
+ * Posição de uma assinatura de eventos: o último id entregue da tabela {@code eventos_contas} de cada fragmento, que tem
+ * a sua própria sequência, seguido dos ids já ultrapassados que ainda são procurados em {@link LacunasEventos}. Com um
+ * único banco e sem lacunas é apenas o id, como {@code 42}; as lacunas vêm em intervalos depois da posição, como
+ * {@code 42:35-37:40}, e com fragmentação as posições de todos os fragmentos vêm na ordem deles, como {@code 42,17,30}.
+ * <p>
+ * Assim, um evento que confirma depois de o cliente desconectar ainda é entregue na reconexão.
+ */
+final class PosicaoEventos {
+    private static final String POSICAO_INVALIDA = "Posição de eventos inválida";
+    private static final String SEPARADOR_FRAGMENTOS = ",";
+    private static final String SEPARADOR_LACUNAS = ":";
+    private static final String SEPARADOR_INTERVALO = "-";
+    // mantém o id do evento, devolvido no cabeçalho Last-Event-ID, bem abaixo do limite de tamanho dos cabeçalhos
+    private static final int MAXIMO_INTERVALOS = 100;
+
+    private PosicaoEventos() {
+    }
+
+    static String codificar(long[] posicoes, LacunasEventos[] lacunas) {
+        StringJoiner fragmentos = new StringJoiner(SEPARADOR_FRAGMENTOS);
+        for (int fragmento = 0; fragmento < posicoes.length; fragmento++) {
+            StringBuilder valor = new StringBuilder().append(posicoes[fragmento]);
+            for (long[] intervalo : lacunas[fragmento].intervalos(posicoes[fragmento], MAXIMO_INTERVALOS)) {
+                valor.append(SEPARADOR_LACUNAS).append(intervalo[0]);
+                if (intervalo[1] != intervalo[0]) {
+                    valor.append(SEPARADOR_INTERVALO).append(intervalo[1]);
+                }
+            }
+            fragmentos.add(valor);
+        }
+        return fragmentos.toString();
+    }
+
+    /**
+     * Devolve a posição de cada fragmento e volta a acompanhar as lacunas informadas, no máximo {@code maximoLacunas}
+     * ids por fragmento.
+     */
+    static long[] decodificar(String posicao, LacunasEventos[] lacunas, int maximoLacunas) {
+        String[] fragmentos = posicao.trim().split(SEPARADOR_FRAGMENTOS, -1);
+        if (fragmentos.length != lacunas.length) {
+            throw new BadRequestException(POSICAO_INVALIDA);
+        }
+        long[] posicoes = new long[lacunas.length];
+        try {
+            for (int fragmento = 0; fragmento < fragmentos.length; fragmento++) {
+                String[] valores = fragmentos[fragmento].trim().split(SEPARADOR_LACUNAS, -1);
+                posicoes[fragmento] = Long.parseLong(valores[0]);
+                long ids = 0;
+                for (int i = 1; i < valores.length; i++) {
+                    int separador = valores[i].indexOf(SEPARADOR_INTERVALO);
+                    long inicio = Long.parseLong(separador < 0 ? valores[i] : valores[i].substring(0, separador));
+                    long fim = separador < 0 ? inicio : Long.parseLong(valores[i].substring(separador + 1));
+                    if (inicio < 1 || fim < inicio || fim > posicoes[fragmento] || fim - inicio >= maximoLacunas - ids) {
+                        throw new BadRequestException(POSICAO_INVALIDA);
+                    }
+                    ids += fim - inicio + 1;
+                    lacunas[fragmento].restaurar(inicio, fim);
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(POSICAO_INVALIDA, e);
+        }
+        return posicoes;
+    }
+}
@@ -0,0 +1,11 @@
+CREATE TABLE eventos_contas
+(
+    id            BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    conta_id      BIGINT      NOT NULL,
+    tipo          VARCHAR(20) NOT NULL,
+    situacao      VARCHAR(20) NOT NULL,
+    versao        BIGINT      NOT NULL,
+    registrado_em TIMESTAMP   NOT NULL
+);
+
+CREATE INDEX idx_eventos_contas_registrado_em ON eventos_contas (registrado_em);
@@ -0,0 +1,36 @@
+-- Os valores passam a ser gravados em centavos. Um valor com mais de duas casas decimais não tem representação exata e
+-- interrompe a migração, em vez de ser arredondado e desencontrar a consolidação dos pagamentos.
+DO
+$$
+DECLARE
+    particao    RECORD;
+    fracionados BOOLEAN;
+BEGIN
+    IF EXISTS (SELECT 1 FROM contas WHERE valor <> round(valor, 2))
+        OR EXISTS (SELECT 1 FROM pagamentos_diarios WHERE valor_total <> round(valor_total, 2)) THEN
+        RAISE EXCEPTION 'Há valores com mais de duas casas decimais; corrija-os antes de migrar para centavos';
+    END IF;
+
+    -- as partições arquivadas saíram de contas, mas seguem o mesmo formato para poderem ser consultadas ou reanexadas
+    FOR particao IN
+        SELECT tablename AS nome
+        FROM pg_tables
+        WHERE schemaname = 'arquivo'
+          AND tablename ~ '^contas_[0-9]{4}_[0-9]{2}$'
+        LOOP
+            EXECUTE format('SELECT EXISTS (SELECT 1 FROM arquivo.%I WHERE valor <> round(valor, 2))', particao.nome) INTO fracionados;
+            IF fracionados THEN
+                RAISE EXCEPTION 'Há valores com mais de duas casas decimais em arquivo.%', particao.nome;
+            END IF;
+            EXECUTE format('ALTER TABLE arquivo.%I RENAME COLUMN valor TO valor_centavos', particao.nome);
+            EXECUTE format('ALTER TABLE arquivo.%I ALTER COLUMN valor_centavos TYPE BIGINT USING (valor_centavos * 100)::BIGINT',
+                           particao.nome);
+        END LOOP;
+END
+$$;
+
+ALTER TABLE contas RENAME COLUMN valor TO valor_centavos;
+ALTER TABLE contas ALTER COLUMN valor_centavos TYPE BIGINT USING (valor_centavos * 100)::BIGINT;
+
+ALTER TABLE pagamentos_diarios RENAME COLUMN valor_total TO valor_total_centavos;
+ALTER TABLE pagamentos_diarios ALTER COLUMN valor_total_centavos TYPE BIGINT USING (valor_total_centavos * 100)::BIGINT;
@@ -0,0 +1,7 @@
+CREATE SEQUENCE contas_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('contas_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM contas), false);
+
+ALTER TABLE contas ALTER COLUMN id SET DEFAULT nextval('contas_seq');
+ALTER SEQUENCE contas_seq OWNED BY contas.id;
+DROP SEQUENCE IF EXISTS contas_id_seq;
@@ -0,0 +1,3 @@
+CREATE INDEX idx_contas_a_pagar_vencimento ON contas (data_vencimento, id) WHERE situacao <> 'PAGO';
+CREATE INDEX idx_contas_a_pagar_descricao ON contas (descricao) WHERE situacao <> 'PAGO';
+CREATE INDEX idx_contas_situacao_pagamento ON contas (situacao, data_pagamento);
@@ -0,0 +1,13 @@
+CREATE TABLE pagamentos_diarios
+(
+    data_pagamento DATE PRIMARY KEY,
+    valor_total    DECIMAL NOT NULL,
+    quantidade     BIGINT  NOT NULL
+);
+
+INSERT INTO pagamentos_diarios (data_pagamento, valor_total, quantidade)
+SELECT data_pagamento, SUM(valor), COUNT(*)
+FROM contas
+WHERE situacao = 'PAGO'
+  AND data_pagamento IS NOT NULL
+GROUP BY data_pagamento;
@@ -0,0 +1 @@
+CREATE INDEX idx_contas_pendentes_vencimento ON contas (data_vencimento) WHERE situacao = 'PENDENTE';
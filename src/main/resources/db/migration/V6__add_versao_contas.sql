@@ -0,0 +1 @@
+ALTER TABLE contas ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
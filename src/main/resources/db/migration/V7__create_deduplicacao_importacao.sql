@@ -0,0 +1,21 @@
+ALTER TABLE contas ADD COLUMN chave_deduplicacao VARCHAR(64);
+
+UPDATE contas c
+SET chave_deduplicacao = k.chave
+FROM (SELECT DISTINCT ON (chave) id, chave
+      FROM (SELECT id,
+                   encode(sha256(convert_to(to_char(data_vencimento, 'YYYY-MM-DD') || '|' || trim_scale(valor)::text
+                                            || '|' || COALESCE(descricao, ''), 'UTF8')), 'hex') AS chave
+            FROM contas) contas_chaves
+      ORDER BY chave, id) k
+WHERE c.id = k.id;
+
+CREATE UNIQUE INDEX uk_contas_chave_deduplicacao ON contas (chave_deduplicacao);
+
+CREATE TABLE importacoes_arquivos
+(
+    checksum          VARCHAR(64) PRIMARY KEY,
+    importado_em      TIMESTAMP NOT NULL,
+    linhas_importadas BIGINT    NOT NULL,
+    linhas_duplicadas BIGINT    NOT NULL
+);
@@ -0,0 +1,123 @@
+ALTER SEQUENCE contas_seq OWNED BY NONE;
+
+ALTER TABLE contas RENAME TO contas_nao_particionada;
+ALTER TABLE contas_nao_particionada RENAME CONSTRAINT contas_pkey TO contas_nao_particionada_pkey;
+DROP INDEX idx_contas_a_pagar_vencimento;
+DROP INDEX idx_contas_a_pagar_descricao;
+DROP INDEX idx_contas_situacao_pagamento;
+DROP INDEX idx_contas_pendentes_vencimento;
+DROP INDEX uk_contas_chave_deduplicacao;
+
+CREATE TABLE contas
+(
+    id                 BIGINT      NOT NULL DEFAULT nextval('contas_seq'),
+    data_vencimento    DATE        NOT NULL,
+    data_pagamento     DATE,
+    valor              DECIMAL     NOT NULL,
+    descricao          VARCHAR(255),
+    situacao           VARCHAR(20) NOT NULL,
+    versao             BIGINT      NOT NULL DEFAULT 0,
+    chave_deduplicacao VARCHAR(64),
+    PRIMARY KEY (id, data_vencimento)
+) PARTITION BY RANGE (data_vencimento);
+
+CREATE TABLE contas_padrao PARTITION OF contas DEFAULT;
+
+-- Cria a partição mensal vazia fora da tabela, move para ela as linhas do mês que estiverem na partição padrão e só
+-- então a anexa. ATTACH PARTITION bloqueia contas apenas em SHARE UPDATE EXCLUSIVE, sem impedir leituras e escritas nas
+-- demais partições, mas bloqueia contas_padrao em ACCESS EXCLUSIVE até o fim da transação e a percorre inteira para
+-- confirmar que nenhuma linha pertence ao novo mês. Nesse intervalo ficam paradas as consultas que não se restringem a
+-- uma partição mensal e as escritas com vencimento sem partição.
+CREATE FUNCTION criar_particao_contas(mes DATE) RETURNS TEXT AS
+$$
+DECLARE
+    inicio DATE := date_trunc('month', mes)::date;
+    fim    DATE := (date_trunc('month', mes) + INTERVAL '1 month')::date;
+    nome   TEXT := 'contas_' || to_char(mes, 'YYYY_MM');
+BEGIN
+    IF to_regclass(nome) IS NOT NULL THEN
+        RETURN NULL;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE contas INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', nome);
+    EXECUTE format('WITH movidas AS (DELETE FROM contas_padrao WHERE data_vencimento >= %L AND data_vencimento < %L RETURNING *) '
+                       || 'INSERT INTO %I SELECT * FROM movidas', inicio, fim, nome);
+    EXECUTE format('ALTER TABLE contas ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', nome, inicio, fim);
+    RETURN nome;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT criar_particao_contas(mes)
+FROM (SELECT DISTINCT date_trunc('month', data_vencimento)::date AS mes
+      FROM contas_nao_particionada
+      UNION
+      SELECT generate_series(date_trunc('month', CURRENT_DATE), date_trunc('month', CURRENT_DATE) + INTERVAL '12 months',
+                             INTERVAL '1 month')::date) meses
+ORDER BY mes;
+
+INSERT INTO contas (id, data_vencimento, data_pagamento, valor, descricao, situacao, versao, chave_deduplicacao)
+SELECT id, data_vencimento, data_pagamento, valor, descricao, situacao, versao, chave_deduplicacao
+FROM contas_nao_particionada;
+
+DROP TABLE contas_nao_particionada;
+ALTER SEQUENCE contas_seq OWNED BY contas.id;
+
+CREATE INDEX idx_contas_a_pagar_vencimento ON contas (data_vencimento, id) WHERE situacao <> 'PAGO';
+CREATE INDEX idx_contas_a_pagar_descricao ON contas (descricao) WHERE situacao <> 'PAGO';
+CREATE INDEX idx_contas_situacao_pagamento ON contas (situacao, data_pagamento);
+CREATE INDEX idx_contas_pendentes_vencimento ON contas (data_vencimento) WHERE situacao = 'PENDENTE';
+-- a chave já inclui a data de vencimento; a coluna entra no índice porque índices únicos precisam da chave de partição
+CREATE UNIQUE INDEX uk_contas_chave_deduplicacao ON contas (chave_deduplicacao, data_vencimento);
+
+CREATE SCHEMA arquivo;
+
+CREATE TABLE contas_particoes_arquivadas
+(
+    nome              VARCHAR(63) PRIMARY KEY,
+    vencimento_inicio DATE      NOT NULL,
+    vencimento_fim    DATE      NOT NULL,
+    pagamento_inicio  DATE,
+    pagamento_fim     DATE,
+    quantidade        BIGINT    NOT NULL,
+    arquivada_em      TIMESTAMP NOT NULL
+);
+
+-- Partições mensais encerradas antes de limite, candidatas ao arquivamento.
+CREATE FUNCTION particoes_contas_encerradas(limite DATE) RETURNS SETOF TEXT AS
+$$
+SELECT c.relname
+FROM pg_inherits i
+         JOIN pg_class c ON c.oid = i.inhrelid
+WHERE i.inhparent = 'contas'::regclass
+  AND c.relname ~ '^contas_[0-9]{4}_[0-9]{2}$'
+  AND (to_date(substr(c.relname, 8), 'YYYY_MM') + INTERVAL '1 month')::date <= limite
+ORDER BY c.relname
+$$ LANGUAGE sql;
+
+-- Desanexa uma partição mensal em que todas as contas estão pagas e a move para o schema arquivo. O LOCK em SHARE
+-- impede que uma conta da partição deixe de estar paga entre a verificação e o DETACH e, até o fim da transação, para
+-- apenas as escritas nessa partição. O DETACH bloqueia contas inteira em ACCESS EXCLUSIVE até o fim da transação; por
+-- isso ele vem depois das leituras da partição e cada partição é arquivada na sua própria transação. DETACH PARTITION
+-- ... CONCURRENTLY não é alternativa: o PostgreSQL não o admite em tabelas com partição padrão, nem dentro de funções
+-- ou transações.
+CREATE FUNCTION arquivar_particao_contas(nome TEXT) RETURNS BOOLEAN AS
+$$
+DECLARE
+    inicio    DATE := to_date(substr(nome, 8), 'YYYY_MM');
+    fim       DATE := (to_date(substr(nome, 8), 'YYYY_MM') + INTERVAL '1 month')::date;
+    pendentes BOOLEAN;
+BEGIN
+    EXECUTE format('LOCK TABLE %I IN SHARE MODE', nome);
+    EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE situacao <> %L)', nome, 'PAGO') INTO pendentes;
+    IF pendentes THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('INSERT INTO contas_particoes_arquivadas (nome, vencimento_inicio, vencimento_fim, pagamento_inicio, '
+                       || 'pagamento_fim, quantidade, arquivada_em) '
+                       || 'SELECT %L, %L, %L, MIN(data_pagamento), MAX(data_pagamento), COUNT(*), now() FROM %I',
+                   nome, inicio, fim, nome);
+    EXECUTE format('ALTER TABLE contas DETACH PARTITION %I', nome);
+    EXECUTE format('ALTER TABLE %I SET SCHEMA arquivo', nome);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
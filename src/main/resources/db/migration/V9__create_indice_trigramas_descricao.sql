@@ -0,0 +1,6 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- o filtro por descrição passa a buscar trechos, que o índice B-tree de igualdade não atende
+DROP INDEX idx_contas_a_pagar_descricao;
+
+CREATE INDEX idx_contas_a_pagar_descricao_trgm ON contas USING gin (lower(descricao) gin_trgm_ops) WHERE situacao <> 'PAGO';
@@ -0,0 +1,114 @@
+package com.rocksti.pagafacil.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocksti.pagafacil.dto.filtro.FiltroPesquisaConta;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.dto.response.PaginaCompacta;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.repository.ContaRepository;
+import com.rocksti.pagafacil.service.ContaService;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Log4j2
+@Tag("benchmark")
+@SpringBootTest
+class FormatoRespostaBenchmarkTest {
+
+    private static final int TAMANHO_PAGINA = 1_000;
+    private static final int AQUECIMENTO = Integer.getInteger("benchmark.aquecimento-iteracoes", 500);
+    private static final int ITERACOES = Integer.getInteger("benchmark.iteracoes", 2_000);
+    private static final LocalDate VENCIMENTO = LocalDate.of(2036, 2, 1);
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+
+    @Test
+    void compararFormatosEmPaginaDe1000Contas() throws Exception {
+        contaRepository.saveAll(IntStream.range(0, TAMANHO_PAGINA)
+                .mapToObj(i -> new ContaEntity()
+                        .setDescricao("Formato " + i)
+                        .setValorCentavos(i + 1L)
+                        .setDataVencimento(VENCIMENTO)
+                        .setSituacao(SituacaoConta.PENDENTE))
+                .toList());
+        Page<ContaResponse> pagina = contaService.buscarContasAPagar(PageRequest.of(0, TAMANHO_PAGINA),
+                new FiltroPesquisaConta().setDataVencimento(VENCIMENTO));
+        PaginaCompacta<ContaResponse> compacta = PaginaCompacta.of(pagina);
+        ObjectMapper cborMapper = cborHttpMessageConverter.getObjectMapper();
+
+        Medicao json = medir(() -> objectMapper.writeValueAsBytes(pagina));
+        Medicao jsonCompacto = medir(() -> objectMapper.writeValueAsBytes(compacta));
+        Medicao cbor = medir(() -> cborMapper.writeValueAsBytes(compacta));
+
+        log.info(String.format("%nPágina de %d contas, %d iterações%n%-14s %10s %10s %12s %12s%n%s%n%s%n%s",
+                TAMANHO_PAGINA, ITERACOES, "formato", "bytes", "gzip", "média (µs)", "p99 (µs)",
+                json.linha("json"), jsonCompacto.linha("json compacto"), cbor.linha("cbor")));
+
+        assertEquals(TAMANHO_PAGINA, pagina.getNumberOfElements());
+        assertTrue(cbor.bytes < json.bytes);
+    }
+
+    private static Medicao medir(Callable<byte[]> serializacao) throws Exception {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            serializacao.call();
+        }
+
+        long[] latencias = new long[ITERACOES];
+        byte[] corpo = null;
+        for (int i = 0; i < ITERACOES; i++) {
+            long inicio = System.nanoTime();
+            corpo = serializacao.call();
+            latencias[i] = System.nanoTime() - inicio;
+        }
+
+        Arrays.sort(latencias);
+        return new Medicao(
+                corpo.length,
+                gzip(corpo).length,
+                Arrays.stream(latencias).average().orElse(0) / 1_000d,
+                latencias[(int) Math.ceil(0.99 * ITERACOES) - 1] / 1_000d);
+    }
+
+    private static byte[] gzip(byte[] corpo) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(corpo);
+        }
+        return saida.toByteArray();
+    }
+
+    private record Medicao(int bytes, int bytesGzip, double mediaMicros, double p99Micros) {
+
+        private String linha(String formato) {
+            return String.format("%-14s %10d %10d %12.1f %12.1f", formato, bytes, bytesGzip, mediaMicros, p99Micros);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.rocksti.pagafacil.benchmark;
+
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.repository.ContaRepository;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Log4j2
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "pagafacil.reativo.habilitado=true",
+        "server.tomcat.threads.max=16",
+        "spring.datasource.hikari.maximum-pool-size=4"
+})
+class LeituraReativaBenchmarkTest {
+
+    private static final int CONCORRENCIA = Integer.getInteger("benchmark.concorrencia", 64);
+    private static final Duration AQUECIMENTO = Duration.ofSeconds(Long.getLong("benchmark.aquecimento-segundos", 3));
+    private static final Duration MEDICAO = Duration.ofSeconds(Long.getLong("benchmark.duracao-segundos", 10));
+    private static final String AUTORIZACAO = "Basic " + Base64.getEncoder()
+            .encodeToString("admin:secret".getBytes(StandardCharsets.UTF_8));
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void compararLeiturasBloqueantesEReativas() throws Exception {
+        LocalDate hoje = LocalDate.now();
+        contaRepository.saveAll(IntStream.range(0, 5_000)
+                .mapToObj(i -> new ContaEntity()
+                        .setDescricao("Benchmark " + i)
+                        .setValorCentavos((i % 500 + 1) * 100L)
+                        .setDataVencimento(hoje.plusDays(i % 365))
+                        .setSituacao(SituacaoConta.PENDENTE))
+                .toList());
+
+        String periodo = "?dataInicio=" + hoje.minusYears(1) + "&dataFim=" + hoje;
+        List<Resultado> resultados = List.of(
+                medir("JPA    buscar-contas-a-pagar/cursor", "/contas/buscar-contas-a-pagar/cursor?tamanho=50"),
+                medir("R2DBC  buscar-contas-a-pagar", "/contas/reativo/buscar-contas-a-pagar?tamanho=50"),
+                medir("JPA    valor-total-pago", "/contas/valor-total-pago" + periodo),
+                medir("R2DBC  valor-total-pago", "/contas/reativo/valor-total-pago" + periodo));
+
+        StringBuilder relatorio = new StringBuilder(String.format("%nConcorrência %d, medição de %ds%n%-40s %12s %10s %10s %8s%n",
+                CONCORRENCIA, MEDICAO.toSeconds(), "cenário", "req/s", "p50 (ms)", "p99 (ms)", "erros"));
+        resultados.forEach(resultado -> relatorio.append(String.format("%-40s %12.1f %10.2f %10.2f %8d%n",
+                resultado.nome, resultado.requisicoesPorSegundo, resultado.p50Ms, resultado.p99Ms, resultado.erros)));
+        log.info(relatorio);
+
+        resultados.forEach(resultado -> assertEquals(0, resultado.erros, resultado.nome));
+    }
+
+    private Resultado medir(String nome, String caminho) throws Exception {
+        executar(caminho, AQUECIMENTO);
+        return executar(caminho, MEDICAO).nomear(nome);
+    }
+
+    private Resultado executar(String caminho, Duration duracao) throws Exception {
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .header(HttpHeaders.AUTHORIZATION, AUTORIZACAO)
+                .GET()
+                .build();
+        AtomicLong erros = new AtomicLong();
+        long fim = System.nanoTime() + duracao.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCORRENCIA);
+        List<Future<long[]>> clientes = new ArrayList<>(CONCORRENCIA);
+        for (int i = 0; i < CONCORRENCIA; i++) {
+            clientes.add(executor.submit(() -> {
+                long[] latencias = new long[1024];
+                int total = 0;
+                while (System.nanoTime() < fim) {
+                    long inicio = System.nanoTime();
+                    HttpResponse<byte[]> resposta = httpClient.send(requisicao, HttpResponse.BodyHandlers.ofByteArray());
+                    if (resposta.statusCode() != 200) {
+                        erros.incrementAndGet();
+                    }
+                    if (total == latencias.length) {
+                        latencias = Arrays.copyOf(latencias, total * 2);
+                    }
+                    latencias[total++] = System.nanoTime() - inicio;
+                }
+                return Arrays.copyOf(latencias, total);
+            }));
+        }
+
+        List<long[]> porCliente = new ArrayList<>(CONCORRENCIA);
+        for (Future<long[]> cliente : clientes) {
+            porCliente.add(cliente.get());
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        long[] latencias = porCliente.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Resultado(
+                latencias.length / (double) duracao.toSeconds(),
+                percentil(latencias, 0.50),
+                percentil(latencias, 0.99),
+                erros.get());
+    }
+
+    private static double percentil(long[] latenciasOrdenadas, double percentil) {
+        if (latenciasOrdenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(percentil * latenciasOrdenadas.length) - 1;
+        return latenciasOrdenadas[Math.max(indice, 0)] / 1_000_000d;
+    }
+
+    private static class Resultado {
+        private final double requisicoesPorSegundo;
+        private final double p50Ms;
+        private final double p99Ms;
+        private final long erros;
+        private String nome;
+
+        private Resultado(double requisicoesPorSegundo, double p50Ms, double p99Ms, long erros) {
+            this.requisicoesPorSegundo = requisicoesPorSegundo;
+            this.p50Ms = p50Ms;
+            this.p99Ms = p99Ms;
+            this.erros = erros;
+        }
+
+        private Resultado nomear(String nome) {
+            this.nome = nome;
+            return this;
+        }
+    }
+}
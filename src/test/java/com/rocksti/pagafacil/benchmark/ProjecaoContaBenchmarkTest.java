@@ -0,0 +1,102 @@
+package com.rocksti.pagafacil.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocksti.pagafacil.dto.filtro.FiltroPesquisaConta;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.repository.ContaRepository;
+import com.rocksti.pagafacil.repository.specification.ContaSpecifications;
+import com.rocksti.pagafacil.service.ContaService;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Log4j2
+@Tag("benchmark")
+@SpringBootTest
+class ProjecaoContaBenchmarkTest {
+
+    private static final int TAMANHO_PAGINA = 100;
+    private static final int AQUECIMENTO = Integer.getInteger("benchmark.aquecimento-iteracoes", 2_000);
+    private static final int ITERACOES = Integer.getInteger("benchmark.iteracoes", 5_000);
+    private static final LocalDate VENCIMENTO = LocalDate.of(2035, 7, 1);
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void compararEntidadeEProjecaoEmPaginaDe100Contas() throws Exception {
+        contaRepository.saveAll(IntStream.range(0, TAMANHO_PAGINA)
+                .mapToObj(i -> new ContaEntity()
+                        .setDescricao("Projeção " + i)
+                        .setValorCentavos((i + 1) * 100L)
+                        .setDataVencimento(VENCIMENTO)
+                        .setSituacao(SituacaoConta.PENDENTE))
+                .toList());
+        FiltroPesquisaConta filtro = new FiltroPesquisaConta().setDataVencimento(VENCIMENTO);
+        PageRequest pagina = PageRequest.of(0, TAMANHO_PAGINA);
+
+        Medicao entidade = medir(() -> transactionTemplate.execute(status -> {
+            try {
+                return objectMapper.writeValueAsBytes(contaRepository.findAll(ContaSpecifications.aPagar(filtro), pagina));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        Medicao projecao = medir(() -> objectMapper.writeValueAsBytes(contaService.buscarContasAPagar(pagina, filtro)));
+
+        log.info(String.format("%nPágina de %d contas, %d iterações%n%-10s %14s %12s %12s%n%-10s %14d %12.1f %12.1f%n%-10s %14d %12.1f %12.1f",
+                TAMANHO_PAGINA, ITERACOES, "caminho", "bytes/op", "média (µs)", "p99 (µs)",
+                "entidade", entidade.bytesPorOperacao, entidade.mediaMicros, entidade.p99Micros,
+                "projeção", projecao.bytesPorOperacao, projecao.mediaMicros, projecao.p99Micros));
+
+        assertEquals(TAMANHO_PAGINA, contaService.buscarContasAPagar(pagina, filtro).getNumberOfElements());
+    }
+
+    private static Medicao medir(Callable<byte[]> operacao) throws Exception {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            operacao.call();
+        }
+
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long[] latencias = new long[ITERACOES];
+        long alocadoInicio = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERACOES; i++) {
+            long inicio = System.nanoTime();
+            operacao.call();
+            latencias[i] = System.nanoTime() - inicio;
+        }
+        long alocado = threadMXBean.getThreadAllocatedBytes(threadId) - alocadoInicio;
+
+        Arrays.sort(latencias);
+        return new Medicao(
+                alocado / ITERACOES,
+                Arrays.stream(latencias).average().orElse(0) / 1_000d,
+                latencias[(int) Math.ceil(0.99 * ITERACOES) - 1] / 1_000d);
+    }
+
+    private record Medicao(long bytesPorOperacao, double mediaMicros, double p99Micros) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.rocksti.pagafacil.cache;
+
+import com.rocksti.pagafacil.configuration.CacheContasProperties;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.dto.response.EstatisticasCacheResponse;
+import com.rocksti.pagafacil.event.ContasAlteradasEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class ContaCacheTest {
+
+    private final CanalInvalidacaoConta canal = new CanalInvalidacaoContaEmMemoria();
+    private final ContaCache noA = new ContaCache(new CacheContasProperties(), canal);
+    private final ContaCache noB = new ContaCache(new CacheContasProperties(), canal);
+
+    @Test
+    void propagarInvalidacaoEntreNos() {
+        AtomicInteger carregamentos = new AtomicInteger();
+
+        noA.buscar(1L, id -> carregar(id, carregamentos));
+        noB.buscar(1L, id -> carregar(id, carregamentos));
+        noB.buscar(1L, id -> carregar(id, carregamentos));
+        assertEquals(2, carregamentos.get());
+
+        noA.invalidar(List.of(1L));
+
+        noB.buscar(1L, id -> carregar(id, carregamentos));
+        assertEquals(3, carregamentos.get());
+    }
+
+    @Test
+    void registrarEstatisticas() {
+        AtomicInteger carregamentos = new AtomicInteger();
+
+        noA.buscar(1L, id -> carregar(id, carregamentos));
+        noA.buscar(1L, id -> carregar(id, carregamentos));
+        noA.buscar(2L, id -> Optional.empty());
+        noA.invalidar(List.of(1L));
+
+        EstatisticasCacheResponse estatisticas = noA.estatisticas();
+        assertEquals(1, estatisticas.getAcertos());
+        assertEquals(2, estatisticas.getFaltas());
+        assertEquals(1, estatisticas.getInvalidacoes());
+        assertEquals(0, estatisticas.getTamanho());
+    }
+
+    @Test
+    void publicarInvalidacaoApenasDeContasExistentes() {
+        CanalInvalidacaoConta canalObservado = spy(new CanalInvalidacaoContaEmMemoria());
+        ContaCache cache = new ContaCache(new CacheContasProperties(), canalObservado);
+
+        cache.aoAlterarContas(ContasAlteradasEvent.criadas(List.of(1L, 2L)));
+        verify(canalObservado, never()).publicar(anyString(), any());
+
+        cache.aoAlterarContas(ContasAlteradasEvent.of(1L));
+        verify(canalObservado).publicar(anyString(), any());
+    }
+
+    private static Optional<ContaResponse> carregar(Long id, AtomicInteger carregamentos) {
+        carregamentos.incrementAndGet();
+        return Optional.of(new ContaResponse(id, null, null, null, null, null, 0L));
+    }
+}
@@ -0,0 +1,197 @@
+package com.rocksti.pagafacil.cadastro;
+
+import com.rocksti.pagafacil.configuration.CadastroAgrupadoProperties;
+import com.rocksti.pagafacil.datasource.RoteamentoDataSource;
+import com.rocksti.pagafacil.dto.request.ContaRequest;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.exception.BadRequestException;
+import com.rocksti.pagafacil.exception.ServiceUnavailableException;
+import com.rocksti.pagafacil.repository.ContaRepository;
+import com.rocksti.pagafacil.service.ContaService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "pagafacil.cadastro.agrupamento.habilitado=true",
+        "pagafacil.cadastro.agrupamento.intervalo=200ms",
+        "pagafacil.cadastro.agrupamento.tamanho-maximo-lote=100"
+})
+class CadastroContaAgrupadoTest {
+
+    private static final int CADASTROS = 40;
+
+    @Autowired
+    private CadastroConta cadastroConta;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void agruparCadastrosConcorrentesEmUmaTransacao() throws Exception {
+        assertInstanceOf(CadastroContaAgrupado.class, cadastroConta);
+
+        List<Future<ContaEntity>> resultados = cadastrarConcorrentemente(IntStream.range(0, CADASTROS)
+                .mapToObj(i -> conta("Agrupada " + i, BigDecimal.valueOf(i + 1)))
+                .toList());
+
+        HashSet<Long> ids = new HashSet<>();
+        for (int i = 0; i < CADASTROS; i++) {
+            ContaEntity conta = resultados.get(i).get();
+            ids.add(conta.getId());
+            assertEquals("Agrupada " + i, contaRepository.findById(conta.getId()).orElseThrow().getDescricao());
+        }
+        assertEquals(CADASTROS, ids.size());
+
+        DistributionSummary lotes = meterRegistry.get("pagafacil.cadastro.agrupamento.lote").summary();
+        assertTrue(lotes.max() > 1);
+        assertTrue(lotes.count() < CADASTROS);
+    }
+
+    @Test
+    void devolverErroApenasAoCadastroInvalido() throws Exception {
+        List<ContaRequest> contas = new ArrayList<>(IntStream.range(0, 5)
+                .mapToObj(i -> conta("Lote com erro " + i, BigDecimal.TEN))
+                .toList());
+        contas.set(2, conta("Sem valor", null));
+
+        List<Future<ContaEntity>> resultados = cadastrarConcorrentemente(contas);
+
+        for (int i = 0; i < contas.size(); i++) {
+            if (i == 2) {
+                ExecutionException erro = assertThrows(ExecutionException.class, resultados.get(i)::get);
+                assertInstanceOf(DataIntegrityViolationException.class, erro.getCause());
+            } else {
+                Long id = resultados.get(i).get().getId();
+                assertEquals(contas.get(i).getDescricao(), contaRepository.findById(id).orElseThrow().getDescricao());
+            }
+        }
+    }
+
+    @Test
+    void recusarValorInvalidoAntesDaFila() throws Exception {
+        ContaService contaService = mock(ContaService.class);
+        CadastroContaAgrupado cadastro = new CadastroContaAgrupado(contaService, new CadastroAgrupadoProperties(),
+                new SimpleMeterRegistry(), null);
+        try {
+            assertThrows(BadRequestException.class, () -> cadastro.cadastrar(conta("Centésimo de centavo", new BigDecimal("10.005"))));
+        } finally {
+            cadastro.encerrar();
+        }
+
+        verifyNoInteractions(contaService);
+    }
+
+    @Test
+    void abrirJanelaDeLeituraDeCadaUsuarioAposOCommit() throws Exception {
+        ContaService contaService = mock(ContaService.class);
+        when(contaService.cadastrarContas(anyList())).thenAnswer(invocacao -> invocacao.<List<ContaRequest>>getArgument(0).stream()
+                .map(conta -> new ContaEntity().setDescricao(conta.getDescricao()))
+                .toList());
+        RoteamentoDataSource roteamentoDataSource = mock(RoteamentoDataSource.class);
+        CadastroContaAgrupado agrupado = new CadastroContaAgrupado(contaService, propriedades(Duration.ofSeconds(5)),
+                new SimpleMeterRegistry(), roteamentoDataSource);
+        try {
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            List<Future<ContaEntity>> resultados = List.of("ana", "bruno").stream()
+                    .map(usuario -> executor.submit(() -> {
+                        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(usuario, null));
+                        try {
+                            return agrupado.cadastrar(conta("Conta de " + usuario, BigDecimal.TEN));
+                        } finally {
+                            SecurityContextHolder.clearContext();
+                        }
+                    }))
+                    .toList();
+            executor.shutdown();
+
+            assertEquals("Conta de ana", resultados.get(0).get().getDescricao());
+            assertEquals("Conta de bruno", resultados.get(1).get().getDescricao());
+            verify(roteamentoDataSource).registrarEscritaConfirmada("ana");
+            verify(roteamentoDataSource).registrarEscritaConfirmada("bruno");
+        } finally {
+            agrupado.encerrar();
+        }
+    }
+
+    @Test
+    void desistirDoCadastroNaoConfirmadoNoTempoDeEspera() throws Exception {
+        CountDownLatch liberacao = new CountDownLatch(1);
+        ContaService contaService = mock(ContaService.class);
+        when(contaService.cadastrarContas(anyList())).thenAnswer(invocacao -> {
+            liberacao.await();
+            return List.of(new ContaEntity());
+        });
+        CadastroContaAgrupado agrupado = new CadastroContaAgrupado(contaService, propriedades(Duration.ofMillis(200)),
+                new SimpleMeterRegistry(), null);
+        try {
+            assertThrows(ServiceUnavailableException.class, () -> agrupado.cadastrar(conta("Demorada", BigDecimal.TEN)));
+        } finally {
+            liberacao.countDown();
+            agrupado.encerrar();
+        }
+    }
+
+    private static CadastroAgrupadoProperties propriedades(Duration tempoMaximoEspera) {
+        CadastroAgrupadoProperties properties = new CadastroAgrupadoProperties();
+        properties.setIntervalo(Duration.ofMillis(100));
+        properties.setTempoMaximoEspera(tempoMaximoEspera);
+        return properties;
+    }
+
+    private List<Future<ContaEntity>> cadastrarConcorrentemente(List<ContaRequest> contas) {
+        ExecutorService executor = Executors.newFixedThreadPool(contas.size());
+        try {
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Future<ContaEntity>> resultados = contas.stream()
+                    .map(conta -> executor.submit(() -> {
+                        largada.await();
+                        return cadastroConta.cadastrar(conta);
+                    }))
+                    .toList();
+            largada.countDown();
+            return resultados;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static ContaRequest conta(String descricao, BigDecimal valor) {
+        return new ContaRequest()
+                .setDescricao(descricao)
+                .setValor(valor)
+                .setDataVencimento(LocalDate.of(2033, 4, 12));
+    }
+}
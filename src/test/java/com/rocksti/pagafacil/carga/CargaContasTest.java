@@ -0,0 +1,215 @@
+package com.rocksti.pagafacil.carga;
+
+import lombok.extern.log4j.Log4j2;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Teste de carga da API de contas sobre o H2 dos testes. Executado apenas pelo perfil {@code carga}; os parâmetros
+ * são lidos de propriedades de sistema {@code carga.*} e o relatório é gravado em JSON para comparação entre versões.
+ */
+@Log4j2
+@Tag("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.org.hibernate.SQL_SLOW=OFF",
+        "pagafacil.cache.contas.tamanho-maximo=100000"
+})
+class CargaContasTest {
+
+    private static final long CONTAS = Long.getLong("carga.contas", 1_000_000);
+    private static final int CONCORRENCIA = Integer.getInteger("carga.concorrencia", 32);
+    private static final Duration AQUECIMENTO = Duration.ofSeconds(Long.getLong("carga.aquecimento-segundos", 10));
+    private static final Duration MEDICAO = Duration.ofSeconds(Long.getLong("carga.duracao-segundos", 60));
+    private static final String MIX = System.getProperty("carga.mix", "buscar-contas-a-pagar=80,alterar-situacao=15,importar-csv=5");
+    private static final Path DIRETORIO = Path.of(System.getProperty("carga.diretorio", "target/carga"));
+    private static final String COMPARAR_COM = System.getProperty("carga.comparar-com");
+    private static final String AUTORIZACAO = "Basic " + Base64.getEncoder()
+            .encodeToString("admin:secret".getBytes(StandardCharsets.UTF_8));
+    private static final long LATENCIA_MAXIMA_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void executarCarga() throws Exception {
+        Map<OperacaoCarga, Integer> mix = lerMix();
+        long[] ids = popular();
+        URI base = URI.create("http://localhost:" + porta);
+
+        executar(base, ids, mix, AQUECIMENTO);
+        Map<OperacaoCarga, Estatistica> estatisticas = executar(base, ids, mix, MEDICAO);
+
+        RelatorioCarga relatorio = new RelatorioCarga()
+                .setRotulo(rotulo())
+                .setExecutadoEm(OffsetDateTime.now())
+                .setContas(CONTAS)
+                .setConcorrencia(CONCORRENCIA)
+                .setDuracaoSegundos(MEDICAO.toSeconds());
+        mix.forEach((operacao, peso) -> relatorio.getMix().put(operacao.getNome(), peso));
+
+        Histogram total = new Histogram(LATENCIA_MAXIMA_MICROS, 3);
+        Map<Integer, Long> situacoesTotais = new TreeMap<>();
+        long errosTotais = 0;
+        for (Map.Entry<OperacaoCarga, Estatistica> entrada : estatisticas.entrySet()) {
+            Estatistica estatistica = entrada.getValue();
+            Map<Integer, Long> situacoes = estatistica.situacoes();
+            relatorio.getOperacoes().add(RelatorioCarga.ResultadoOperacao.of(entrada.getKey().getNome(),
+                    estatistica.latencias, MEDICAO.toSeconds(), estatistica.erros.sum(), situacoes));
+            total.add(estatistica.latencias);
+            situacoes.forEach((situacao, quantidade) -> situacoesTotais.merge(situacao, quantidade, Long::sum));
+            errosTotais += estatistica.erros.sum();
+        }
+        relatorio.setTotal(RelatorioCarga.ResultadoOperacao.of("total", total, MEDICAO.toSeconds(), errosTotais, situacoesTotais));
+
+        Path arquivo = DIRETORIO.resolve("relatorio-" + relatorio.getRotulo() + ".json");
+        relatorio.gravar(arquivo);
+        RelatorioCarga base0 = COMPARAR_COM != null ? RelatorioCarga.ler(Path.of(COMPARAR_COM)) : null;
+        log.info("{}Relatório gravado em {}", relatorio.formatar(base0), arquivo.toAbsolutePath());
+
+        assertEquals(0, errosTotais);
+    }
+
+    private long[] popular() {
+        LocalDate hoje = LocalDate.now();
+        long inicio = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO contas (id, data_vencimento, valor_centavos, descricao, situacao, versao) "
+                            + "SELECT NEXT VALUE FOR contas_seq, DATEADD(DAY, MOD(X, 365), CAST(? AS DATE)), MOD(X, 100000) + 100, "
+                            + "CONCAT('Carga ', X), 'PENDENTE', 0 FROM SYSTEM_RANGE(1, ?)", hoje, CONTAS);
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_carga_contas_vencimento ON contas (data_vencimento)");
+        long[] ids = jdbcTemplate.queryForList("SELECT id FROM contas WHERE descricao LIKE 'Carga %'", Long.class)
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+        log.info("{} contas inseridas em {} ms", ids.length, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        return ids;
+    }
+
+    private Map<OperacaoCarga, Estatistica> executar(URI base, long[] ids, Map<OperacaoCarga, Integer> mix, Duration duracao)
+            throws Exception {
+        Map<OperacaoCarga, Estatistica> estatisticas = new EnumMap<>(OperacaoCarga.class);
+        mix.keySet().forEach(operacao -> estatisticas.put(operacao, new Estatistica()));
+        OperacaoCarga[] sorteio = mix.entrySet().stream()
+                .flatMap(entrada -> Collections.nCopies(entrada.getValue(), entrada.getKey()).stream())
+                .toArray(OperacaoCarga[]::new);
+        long fim = System.nanoTime() + duracao.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCORRENCIA);
+        List<Future<?>> clientes = new ArrayList<>(CONCORRENCIA);
+        for (int i = 0; i < CONCORRENCIA; i++) {
+            clientes.add(executor.submit(() -> {
+                Random random = ThreadLocalRandom.current();
+                while (System.nanoTime() < fim) {
+                    OperacaoCarga operacao = sorteio[random.nextInt(sorteio.length)];
+                    HttpRequest requisicao = operacao.criar(base, ids, random)
+                            .header(HttpHeaders.AUTHORIZATION, AUTORIZACAO)
+                            .build();
+                    long inicio = System.nanoTime();
+                    int situacao;
+                    try {
+                        situacao = httpClient.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (IOException e) {
+                        situacao = -1;
+                    }
+                    estatisticas.get(operacao).registrar(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicio), situacao);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> cliente : clientes) {
+            cliente.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        return estatisticas;
+    }
+
+    private static Map<OperacaoCarga, Integer> lerMix() {
+        Map<OperacaoCarga, Integer> mix = new LinkedHashMap<>();
+        for (String item : MIX.split(",")) {
+            String[] partes = item.trim().split("=");
+            mix.put(OperacaoCarga.doNome(partes[0].trim()), Integer.parseInt(partes[1].trim()));
+        }
+        return mix;
+    }
+
+    private static String rotulo() {
+        String rotulo = System.getProperty("carga.rotulo");
+        if (rotulo != null) {
+            return rotulo;
+        }
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String commit = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            if (git.waitFor() == 0 && !commit.isEmpty()) {
+                return commit;
+            }
+        } catch (IOException e) {
+            log.debug("Não foi possível obter o commit atual", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "local";
+    }
+
+    private static class Estatistica {
+        private final Histogram latencias = new ConcurrentHistogram(LATENCIA_MAXIMA_MICROS, 3);
+        private final Map<Integer, LongAdder> situacoes = new ConcurrentHashMap<>();
+        private final LongAdder erros = new LongAdder();
+
+        private void registrar(long micros, int situacao) {
+            latencias.recordValue(Math.min(micros, LATENCIA_MAXIMA_MICROS));
+            situacoes.computeIfAbsent(situacao, chave -> new LongAdder()).increment();
+            // 409 é o conflito de versão esperado quando dois clientes alteram a mesma conta
+            if ((situacao < 200 || situacao >= 300) && situacao != 409) {
+                erros.increment();
+            }
+        }
+
+        private Map<Integer, Long> situacoes() {
+            Map<Integer, Long> resultado = new TreeMap<>();
+            situacoes.forEach((situacao, quantidade) -> resultado.put(situacao, quantidade.sum()));
+            return resultado;
+        }
+    }
+}
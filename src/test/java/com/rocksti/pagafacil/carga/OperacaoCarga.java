@@ -0,0 +1,88 @@
+package com.rocksti.pagafacil.carga;
+
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+
+enum OperacaoCarga {
+    BUSCAR_CONTAS_A_PAGAR("buscar-contas-a-pagar") {
+        @Override
+        HttpRequest.Builder criar(URI base, long[] ids, Random random) {
+            String filtro = random.nextBoolean() ? "&dataVencimento=" + LocalDate.now().plusDays(random.nextInt(365)) : "";
+            return HttpRequest.newBuilder(base.resolve("/contas/buscar-contas-a-pagar?size=20&page=" + random.nextInt(50) + filtro))
+                    .GET();
+        }
+    },
+    BUSCAR("buscar") {
+        @Override
+        HttpRequest.Builder criar(URI base, long[] ids, Random random) {
+            return HttpRequest.newBuilder(base.resolve("/contas/buscar/" + ids[random.nextInt(ids.length)])).GET();
+        }
+    },
+    VALOR_TOTAL_PAGO("valor-total-pago") {
+        @Override
+        HttpRequest.Builder criar(URI base, long[] ids, Random random) {
+            LocalDate hoje = LocalDate.now();
+            return HttpRequest.newBuilder(base.resolve("/contas/valor-total-pago?dataInicio=" + hoje.minusDays(random.nextInt(365))
+                                                       + "&dataFim=" + hoje)).GET();
+        }
+    },
+    ALTERAR_SITUACAO("alterar-situacao") {
+        @Override
+        HttpRequest.Builder criar(URI base, long[] ids, Random random) {
+            SituacaoConta situacao = random.nextBoolean() ? SituacaoConta.PAGO : SituacaoConta.PENDENTE;
+            return HttpRequest.newBuilder(base.resolve("/contas/alterar-situacao/" + ids[random.nextInt(ids.length)]
+                                                       + "?situacao=" + situacao))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody());
+        }
+    },
+    IMPORTAR_CSV("importar-csv") {
+        @Override
+        HttpRequest.Builder criar(URI base, long[] ids, Random random) {
+            String limite = "carga" + Long.toHexString(random.nextLong());
+            StringBuilder corpo = new StringBuilder()
+                    .append("--").append(limite).append("\r\n")
+                    .append("Content-Disposition: form-data; name=\"arquivo\"; filename=\"carga.csv\"\r\n")
+                    .append("Content-Type: text/csv\r\n\r\n")
+                    .append("descricao,valor,dataVencimento\n");
+            LocalDate hoje = LocalDate.now();
+            for (int i = 0; i < LINHAS_IMPORTACAO; i++) {
+                corpo.append("Importação carga ").append(i).append(',')
+                        .append(random.nextInt(100_000) / 100d).append(',')
+                        .append(hoje.plusDays(random.nextInt(365))).append('\n');
+            }
+            corpo.append("\r\n--").append(limite).append("--\r\n");
+            return HttpRequest.newBuilder(base.resolve("/contas/importar-csv"))
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.MULTIPART_FORM_DATA_VALUE + "; boundary=" + limite)
+                    .POST(HttpRequest.BodyPublishers.ofString(corpo.toString(), StandardCharsets.UTF_8));
+        }
+    };
+
+    private static final int LINHAS_IMPORTACAO = Integer.getInteger("carga.linhas-importacao", 100);
+
+    private final String nome;
+
+    OperacaoCarga(String nome) {
+        this.nome = nome;
+    }
+
+    String getNome() {
+        return nome;
+    }
+
+    abstract HttpRequest.Builder criar(URI base, long[] ids, Random random);
+
+    static OperacaoCarga doNome(String nome) {
+        return Arrays.stream(values())
+                .filter(operacao -> operacao.nome.equals(nome))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Operação de carga desconhecida: " + nome));
+    }
+}
@@ -0,0 +1,114 @@
+package com.rocksti.pagafacil.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+public class RelatorioCarga {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private String rotulo;
+    private OffsetDateTime executadoEm;
+    private long contas;
+    private int concorrencia;
+    private long duracaoSegundos;
+    private Map<String, Integer> mix = new LinkedHashMap<>();
+    private List<ResultadoOperacao> operacoes = new ArrayList<>();
+    private ResultadoOperacao total;
+
+    public void gravar(Path arquivo) throws IOException {
+        Files.createDirectories(arquivo.toAbsolutePath().getParent());
+        OBJECT_MAPPER.writeValue(arquivo.toFile(), this);
+    }
+
+    public static RelatorioCarga ler(Path arquivo) throws IOException {
+        return OBJECT_MAPPER.readValue(arquivo.toFile(), RelatorioCarga.class);
+    }
+
+    public String formatar(RelatorioCarga base) {
+        StringBuilder texto = new StringBuilder(String.format("%n%s: %d contas, concorrência %d, medição de %ds%n",
+                rotulo, contas, concorrencia, duracaoSegundos));
+        if (base != null) {
+            texto.append(String.format("Comparado com %s (variação entre parênteses)%n", base.rotulo));
+        }
+        texto.append(String.format("%-24s %10s %20s %20s %20s %20s %8s%n",
+                "operação", "requisições", "req/s", "p50 (ms)", "p95 (ms)", "p99 (ms)", "erros"));
+
+        List<ResultadoOperacao> linhas = new ArrayList<>(operacoes);
+        linhas.add(total);
+        for (ResultadoOperacao resultado : linhas) {
+            Optional<ResultadoOperacao> anterior = base == null ? Optional.empty() : base.buscar(resultado.nome);
+            texto.append(String.format("%-24s %10d %20s %20s %20s %20s %8d%n",
+                    resultado.nome,
+                    resultado.requisicoes,
+                    comVariacao(resultado.requisicoesPorSegundo, anterior.map(ResultadoOperacao::getRequisicoesPorSegundo)),
+                    comVariacao(resultado.p50Ms, anterior.map(ResultadoOperacao::getP50Ms)),
+                    comVariacao(resultado.p95Ms, anterior.map(ResultadoOperacao::getP95Ms)),
+                    comVariacao(resultado.p99Ms, anterior.map(ResultadoOperacao::getP99Ms)),
+                    resultado.erros));
+        }
+        return texto.toString();
+    }
+
+    private Optional<ResultadoOperacao> buscar(String nome) {
+        if (total != null && total.nome.equals(nome)) {
+            return Optional.of(total);
+        }
+        return operacoes.stream().filter(operacao -> operacao.nome.equals(nome)).findFirst();
+    }
+
+    private static String comVariacao(double valor, Optional<Double> anterior) {
+        return anterior.filter(base -> base > 0)
+                .map(base -> String.format("%.2f (%+.1f%%)", valor, (valor - base) * 100 / base))
+                .orElseGet(() -> String.format("%.2f", valor));
+    }
+
+    @Getter
+    @Setter
+    @Accessors(chain = true)
+    public static class ResultadoOperacao {
+        private String nome;
+        private long requisicoes;
+        private double requisicoesPorSegundo;
+        private double p50Ms;
+        private double p95Ms;
+        private double p99Ms;
+        private double maximoMs;
+        private long erros;
+        private Map<Integer, Long> situacoesHttp = new LinkedHashMap<>();
+
+        public static ResultadoOperacao of(String nome, Histogram latenciasMicros, long segundos, long erros,
+                                           Map<Integer, Long> situacoesHttp) {
+            return new ResultadoOperacao()
+                    .setNome(nome)
+                    .setRequisicoes(latenciasMicros.getTotalCount())
+                    .setRequisicoesPorSegundo(latenciasMicros.getTotalCount() / (double) segundos)
+                    .setP50Ms(latenciasMicros.getValueAtPercentile(50) / 1000d)
+                    .setP95Ms(latenciasMicros.getValueAtPercentile(95) / 1000d)
+                    .setP99Ms(latenciasMicros.getValueAtPercentile(99) / 1000d)
+                    .setMaximoMs(latenciasMicros.getMaxValue() / 1000d)
+                    .setErros(erros)
+                    .setSituacoesHttp(situacoesHttp);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.rocksti.pagafacil.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.rocksti.pagafacil.dto.response.PaginaCompacta;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.repository.ContaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ContaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Test
+    void buscarContaRespeitaIfNoneMatchEIfMatch() throws Exception {
+        ContaEntity conta = contaRepository.save(new ContaEntity()
+                .setDescricao("ETag")
+                .setValorCentavos(1500L)
+                .setDataVencimento(LocalDate.now().plusDays(10))
+                .setSituacao(SituacaoConta.PENDENTE));
+        String url = "/contas/buscar/" + conta.getId();
+
+        String etag = mockMvc.perform(get(url).with(httpBasic("admin", "secret")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(url).with(httpBasic("admin", "secret")).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(patch("/contas/alterar-situacao/" + conta.getId()).with(httpBasic("admin", "secret"))
+                        .param("situacao", "PAGO")
+                        .header(HttpHeaders.IF_MATCH, "\"7\""))
+                .andExpect(status().isPreconditionFailed());
+
+        String novaEtag = mockMvc.perform(patch("/contas/alterar-situacao/" + conta.getId()).with(httpBasic("admin", "secret"))
+                        .param("situacao", "PAGO")
+                        .header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals("\"1\"", novaEtag);
+
+        mockMvc.perform(get(url).with(httpBasic("admin", "secret")).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, novaEtag));
+    }
+
+    @Test
+    void buscarContasAPagarRespeitaIfNoneMatch() throws Exception {
+        LocalDate vencimento = LocalDate.of(2031, 3, 17);
+        ContaEntity conta = contaRepository.save(new ContaEntity()
+                .setDescricao("ETag lista")
+                .setValorCentavos(2500L)
+                .setDataVencimento(vencimento)
+                .setSituacao(SituacaoConta.PENDENTE));
+
+        String etag = mockMvc.perform(get("/contas/buscar-contas-a-pagar").with(httpBasic("admin", "secret"))
+                        .param("dataVencimento", vencimento.toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/contas/buscar-contas-a-pagar").with(httpBasic("admin", "secret"))
+                        .param("dataVencimento", vencimento.toString())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        contaRepository.save(conta.setValorCentavos(3000L));
+
+        String novaEtag = mockMvc.perform(get("/contas/buscar-contas-a-pagar").with(httpBasic("admin", "secret"))
+                        .param("dataVencimento", vencimento.toString())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, novaEtag);
+    }
+
+    @Test
+    void buscarContasAPagarNegociaFormatoCompacto() throws Exception {
+        LocalDate vencimento = LocalDate.of(2031, 5, 9);
+        contaRepository.save(new ContaEntity()
+                .setDescricao("Formato compacto")
+                .setValorCentavos(4250L)
+                .setDataVencimento(vencimento)
+                .setSituacao(SituacaoConta.PENDENTE));
+
+        mockMvc.perform(get("/contas/buscar-contas-a-pagar").with(httpBasic("admin", "secret"))
+                        .param("dataVencimento", vencimento.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content[0].descricao").value("Formato compacto"))
+                .andExpect(jsonPath("$.pageable").exists());
+
+        String etagCompacta = mockMvc.perform(get("/contas/buscar-contas-a-pagar").with(httpBasic("admin", "secret"))
+                        .param("dataVencimento", vencimento.toString())
+                        .accept(PaginaCompacta.MEDIA_TYPE_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PaginaCompacta.MEDIA_TYPE_JSON))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andExpect(jsonPath("$.conteudo[0].descricao").value("Formato compacto"))
+                .andExpect(jsonPath("$.conteudo[0].dataVencimento").value(vencimento.toString()))
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.pageable").doesNotExist())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult cbor = mockMvc.perform(get("/contas/buscar-contas-a-pagar").with(httpBasic("admin", "secret"))
+                        .param("dataVencimento", vencimento.toString())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+        JsonNode pagina = new CBORMapper().readTree(cbor.getResponse().getContentAsByteArray());
+        assertEquals("Formato compacto", pagina.at("/conteudo/0/descricao").asText());
+        assertEquals(vencimento.toString(), pagina.at("/conteudo/0/dataVencimento").asText());
+        assertEquals(1, pagina.get("total").asLong());
+        assertTrue(etagCompacta.startsWith("W/"));
+        assertNotEquals(etagCompacta, cbor.getResponse().getHeader(HttpHeaders.ETAG));
+
+        mockMvc.perform(get("/contas/buscar-contas-a-pagar").with(httpBasic("admin", "secret"))
+                        .param("dataVencimento", vencimento.toString())
+                        .accept(PaginaCompacta.MEDIA_TYPE_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, etagCompacta))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void exportarContasComoCsv() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/contas/exportar").with(httpBasic("admin", "secret"))
+                        .param("situacao", "ATRASADO")
+                        .param("dataVencimentoInicio", "2040-01-01"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"contas.csv\""))
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string("dataVencimento,descricao,valor,id,situacao,dataPagamento\n"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.rocksti.pagafacil.controller;
+
+import com.rocksti.pagafacil.dto.filtro.CursorConta;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.repository.ContaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "pagafacil.reativo.habilitado=true")
+@AutoConfigureMockMvc
+class ContaReativaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Test
+    void buscarContasAPagarPorCursor() throws Exception {
+        LocalDate vencimento = LocalDate.of(2032, 5, 11);
+        List<ContaEntity> contas = contaRepository.saveAll(List.of(
+                conta("Reativo 1", vencimento, SituacaoConta.PENDENTE),
+                conta("Reativo 2", vencimento, SituacaoConta.ATRASADO),
+                conta("Reativo 3", vencimento, SituacaoConta.PAGO),
+                conta("Reativo 4", vencimento, SituacaoConta.PENDENTE)));
+
+        MvcResult primeiraPagina = mockMvc.perform(get("/contas/reativo/buscar-contas-a-pagar").with(httpBasic("admin", "secret"))
+                        .param("dataVencimento", vencimento.toString())
+                        .param("tamanho", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(primeiraPagina))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(contas.get(0).getId()))
+                .andExpect(jsonPath("$[1].id").value(contas.get(1).getId()));
+
+        String cursor = new CursorConta(vencimento, contas.get(1).getId()).codificar();
+        MvcResult segundaPagina = mockMvc.perform(get("/contas/reativo/buscar-contas-a-pagar").with(httpBasic("admin", "secret"))
+                        .param("dataVencimento", vencimento.toString())
+                        .param("cursor", cursor))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(segundaPagina))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].descricao").value("Reativo 4"));
+    }
+
+    @Test
+    void buscarContasAPagarComoNdjson() throws Exception {
+        LocalDate vencimento = LocalDate.of(2032, 6, 21);
+        contaRepository.saveAll(List.of(
+                conta("Ndjson 1", vencimento, SituacaoConta.PENDENTE),
+                conta("Ndjson 2", vencimento, SituacaoConta.PENDENTE)));
+
+        MvcResult resultado = mockMvc.perform(get("/contas/reativo/buscar-contas-a-pagar").with(httpBasic("admin", "secret"))
+                        .param("dataVencimento", vencimento.toString())
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        resultado.getAsyncResult();
+
+        String[] linhas = resultado.getResponse().getContentAsString().trim().split("\n");
+        assertEquals(2, linhas.length);
+        assertTrue(linhas[0].contains("Ndjson 1"));
+    }
+
+    @Test
+    void obterValorTotalPagoComPeriodoInvalido() throws Exception {
+        mockMvc.perform(get("/contas/reativo/valor-total-pago").with(httpBasic("admin", "secret"))
+                        .param("dataInicio", "2024-10-10")
+                        .param("dataFim", "2024-10-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static ContaEntity conta(String descricao, LocalDate vencimento, SituacaoConta situacao) {
+        return new ContaEntity()
+                .setDescricao(descricao)
+                .setValorCentavos(1000L)
+                .setDataVencimento(vencimento)
+                .setSituacao(situacao)
+                .setDataPagamento(situacao == SituacaoConta.PAGO ? vencimento : null);
+    }
+}
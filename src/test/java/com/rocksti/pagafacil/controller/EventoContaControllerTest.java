@@ -0,0 +1,143 @@
+package com.rocksti.pagafacil.controller;
+
+import com.rocksti.pagafacil.dto.request.ContaRequest;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.repository.EventoContaRepository;
+import com.rocksti.pagafacil.service.ContaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = "pagafacil.eventos.espera-lacuna=200ms")
+@AutoConfigureMockMvc
+class EventoContaControllerTest {
+
+    private static final long ESPERA_MAXIMA_MILLIS = 5_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private EventoContaRepository eventoContaRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void transmitirEventosAPartirDaPosicaoInformada() throws Exception {
+        long posicao = eventoContaRepository.obterUltimoId();
+        ContaEntity anterior = contaService.cadastrarConta(conta("Antes da assinatura"));
+
+        MvcResult assinatura = mockMvc.perform(get("/contas/eventos").with(httpBasic("admin", "secret"))
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", String.valueOf(posicao)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ContaEntity nova = contaService.cadastrarConta(conta("Depois da assinatura"));
+
+        String eventos = aguardarConteudo(assinatura, "\"contaId\":" + nova.getId());
+        assertTrue(eventos.contains("event:conta"));
+        assertTrue(eventos.contains("id:" + (posicao + 1)));
+        assertTrue(eventos.contains("\"contaId\":" + anterior.getId() + ",\"tipo\":\"CRIADA\""));
+    }
+
+    @Test
+    void iniciarNoEventoMaisRecenteSemPosicao() throws Exception {
+        ContaEntity anterior = contaService.cadastrarConta(conta("Ignorada pela assinatura"));
+
+        MvcResult assinatura = mockMvc.perform(get("/contas/eventos").with(httpBasic("admin", "secret"))
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ContaEntity nova = contaService.cadastrarConta(conta("Recebida pela assinatura"));
+
+        String eventos = aguardarConteudo(assinatura, "\"contaId\":" + nova.getId());
+        assertFalse(eventos.contains("\"contaId\":" + anterior.getId() + ","));
+    }
+
+    @Test
+    void entregarNaReconexaoEventoConfirmadoDepoisDaDesconexao() throws Exception {
+        long posicao = eventoContaRepository.obterUltimoId();
+        CountDownLatch confirmar = new CountDownLatch(1);
+        CountDownLatch gravada = new CountDownLatch(1);
+        CompletableFuture<Long> tardia = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            ContaEntity conta = contaService.cadastrarConta(conta("Confirmada depois"));
+            gravada.countDown();
+            aguardar(confirmar);
+            return conta.getId();
+        }));
+        assertTrue(gravada.await(ESPERA_MAXIMA_MILLIS, TimeUnit.MILLISECONDS));
+        ContaEntity seguinte = contaService.cadastrarConta(conta("Confirmada antes"));
+
+        // a primeira assinatura passa da lacuna deixada pela transação ainda aberta e informa o id pulado na posição
+        MvcResult primeira = mockMvc.perform(get("/contas/eventos").with(httpBasic("admin", "secret"))
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", String.valueOf(posicao)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String ultimoId = aguardarConteudo(primeira, "\"contaId\":" + seguinte.getId()).lines()
+                .filter(linha -> linha.startsWith("id:"))
+                .reduce((anterior, linha) -> linha)
+                .orElseThrow()
+                .substring("id:".length());
+        assertEquals((posicao + 2) + ":" + (posicao + 1), ultimoId);
+
+        confirmar.countDown();
+        Long tardiaId = tardia.get(ESPERA_MAXIMA_MILLIS, TimeUnit.MILLISECONDS);
+        MvcResult reconexao = mockMvc.perform(get("/contas/eventos").with(httpBasic("admin", "secret"))
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", ultimoId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String eventos = aguardarConteudo(reconexao, "\"contaId\":" + tardiaId + ",");
+        assertFalse(eventos.contains("\"contaId\":" + seguinte.getId() + ","));
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(ESPERA_MAXIMA_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String aguardarConteudo(MvcResult resultado, String trecho) throws Exception {
+        long limite = System.currentTimeMillis() + ESPERA_MAXIMA_MILLIS;
+        String conteudo = resultado.getResponse().getContentAsString();
+        while (!conteudo.contains(trecho) && System.currentTimeMillis() < limite) {
+            Thread.sleep(50);
+            conteudo = resultado.getResponse().getContentAsString();
+        }
+        assertTrue(conteudo.contains(trecho), conteudo);
+        return conteudo;
+    }
+
+    private static ContaRequest conta(String descricao) {
+        return new ContaRequest()
+                .setDescricao(descricao)
+                .setValor(BigDecimal.ONE)
+                .setDataVencimento(LocalDate.of(2032, 9, 1));
+    }
+}
@@ -0,0 +1,233 @@
+package com.rocksti.pagafacil.csv;
+
+import com.opencsv.bean.CsvToBean;
+import com.opencsv.bean.CsvToBeanBuilder;
+import com.opencsv.bean.HeaderColumnNameMappingStrategy;
+import com.opencsv.exceptions.CsvConstraintViolationException;
+import com.rocksti.pagafacil.configuration.ImportacaoProperties;
+import com.rocksti.pagafacil.dto.Centavos;
+import com.rocksti.pagafacil.dto.ContaCsvDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ContaCsvParserTest {
+
+    private static final String[] DESCRICOES = {
+            "Conta de luz", "Conta de água", "Aluguel, apartamento", "Tela 27\" polegadas", "C:\\boletos\\maio",
+            "  espaços  ", "", "multi\nlinha", "multi\r\nlinha", "a\"\"b", "\\\"", "x\\,y", "  \"citação\"", "ab\"c\"d"
+    };
+    private static final String[] VALORES = {
+            "100.0", "1500.75", " 10.5 ", "-0.00", ".5", "5.", "1e3", "+3", "abc", "", "   ", "0050.10",
+            "12345678901234567890.25", "1.2.3", "-", "١٢"
+    };
+    private static final String[] DATAS = {
+            "2024-09-25", "2024-02-29", "2023-02-29", "2024-02-30", "2024-04-31", "2024-13-01", "2024-1-01",
+            " 2024-01-01", "0000-01-01", "0001-01-01", "+2024-01-01", "", "  ", "2024/01/01"
+    };
+
+    @TempDir
+    private Path diretorio;
+
+    private ContaCsvParser contaCsvParser;
+
+    @BeforeEach
+    void setUp() {
+        ImportacaoProperties importacaoProperties = new ImportacaoProperties();
+        importacaoProperties.setThreadsLeitura(4);
+        importacaoProperties.setTamanhoSegmento(DataSize.ofBytes(64));
+        contaCsvParser = new ContaCsvParser(importacaoProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        contaCsvParser.encerrar();
+    }
+
+    @Test
+    void lerContas() throws IOException {
+        Leitura leitura = ler("descricao,valor,dataVencimento\n"
+                              + "Conta 1,100.0,2024-09-25\r\n"
+                              + "\"Conta, 2\",\"200.50\",2024-02-30\n"
+                              + "Conta 3,abc,2024-09-27\n"
+                              + "\n"
+                              + "\"Conta\n4\",400,2024-09-28");
+
+        assertEquals(3, leitura.contas.size());
+        assertConta(leitura.contas.get(0), "Conta 1", new BigDecimal("100.0"), LocalDate.of(2024, 9, 25));
+        assertConta(leitura.contas.get(1), "Conta, 2", new BigDecimal("200.50"), LocalDate.of(2024, 2, 29));
+        assertConta(leitura.contas.get(2), "Conta\n4", new BigDecimal("400"), LocalDate.of(2024, 9, 28));
+        assertEquals(List.of(4L, 5L), leitura.linhasInvalidas.stream().map(LinhaInvalidaCsv::getLinha).toList());
+    }
+
+    @Test
+    void rejeitarValorForaDosCentavos() throws IOException {
+        Leitura leitura = ler("descricao,valor,dataVencimento\n"
+                              + "Conta 1,10.005,2024-09-25\n"
+                              + "Conta 2,10.050,2024-09-25\n"
+                              + "Conta 3,99999999999999999999,2024-09-25\n");
+
+        assertEquals(1, leitura.contas.size());
+        assertConta(leitura.contas.get(0), "Conta 2", new BigDecimal("10.050"), LocalDate.of(2024, 9, 25));
+        assertEquals(List.of(2L, 4L), leitura.linhasInvalidas.stream().map(LinhaInvalidaCsv::getLinha).toList());
+    }
+
+    @Test
+    void lerCabecalhoEmQualquerOrdem() throws IOException {
+        Leitura leitura = ler(" VALOR ,DataVencimento,codigo,Descricao\n10.00,2024-09-25,A1,Conta 1\n");
+
+        assertEquals(1, leitura.contas.size());
+        assertConta(leitura.contas.get(0), "Conta 1", new BigDecimal("10.00"), LocalDate.of(2024, 9, 25));
+    }
+
+    @Test
+    void lerArquivoVazio() throws IOException {
+        assertEquals(0, ler("").contas.size());
+        assertEquals(0, ler("descricao,valor,dataVencimento\n").contas.size());
+    }
+
+    @Test
+    void lerArquivoComAspasNaoFinalizadas() {
+        IOException exception = assertThrows(IOException.class,
+                () -> ler("descricao,valor,dataVencimento\nConta 1,100.0,2024-09-25\n\"Conta 2,200.0,2024-09-26\n"));
+
+        assertEquals("Aspas não finalizadas no registro iniciado na linha 3", exception.getMessage());
+    }
+
+    @Test
+    void lerComoOpencsv() throws IOException {
+        Random random = new Random(42);
+        for (int arquivo = 0; arquivo < 300; arquivo++) {
+            String csv = gerarCsv(random);
+
+            Leitura esperada = lerComOpencsv(csv);
+            Leitura leitura;
+            try {
+                leitura = ler(csv);
+            } catch (IOException | IllegalStateException e) {
+                leitura = null;
+            }
+
+            if (esperada == null || leitura == null) {
+                assertEquals(esperada == null, leitura == null, csv);
+                continue;
+            }
+            assertEquals(esperada.contas.size(), leitura.contas.size(), csv);
+            assertEquals(esperada.linhasInvalidas.stream().map(LinhaInvalidaCsv::getLinha).distinct().count(),
+                    leitura.linhasInvalidas.size(), csv);
+            for (int i = 0; i < esperada.contas.size(); i++) {
+                ContaCsvDto conta = esperada.contas.get(i);
+                assertConta(leitura.contas.get(i), conta.getDescricao(), conta.getValor(), conta.getDataVencimento());
+            }
+        }
+    }
+
+    private Leitura ler(String csv) throws IOException {
+        Path arquivo = Files.writeString(Files.createTempFile(diretorio, "contas", ".csv"), csv, StandardCharsets.UTF_8);
+        Leitura leitura = new Leitura();
+        try (FileChannel canal = FileChannel.open(arquivo)) {
+            contaCsvParser.ler(canal, leitura.contas::add, leitura.linhasInvalidas::add);
+        }
+        return leitura;
+    }
+
+    private static Leitura lerComOpencsv(String csv) {
+        Leitura leitura = new Leitura();
+        HeaderColumnNameMappingStrategy<ContaCsvDto> strategy = new HeaderColumnNameMappingStrategy<>();
+        strategy.setType(ContaCsvDto.class);
+        CsvToBean<ContaCsvDto> csvToBean = new CsvToBeanBuilder<ContaCsvDto>(new StringReader(csv))
+                .withMappingStrategy(strategy)
+                .withIgnoreLeadingWhiteSpace(true)
+                .withVerifier(conta -> {
+                    if (conta.getValor() != null && !Centavos.representavel(conta.getValor())) {
+                        throw new CsvConstraintViolationException(conta, "Valor inválido");
+                    }
+                    return true;
+                })
+                .withExceptionHandler(e -> {
+                    leitura.linhasInvalidas.add(new LinhaInvalidaCsv(e.getLineNumber(), e.getMessage()));
+                    return null;
+                })
+                .build();
+        try {
+            csvToBean.forEach(leitura.contas::add);
+        } catch (RuntimeException e) {
+            return null;
+        }
+        return leitura;
+    }
+
+    private static String gerarCsv(Random random) {
+        List<String> colunas = new ArrayList<>(List.of("descricao", "valor", "dataVencimento"));
+        if (random.nextInt(4) == 0) {
+            colunas.add(random.nextInt(colunas.size() + 1), "codigo");
+        }
+        if (random.nextBoolean()) {
+            java.util.Collections.shuffle(colunas, random);
+        }
+        String quebra = random.nextInt(3) == 0 ? "\r\n" : "\n";
+        StringBuilder csv = new StringBuilder(String.join(",", colunas)).append(quebra);
+
+        int registros = random.nextInt(40);
+        for (int registro = 0; registro < registros; registro++) {
+            if (random.nextInt(25) == 0) {
+                csv.append(quebra);
+                continue;
+            }
+            List<String> campos = new ArrayList<>();
+            for (String coluna : colunas) {
+                String valor = switch (coluna) {
+                    case "descricao" -> DESCRICOES[random.nextInt(DESCRICOES.length)];
+                    case "valor" -> VALORES[random.nextInt(VALORES.length)];
+                    case "dataVencimento" -> DATAS[random.nextInt(DATAS.length)];
+                    default -> "X" + random.nextInt(100);
+                };
+                campos.add(citar(valor, random));
+            }
+            if (random.nextInt(20) == 0) {
+                campos.remove(campos.size() - 1);
+            }
+            csv.append(String.join(",", campos));
+            if (registro < registros - 1 || random.nextBoolean()) {
+                csv.append(quebra);
+            }
+        }
+        return csv.toString();
+    }
+
+    private static String citar(String valor, Random random) {
+        boolean precisaAspas = valor.contains(",") || valor.contains("\n") || valor.contains("\"");
+        if (precisaAspas ? random.nextInt(10) > 0 : random.nextInt(5) == 0) {
+            return (random.nextInt(6) == 0 ? " " : "") + "\"" + valor.replace("\"", "\"\"") + "\"";
+        }
+        return valor;
+    }
+
+    private static void assertConta(ContaCsvDto conta, String descricao, BigDecimal valor, LocalDate dataVencimento) {
+        assertEquals(descricao, conta.getDescricao());
+        assertEquals(valor, conta.getValor());
+        assertEquals(dataVencimento, conta.getDataVencimento());
+    }
+
+    private static class Leitura {
+        private final List<ContaCsvDto> contas = new ArrayList<>();
+        private final List<LinhaInvalidaCsv> linhasInvalidas = new ArrayList<>();
+    }
+}
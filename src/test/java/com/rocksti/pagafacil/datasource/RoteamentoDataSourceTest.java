@@ -0,0 +1,146 @@
+package com.rocksti.pagafacil.datasource;
+
+import com.rocksti.pagafacil.cache.CanalInvalidacaoContaEmMemoria;
+import com.rocksti.pagafacil.cache.ContaCache;
+import com.rocksti.pagafacil.configuration.CacheContasProperties;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RoteamentoDataSourceTest {
+
+    private final DataSource primario = criarBanco("primario");
+    private final DataSource replica = criarBanco("replica");
+
+    @AfterEach
+    void limparUsuario() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void direcionarLeiturasParaReplica() {
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(primario, Map.of("replica-1", replica), Duration.ZERO);
+
+        assertEquals("replica", consultarOrigem(roteamento, true));
+        assertEquals("primario", consultarOrigem(roteamento, false));
+    }
+
+    @Test
+    void balancearLeiturasEntreReplicas() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica);
+        replicas.put("replica-2", criarBanco("replica-2"));
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(primario, replicas, Duration.ZERO);
+
+        List<String> origens = List.of(consultarOrigem(roteamento, true), consultarOrigem(roteamento, true),
+                consultarOrigem(roteamento, true), consultarOrigem(roteamento, true));
+
+        assertEquals(List.of("replica", "replica-2", "replica", "replica-2"), origens);
+    }
+
+    @Test
+    void usarPrimarioQuandoReplicaIndisponivel() {
+        DriverManagerDataSource inexistente = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";IFEXISTS=TRUE", "sa", "");
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(primario, Map.of("replica-1", inexistente), Duration.ZERO);
+
+        assertEquals("primario", consultarOrigem(roteamento, true));
+        assertEquals(List.of(), roteamento.getReplicasDisponiveis());
+
+        roteamento.verificarReplicas();
+        assertEquals(List.of(), roteamento.getReplicasDisponiveis());
+    }
+
+    @Test
+    void voltarParaReplicaQuandoVerificacaoPassa() {
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(primario, Map.of("replica-1", replica), Duration.ZERO);
+
+        roteamento.verificarReplicas();
+
+        assertEquals(List.of("replica-1"), roteamento.getReplicasDisponiveis());
+        assertEquals("replica", consultarOrigem(roteamento, true));
+    }
+
+    @Test
+    void lerDoPrimarioLogoAposEscreverNaJanela() {
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(primario, Map.of("replica-1", replica), Duration.ofMinutes(1));
+        autenticar("maria");
+
+        assertEquals("replica", consultarOrigem(roteamento, true));
+        assertEquals("primario", consultarOrigem(roteamento, false));
+        assertEquals("primario", consultarOrigem(roteamento, true));
+
+        autenticar("joao");
+        assertEquals("replica", consultarOrigem(roteamento, true));
+    }
+
+    @Test
+    void manterReplicaQuandoEscritaNaoConfirmada() {
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(primario, Map.of("replica-1", replica), Duration.ofMinutes(1));
+        autenticar("maria");
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(roteamento);
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status -> {
+            new JdbcTemplate(dataSource).update("UPDATE origem SET nome = nome");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", consultarOrigem(roteamento, true));
+    }
+
+    @Test
+    void carregarCacheDoPrimarioComReplicaAtrasada() {
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(primario, Map.of("replica-1", replica), Duration.ofMinutes(1));
+        ContaCache contaCache = new ContaCache(new CacheContasProperties(), new CanalInvalidacaoContaEmMemoria());
+        autenticar("maria");
+        assertEquals("primario", consultarOrigem(roteamento, false));
+
+        // a escrita de maria ainda não chegou à réplica; a falta do cache não pode trazer a versão dela
+        autenticar("joao");
+        ContaResponse conta = contaCache.buscar(1L, id -> Optional.of(
+                        new ContaResponse(id, null, null, null, consultarOrigem(roteamento, true), null, 0L)))
+                .orElseThrow();
+        assertEquals("primario", conta.getDescricao());
+        assertEquals("replica", consultarOrigem(roteamento, true));
+
+        autenticar("maria");
+        assertEquals("primario", contaCache.buscar(1L, id -> Optional.empty()).orElseThrow().getDescricao());
+    }
+
+    private static String consultarOrigem(RoteamentoDataSource roteamento, boolean somenteLeitura) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(roteamento);
+        TransactionTemplate transacao = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transacao.setReadOnly(somenteLeitura);
+        return transacao.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT nome FROM origem", String.class));
+    }
+
+    private static DataSource criarBanco(String nome) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:roteamento-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE origem (nome VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO origem (nome) VALUES (?)", nome);
+        return dataSource;
+    }
+
+    private static void autenticar(String usuario) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(usuario, null, List.of()));
+    }
+}
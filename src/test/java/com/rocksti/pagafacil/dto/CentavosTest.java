@@ -0,0 +1,41 @@
+package com.rocksti.pagafacil.dto;
+
+import com.rocksti.pagafacil.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CentavosTest {
+
+    @Test
+    void converterValorEmCentavos() {
+        assertEquals(15025L, Centavos.de(new BigDecimal("150.25")));
+        assertEquals(10000L, Centavos.de(new BigDecimal("100")));
+        assertEquals(1050L, Centavos.de(new BigDecimal("10.500")));
+        assertEquals(-1L, Centavos.de(new BigDecimal("-0.01")));
+        assertNull(Centavos.de(null));
+    }
+
+    @Test
+    void devolverValorComDuasCasas() {
+        assertEquals(new BigDecimal("150.25"), Centavos.paraValor(15025L));
+        assertEquals(new BigDecimal("0.00"), Centavos.paraValor(0L));
+        assertNull(Centavos.paraValor(null));
+    }
+
+    @Test
+    void rejeitarValorForaDosCentavos() {
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> Centavos.de(new BigDecimal("10.005")));
+
+        assertEquals("O valor deve ter no máximo duas casas decimais", exception.getMessage());
+        assertFalse(Centavos.representavel(new BigDecimal("10.005")));
+        assertFalse(Centavos.representavel(new BigDecimal("100000000000000000")));
+        assertTrue(Centavos.representavel(new BigDecimal("1E+3")));
+    }
+}
@@ -0,0 +1,102 @@
+package com.rocksti.pagafacil.fragmentacao;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeradorIdContaTest {
+    private static final long LIMITE_JAVASCRIPT = 1L << 53;
+    private static final int ALOCACAO = 50;
+
+    @Test
+    void gravarFragmentoNoId() {
+        GeradorIdConta gerador = new GeradorIdConta(ALOCACAO);
+        LongSupplier sequencia = sequencia(new AtomicLong(1), new AtomicInteger());
+
+        for (int fragmento = 0; fragmento < GeradorIdConta.MAXIMO_FRAGMENTOS; fragmento++) {
+            long id = gerador.proximo(fragmento, sequencia);
+            assertEquals(fragmento, GeradorIdConta.fragmento(id));
+            assertTrue(id < LIMITE_JAVASCRIPT);
+        }
+    }
+
+    @Test
+    void gerarMaisDe4096IdsPorSegundoSemEsperar() {
+        GeradorIdConta gerador = new GeradorIdConta(ALOCACAO);
+        AtomicInteger blocos = new AtomicInteger();
+        LongSupplier sequencia = sequencia(new AtomicLong(1), blocos);
+        int porThread = 25_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> tarefas = new ArrayList<>();
+                for (int thread = 0; thread < 4; thread++) {
+                    tarefas.add(executor.submit(() -> {
+                        for (int i = 0; i < porThread; i++) {
+                            ids.add(gerador.proximo(2, sequencia));
+                        }
+                    }));
+                }
+                for (Future<?> tarefa : tarefas) {
+                    tarefa.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        });
+
+        assertEquals(4 * porThread, ids.size());
+        assertEquals(4 * porThread / ALOCACAO, blocos.get());
+        assertTrue(ids.stream().allMatch(id -> GeradorIdConta.fragmento(id) == 2 && id < LIMITE_JAVASCRIPT));
+    }
+
+    @Test
+    void separarIdsDeFragmentosComOMesmoValorDeSequencia() {
+        GeradorIdConta gerador = new GeradorIdConta(ALOCACAO);
+
+        long primeiro = gerador.proximo(1, () -> 51);
+        long segundo = gerador.proximo(2, () -> 51);
+
+        assertNotEquals(primeiro, segundo);
+        assertEquals(1, GeradorIdConta.fragmento(primeiro));
+        assertEquals(2, GeradorIdConta.fragmento(segundo));
+    }
+
+    @Test
+    void manterIdsDaSequenciaNoFragmentoPadrao() {
+        assertEquals(ContextoFragmento.PADRAO, GeradorIdConta.fragmento(1L));
+        assertEquals(ContextoFragmento.PADRAO, GeradorIdConta.fragmento(10_016_551L));
+    }
+
+    @Test
+    void rejeitarSequenciaAlemDoLimiteDoId() {
+        GeradorIdConta gerador = new GeradorIdConta(ALOCACAO);
+
+        assertThrows(IllegalStateException.class, () -> gerador.proximo(0, () -> LIMITE_JAVASCRIPT >> 4));
+    }
+
+    private static LongSupplier sequencia(AtomicLong valor, AtomicInteger chamadas) {
+        return () -> {
+            chamadas.incrementAndGet();
+            return valor.getAndAdd(ALOCACAO);
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.rocksti.pagafacil.metrica;
+
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.repository.ContaRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=health,prometheus",
+        "management.metrics.distribution.percentiles-histogram.http.server.requests=true"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void exporMetricasNoFormatoPrometheus() throws Exception {
+        ContaEntity conta = contaRepository.save(new ContaEntity()
+                .setDescricao("Métricas")
+                .setValorCentavos(1000L)
+                .setDataVencimento(LocalDate.now().plusDays(5))
+                .setSituacao(SituacaoConta.PENDENTE));
+
+        mockMvc.perform(get("/contas/buscar/" + conta.getId()).with(httpBasic("admin", "secret")))
+                .andExpect(status().isOk());
+
+        DistributionSummary comandos = meterRegistry.get(ComandosSqlPorRequisicaoFilter.METRICA)
+                .tag("uri", "/contas/buscar/{id}")
+                .summary();
+        assertTrue(comandos.totalAmount() >= 1);
+
+        String metricas = mockMvc.perform(get("/actuator/prometheus").with(httpBasic("admin", "secret")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(metricas.contains("pagafacil_conta_servico_seconds_bucket{class=\"com.rocksti.pagafacil.service.ContaService\""));
+        assertTrue(metricas.contains("http_server_requests_seconds_bucket"));
+        assertTrue(metricas.contains("pagafacil_http_comandos_sql_bucket"));
+        assertTrue(metricas.contains("hibernate_statements_total"));
+        assertTrue(metricas.contains("hikaricp_connections_active"));
+        assertTrue(metricas.contains("cache_gets_total{cache=\"contas\""));
+    }
+
+    @Test
+    void healthSemAutenticacao() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,74 @@
+package com.rocksti.pagafacil.pesquisa;
+
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IndiceNgramasDescricaoTest {
+
+    private static final LocalDate VENCIMENTO = LocalDate.of(2024, 10, 10);
+
+    private final IndiceNgramasDescricao indice = new IndiceNgramasDescricao();
+
+    @Test
+    void pesquisarTrechoOrdenandoPorSimilaridade() {
+        indice.indexar(conta(1L, "Conta de energia elétrica de outubro", VENCIMENTO, SituacaoConta.PENDENTE, 0L));
+        indice.indexar(conta(2L, "Energia", VENCIMENTO, SituacaoConta.PENDENTE, 0L));
+        indice.indexar(conta(3L, "Internet", VENCIMENTO, SituacaoConta.PENDENTE, 0L));
+        indice.indexar(conta(4L, "ENERGIA solar", VENCIMENTO, SituacaoConta.ATRASADO, 0L));
+
+        IndiceNgramasDescricao.ResultadoPesquisa resultado = indice.pesquisar("nergi", null, 0, 10);
+
+        assertEquals(List.of(2L, 4L, 1L), resultado.getIds());
+        assertEquals(3, resultado.getTotal());
+    }
+
+    @Test
+    void aplicarFiltrosEPaginacao() {
+        indice.indexar(conta(1L, "Aluguel sala 1", VENCIMENTO, SituacaoConta.PENDENTE, 0L));
+        indice.indexar(conta(2L, "Aluguel sala 2", VENCIMENTO.plusDays(1), SituacaoConta.PENDENTE, 0L));
+        indice.indexar(conta(3L, "Aluguel sala 3", VENCIMENTO, SituacaoConta.PAGO, 0L));
+        indice.indexar(conta(4L, "Aluguel sala 4", VENCIMENTO, SituacaoConta.PENDENTE, 0L));
+
+        assertEquals(List.of(1L, 4L), indice.pesquisar("aluguel", VENCIMENTO, 0, 10).getIds());
+        assertEquals(List.of(4L), indice.pesquisar("aluguel", null, 1, 1).getIds());
+        assertEquals(List.of(), indice.pesquisar("aluguel sala 5", null, 0, 10).getIds());
+        assertEquals(List.of(1L, 4L, 2L), indice.pesquisar("a", null, 0, 10).getIds());
+    }
+
+    @Test
+    void reindexarAlteracoesRespeitandoVersao() {
+        indice.indexar(conta(1L, "Telefone fixo", VENCIMENTO, SituacaoConta.PENDENTE, 1L));
+        indice.indexar(conta(1L, "Telefone celular", VENCIMENTO, SituacaoConta.PENDENTE, 2L));
+        indice.indexar(conta(1L, "Telefone fixo", VENCIMENTO, SituacaoConta.PENDENTE, 1L));
+
+        assertEquals(List.of(), indice.pesquisar("fixo", null, 0, 10).getIds());
+        assertEquals(List.of(1L), indice.pesquisar("celular", null, 0, 10).getIds());
+
+        indice.indexar(conta(1L, "Telefone celular", VENCIMENTO, SituacaoConta.PAGO, 3L));
+        assertEquals(List.of(), indice.pesquisar("celular", null, 0, 10).getIds());
+
+        indice.remover(1L);
+        assertEquals(0, indice.tamanho());
+    }
+
+    @Test
+    void compactarPosicoesDescartadas() {
+        for (long versao = 0; versao < 5000; versao++) {
+            indice.indexar(conta(1L, "Descrição " + versao, VENCIMENTO, SituacaoConta.PENDENTE, versao));
+        }
+
+        assertEquals(List.of(1L), indice.pesquisar("descrição 4999", null, 0, 10).getIds());
+        assertEquals(List.of(), indice.pesquisar("descrição 4998", null, 0, 10).getIds());
+        assertEquals(1, indice.tamanho());
+    }
+
+    private static ContaResponse conta(Long id, String descricao, LocalDate vencimento, SituacaoConta situacao, Long versao) {
+        return new ContaResponse(id, vencimento, null, 1000L, descricao, situacao, versao);
+    }
+}
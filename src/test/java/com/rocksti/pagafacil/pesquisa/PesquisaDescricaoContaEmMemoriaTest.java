@@ -0,0 +1,83 @@
+package com.rocksti.pagafacil.pesquisa;
+
+import com.rocksti.pagafacil.dto.filtro.FiltroPesquisaConta;
+import com.rocksti.pagafacil.dto.request.ContaRequest;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.fragmentacao.RoteadorFragmentos;
+import com.rocksti.pagafacil.repository.ContaRepository;
+import com.rocksti.pagafacil.service.ContaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class PesquisaDescricaoContaEmMemoriaTest {
+
+    private static final LocalDate VENCIMENTO = LocalDate.of(2032, 5, 10);
+
+    @Autowired
+    private ContaService contaService;
+
+    @Test
+    void pesquisarDescricaoMantendoIndiceAtualizado() {
+        String marcador = UUID.randomUUID().toString().substring(0, 8);
+        ContaEntity longa = cadastrar("Pagamento do fornecedor " + marcador + " referente a maio", VENCIMENTO);
+        ContaEntity curta = cadastrar("Fornecedor " + marcador, VENCIMENTO.plusDays(1));
+        ContaEntity outroDia = cadastrar("Fornecedor " + marcador + " filial", VENCIMENTO.plusDays(2));
+
+        assertEquals(List.of(curta.getId(), outroDia.getId(), longa.getId()), pesquisar("FORNECEDOR " + marcador, null));
+        assertEquals(List.of(longa.getId()), pesquisar(marcador, VENCIMENTO));
+
+        contaService.alterarSituacaoConta(curta.getId(), SituacaoConta.PAGO);
+        contaService.atualizarConta(outroDia.getId(), new ContaRequest()
+                .setDescricao("Transportadora " + marcador)
+                .setValor(new BigDecimal("30.00"))
+                .setDataVencimento(VENCIMENTO.plusDays(2)));
+
+        assertEquals(List.of(longa.getId()), pesquisar("fornecedor " + marcador, null));
+        assertEquals(List.of(outroDia.getId()), pesquisar("transportadora " + marcador, null));
+    }
+
+    @Test
+    void recusarCargaAcimaDoMaximoDeContas() {
+        ContaRepository contaRepository = mock(ContaRepository.class);
+        when(contaRepository.buscarProjecoesAposId(eq(Long.MIN_VALUE), any())).thenReturn(List.of(
+                new ContaResponse(1L, VENCIMENTO, null, 1000L, "Primeira", SituacaoConta.PENDENTE, 0L),
+                new ContaResponse(2L, VENCIMENTO, null, 1000L, "Segunda", SituacaoConta.PENDENTE, 0L),
+                new ContaResponse(3L, VENCIMENTO, null, 1000L, "Terceira", SituacaoConta.PENDENTE, 0L)));
+        PesquisaDescricaoContaEmMemoria pesquisa = new PesquisaDescricaoContaEmMemoria(contaRepository,
+                RoteadorFragmentos.unico(), 2);
+
+        assertThrows(IllegalStateException.class, pesquisa::carregar);
+    }
+
+    private List<Long> pesquisar(String termo, LocalDate dataVencimento) {
+        Page<ContaResponse> pagina = contaService.buscarContasAPagar(PageRequest.of(0, 10),
+                new FiltroPesquisaConta().setDescricao(termo).setDataVencimento(dataVencimento));
+        assertEquals(pagina.getContent().size(), pagina.getTotalElements());
+        return pagina.getContent().stream().map(ContaResponse::getId).toList();
+    }
+
+    private ContaEntity cadastrar(String descricao, LocalDate vencimento) {
+        return contaService.cadastrarConta(new ContaRequest()
+                .setDescricao(descricao)
+                .setValor(new BigDecimal("10.00"))
+                .setDataVencimento(vencimento));
+    }
+}
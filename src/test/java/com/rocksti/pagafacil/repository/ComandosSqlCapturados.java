@@ -0,0 +1,25 @@
+package com.rocksti.pagafacil.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class ComandosSqlCapturados implements StatementInspector {
+
+    private static final List<String> COMANDOS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        COMANDOS.add(sql);
+        return sql;
+    }
+
+    public static List<String> comandos() {
+        return List.copyOf(COMANDOS);
+    }
+
+    public static void limpar() {
+        COMANDOS.clear();
+    }
+}
@@ -0,0 +1,84 @@
+package com.rocksti.pagafacil.repository;
+
+import com.rocksti.pagafacil.dto.filtro.CursorConta;
+import com.rocksti.pagafacil.dto.filtro.FiltroPesquisaConta;
+import com.rocksti.pagafacil.service.ContaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                             + "com.rocksti.pagafacil.repository.ComandosSqlCapturados")
+class ContaSpecificationsTest {
+
+    @Autowired
+    private ContaService contaService;
+
+    @BeforeEach
+    void setUp() {
+        ComandosSqlCapturados.limpar();
+    }
+
+    @Test
+    void buscarContasAPagarSemFiltros() {
+        contaService.buscarContasAPagar(PageRequest.of(0, 10), new FiltroPesquisaConta().setDescricao(""));
+
+        String sql = consultaPrincipal();
+        assertSemPredicadosGenericos(sql);
+        assertTrue(sql.contains("<>'PAGO'"), sql);
+        assertFalse(sql.contains("data_vencimento="), sql);
+        assertFalse(sql.contains("descricao="), sql);
+    }
+
+    @Test
+    void buscarContasAPagarComFiltros() {
+        contaService.buscarContasAPagar(PageRequest.of(0, 10, Sort.by("dataVencimento")), new FiltroPesquisaConta()
+                .setDataVencimento(LocalDate.now())
+                .setDescricao("Conta de luz"));
+
+        String sql = consultaPrincipal();
+        assertSemPredicadosGenericos(sql);
+        assertTrue(sql.contains("data_vencimento=?"), sql);
+        assertTrue(sql.contains("descricao)like?"), sql);
+    }
+
+    @Test
+    void buscarContasAPagarPorCursor() {
+        String cursor = new CursorConta(LocalDate.now(), 10L).codificar();
+
+        contaService.buscarContasAPagarPorCursor(cursor, 10, new FiltroPesquisaConta());
+
+        List<String> comandos = ComandosSqlCapturados.comandos();
+        assertTrue(comandos.stream().noneMatch(sql -> sql.toLowerCase(Locale.ROOT).contains("count(")), comandos::toString);
+        String sql = consultaPrincipal();
+        assertSemPredicadosGenericos(sql);
+        assertTrue(sql.contains("data_vencimento>=?"), sql);
+        assertTrue(sql.contains("data_vencimento>?"), sql);
+        assertFalse(sql.contains("descricao="), sql);
+    }
+
+    private static String consultaPrincipal() {
+        return ComandosSqlCapturados.comandos().stream()
+                .filter(sql -> sql.contains("from contas") && !sql.contains("count("))
+                .findFirst()
+                .map(sql -> sql.replace(" ", ""))
+                .orElseThrow();
+    }
+
+    private static void assertSemPredicadosGenericos(String sql) {
+        String normalizado = sql.toLowerCase(Locale.ROOT);
+        assertFalse(normalizado.contains("coalesce"), sql);
+        assertFalse(normalizado.contains("''=''"), sql);
+        assertFalse(normalizado.contains("isnull"), sql);
+    }
+}
@@ -0,0 +1,109 @@
+package com.rocksti.pagafacil.service;
+
+import com.rocksti.pagafacil.dto.response.ResultadoAtualizacaoAtrasadas;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.repository.ContaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "pagafacil.atrasadas.tamanho-lote=2")
+class AtualizacaoContasAtrasadasServiceTest {
+
+    private static final LocalDate HOJE = LocalDate.now();
+
+    @Autowired
+    private AtualizacaoContasAtrasadasService atualizacaoContasAtrasadasService;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void marcaSomenteContasPendentesVencidas() {
+        List<ContaEntity> vencidas = contaRepository.saveAll(List.of(
+                conta(HOJE.minusDays(1), SituacaoConta.PENDENTE),
+                conta(HOJE.minusDays(2), SituacaoConta.PENDENTE),
+                conta(HOJE.minusDays(3), SituacaoConta.PENDENTE)));
+        ContaEntity aVencer = contaRepository.save(conta(HOJE, SituacaoConta.PENDENTE));
+        ContaEntity paga = contaRepository.save(conta(HOJE.minusDays(1), SituacaoConta.PAGO));
+
+        long execucoesAntes = meterRegistry.timer("pagafacil.atrasadas.execucao").count();
+        double atualizadasAntes = meterRegistry.counter("pagafacil.atrasadas.contas.atualizadas").count();
+        ResultadoAtualizacaoAtrasadas resultado = atualizacaoContasAtrasadasService.executar();
+
+        assertEquals(execucoesAntes + 1, meterRegistry.timer("pagafacil.atrasadas.execucao").count());
+        assertEquals(atualizadasAntes + resultado.getContasAtualizadas(),
+                meterRegistry.counter("pagafacil.atrasadas.contas.atualizadas").count());
+        assertEquals(0, meterRegistry.get("pagafacil.atrasadas.atraso.dias").gauge().value());
+        assertTrue(resultado.getContasAtualizadas() >= 3);
+        assertTrue(resultado.getLotes() >= 2);
+        assertEquals(0, resultado.getAtrasoDias());
+        assertSame(resultado, atualizacaoContasAtrasadasService.obterUltimaExecucao());
+        vencidas.forEach(conta -> assertEquals(SituacaoConta.ATRASADO, situacao(conta)));
+        assertEquals(SituacaoConta.PENDENTE, situacao(aVencer));
+        assertEquals(SituacaoConta.PAGO, situacao(paga));
+
+        assertEquals(0, atualizacaoContasAtrasadasService.executar().getContasAtualizadas());
+    }
+
+    @Test
+    void ignoraContasBloqueadasPorOutraTransacao() throws Exception {
+        ContaEntity bloqueada = contaRepository.save(conta(HOJE.minusDays(5), SituacaoConta.PENDENTE));
+        CountDownLatch bloqueou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        CompletableFuture<Void> outraInstancia = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    contaRepository.bloquearPorIds(List.of(bloqueada.getId()));
+                    bloqueou.countDown();
+                    try {
+                        liberar.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertTrue(bloqueou.await(10, TimeUnit.SECONDS));
+
+        ResultadoAtualizacaoAtrasadas resultado = atualizacaoContasAtrasadasService.executar();
+        liberar.countDown();
+        outraInstancia.get(10, TimeUnit.SECONDS);
+
+        assertEquals(SituacaoConta.PENDENTE, situacao(bloqueada));
+        assertEquals(5, resultado.getAtrasoDias());
+
+        atualizacaoContasAtrasadasService.executar();
+        assertEquals(SituacaoConta.ATRASADO, situacao(bloqueada));
+    }
+
+    private SituacaoConta situacao(ContaEntity conta) {
+        return contaRepository.findById(conta.getId()).orElseThrow().getSituacao();
+    }
+
+    private static ContaEntity conta(LocalDate dataVencimento, SituacaoConta situacao) {
+        return new ContaEntity()
+                .setDescricao("Atrasada")
+                .setValorCentavos(1000L)
+                .setDataVencimento(dataVencimento)
+                .setSituacao(situacao)
+                .setDataPagamento(situacao == SituacaoConta.PAGO ? dataVencimento : null);
+    }
+}
@@ -0,0 +1,108 @@
+package com.rocksti.pagafacil.service;
+
+import com.rocksti.pagafacil.dto.request.ContaRequest;
+import com.rocksti.pagafacil.dto.response.DivergenciaConsolidacao;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.entity.ParticaoArquivadaEntity;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.exception.BadRequestException;
+import com.rocksti.pagafacil.repository.PagamentoDiarioRepository;
+import com.rocksti.pagafacil.repository.ParticaoArquivadaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ConsolidacaoPagamentoServiceTest {
+
+    private static final LocalDate HOJE = LocalDate.now();
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private ConsolidacaoPagamentoService consolidacaoPagamentoService;
+
+    @Autowired
+    private PagamentoDiarioRepository pagamentoDiarioRepository;
+
+    @Autowired
+    private ParticaoArquivadaRepository particaoArquivadaRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void manterConsolidacaoAoAlterarSituacao() {
+        long totalInicial = totalPagoHoje();
+        ContaEntity conta = contaService.cadastrarConta(new ContaRequest()
+                .setValor(new BigDecimal("150.25"))
+                .setDescricao("Conta consolidada")
+                .setDataVencimento(HOJE));
+
+        contaService.alterarSituacaoConta(conta.getId(), SituacaoConta.PAGO);
+        assertEquals(totalInicial + 15025, totalPagoHoje());
+
+        contaService.atualizarConta(conta.getId(), new ContaRequest()
+                .setValor(new BigDecimal("200.00"))
+                .setDescricao("Conta consolidada")
+                .setDataVencimento(HOJE));
+        assertEquals(totalInicial + 20000, totalPagoHoje());
+
+        contaService.alterarSituacaoConta(conta.getId(), SituacaoConta.PENDENTE);
+        assertEquals(totalInicial, totalPagoHoje());
+
+        assertTrue(consolidacaoPagamentoService.verificar(HOJE, HOJE).isEmpty());
+    }
+
+    @Test
+    void reconstruirConsolidacaoComDivergencia() {
+        ContaEntity conta = contaService.cadastrarConta(new ContaRequest()
+                .setValor(new BigDecimal("80.00"))
+                .setDescricao("Conta divergente")
+                .setDataVencimento(HOJE));
+        contaService.alterarSituacaoConta(conta.getId(), SituacaoConta.PAGO);
+
+        transactionTemplate.executeWithoutResult(status ->
+                pagamentoDiarioRepository.acumular(HOJE, 1000L, 1));
+
+        List<DivergenciaConsolidacao> divergencias = consolidacaoPagamentoService.verificar(HOJE, HOJE);
+        assertEquals(1, divergencias.size());
+        assertEquals(HOJE, divergencias.get(0).getDataPagamento());
+
+        assertEquals(1, consolidacaoPagamentoService.reconstruir(HOJE, HOJE));
+        assertTrue(consolidacaoPagamentoService.verificar(HOJE, HOJE).isEmpty());
+    }
+
+    @Test
+    void reconstruirPeriodoComParticaoArquivada() {
+        particaoArquivadaRepository.save(new ParticaoArquivadaEntity()
+                .setNome("contas_2001_01")
+                .setVencimentoInicio(LocalDate.of(2001, 1, 1))
+                .setVencimentoFim(LocalDate.of(2001, 2, 1))
+                .setPagamentoInicio(LocalDate.of(2000, 12, 20))
+                .setPagamentoFim(LocalDate.of(2001, 1, 31))
+                .setQuantidade(10)
+                .setArquivadaEm(LocalDateTime.now()));
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> consolidacaoPagamentoService.reconstruir(LocalDate.of(2001, 1, 15), LocalDate.of(2001, 3, 1)));
+
+        assertEquals("O período possui pagamentos de contas em partições arquivadas", exception.getMessage());
+        assertTrue(consolidacaoPagamentoService.verificar(LocalDate.of(2001, 2, 1), LocalDate.of(2001, 3, 1)).isEmpty());
+    }
+
+    private long totalPagoHoje() {
+        return consolidacaoPagamentoService.obterCentavosPagosPorPeriodo(HOJE, HOJE);
+    }
+}
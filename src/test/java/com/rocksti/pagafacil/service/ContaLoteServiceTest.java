@@ -0,0 +1,113 @@
+package com.rocksti.pagafacil.service;
+
+import com.rocksti.pagafacil.dto.request.ContaLoteRequest;
+import com.rocksti.pagafacil.dto.request.ContaRequest;
+import com.rocksti.pagafacil.dto.response.ResultadoOperacaoLote;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.enumeration.SituacaoItemLote;
+import com.rocksti.pagafacil.exception.BadRequestException;
+import com.rocksti.pagafacil.repository.ContaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "pagafacil.lote.tamanho=2")
+class ContaLoteServiceTest {
+
+    private static final LocalDate HOJE = LocalDate.now();
+
+    @Autowired
+    private ContaLoteService contaLoteService;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ConsolidacaoPagamentoService consolidacaoPagamentoService;
+
+    @Test
+    void cadastrarAtualizarEAlterarSituacaoEmLote() {
+        ResultadoOperacaoLote cadastro = contaLoteService.cadastrarContas(List.of(
+                conta("Lote 1", "10.00"),
+                conta("Lote 2", "20.00"),
+                conta("Lote 3", "30.00")));
+
+        assertEquals(3, cadastro.getSucessos());
+        List<Long> ids = cadastro.getItens().stream().map(item -> item.getId()).toList();
+
+        long totalInicial = consolidacaoPagamentoService.obterCentavosPagosPorPeriodo(HOJE, HOJE);
+        ResultadoOperacaoLote pagamento = contaLoteService.alterarSituacaoContas(
+                List.of(ids.get(0), ids.get(1), -1L, ids.get(2)), SituacaoConta.PAGO);
+
+        assertEquals(4, pagamento.getTotal());
+        assertEquals(3, pagamento.getSucessos());
+        assertEquals(SituacaoItemLote.NAO_ENCONTRADA, pagamento.getItens().get(2).getSituacao());
+        assertEquals(2, pagamento.getItens().get(2).getIndice());
+        ContaEntity paga = contaRepository.findById(ids.get(0)).orElseThrow();
+        assertEquals(SituacaoConta.PAGO, paga.getSituacao());
+        assertEquals(HOJE, paga.getDataPagamento());
+        assertEquals(totalInicial + 6000, consolidacaoPagamentoService.obterCentavosPagosPorPeriodo(HOJE, HOJE));
+
+        ResultadoOperacaoLote atualizacao = contaLoteService.atualizarContas(List.of(
+                new ContaLoteRequest().setId(ids.get(0)).setDescricao("Lote 1").setValor(new BigDecimal("15.00")).setDataVencimento(HOJE),
+                new ContaLoteRequest().setDescricao("Sem id").setValor(BigDecimal.ONE).setDataVencimento(HOJE)));
+
+        assertEquals(1, atualizacao.getSucessos());
+        assertEquals(SituacaoItemLote.ERRO, atualizacao.getItens().get(1).getSituacao());
+        assertEquals(totalInicial + 6500, consolidacaoPagamentoService.obterCentavosPagosPorPeriodo(HOJE, HOJE));
+
+        contaLoteService.alterarSituacaoContas(ids, SituacaoConta.PENDENTE);
+
+        assertNull(contaRepository.findById(ids.get(1)).orElseThrow().getDataPagamento());
+        assertEquals(totalInicial, consolidacaoPagamentoService.obterCentavosPagosPorPeriodo(HOJE, HOJE));
+        assertTrue(consolidacaoPagamentoService.verificar(HOJE, HOJE).isEmpty());
+    }
+
+    @Test
+    void recusarApenasOItemComValorInvalido() {
+        ResultadoOperacaoLote cadastro = contaLoteService.cadastrarContas(List.of(
+                conta("Valor válido 1", "10.00"),
+                conta("Valor inválido", "10.005"),
+                conta("Valor válido 2", "20.00")));
+
+        assertEquals(2, cadastro.getSucessos());
+        assertEquals(SituacaoItemLote.ERRO, cadastro.getItens().get(1).getSituacao());
+        assertEquals("O valor deve ter no máximo duas casas decimais", cadastro.getItens().get(1).getMensagem());
+        assertEquals(SituacaoItemLote.SUCESSO, cadastro.getItens().get(0).getSituacao());
+        assertEquals(SituacaoItemLote.SUCESSO, cadastro.getItens().get(2).getSituacao());
+
+        Long id = cadastro.getItens().get(0).getId();
+        ResultadoOperacaoLote atualizacao = contaLoteService.atualizarContas(List.of(
+                new ContaLoteRequest().setId(id).setDescricao("Valor inválido").setValor(new BigDecimal("1.001")).setDataVencimento(HOJE),
+                new ContaLoteRequest().setId(cadastro.getItens().get(2).getId()).setDescricao("Valor válido 2")
+                        .setValor(new BigDecimal("25.00")).setDataVencimento(HOJE)));
+
+        assertEquals(1, atualizacao.getSucessos());
+        assertEquals(SituacaoItemLote.ERRO, atualizacao.getItens().get(0).getSituacao());
+        assertEquals(id, atualizacao.getItens().get(0).getId());
+        assertEquals(1000L, contaRepository.findById(id).orElseThrow().getValorCentavos());
+        assertEquals(2500L, contaRepository.findById(cadastro.getItens().get(2).getId()).orElseThrow().getValorCentavos());
+    }
+
+    @Test
+    void rejeitarLoteVazio() {
+        assertThrows(BadRequestException.class, () -> contaLoteService.alterarSituacaoContas(List.of(), SituacaoConta.PAGO));
+    }
+
+    private static ContaRequest conta(String descricao, String valor) {
+        return new ContaRequest()
+                .setDescricao(descricao)
+                .setValor(new BigDecimal(valor))
+                .setDataVencimento(HOJE);
+    }
+}
@@ -0,0 +1,297 @@
+package com.rocksti.pagafacil.service;
+
+import com.rocksti.pagafacil.datasource.FragmentoDataSource;
+import com.rocksti.pagafacil.dto.filtro.FiltroExportacaoConta;
+import com.rocksti.pagafacil.dto.filtro.FiltroPesquisaConta;
+import com.rocksti.pagafacil.dto.request.ContaLoteRequest;
+import com.rocksti.pagafacil.dto.request.ContaRequest;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.dto.response.PaginaCursor;
+import com.rocksti.pagafacil.dto.response.ResultadoAtualizacaoAtrasadas;
+import com.rocksti.pagafacil.dto.response.ResultadoItemLote;
+import com.rocksti.pagafacil.dto.response.ResultadoOperacaoLote;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.enumeration.FormatoExportacao;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.enumeration.SituacaoItemLote;
+import com.rocksti.pagafacil.fragmentacao.GeradorIdConta;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = {
+        "pagafacil.fragmentacao.habilitado=true",
+        "pagafacil.fragmentacao.instancias[0].url=jdbc:h2:mem:fragmento-1;DB_CLOSE_DELAY=-1",
+        "pagafacil.fragmentacao.instancias[1].url=jdbc:h2:mem:fragmento-2;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+class ContaServiceFragmentacaoTest {
+    private static final LocalDate VENCIMENTO = LocalDate.of(2033, 2, 14);
+    private static final long ESPERA_MAXIMA_MILLIS = 5_000;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private ContaLoteService contaLoteService;
+
+    @Autowired
+    private FragmentoDataSource fragmentoDataSource;
+
+    @Autowired
+    private AtualizacaoContasAtrasadasService atualizacaoContasAtrasadasService;
+
+    @Autowired
+    private ExportacaoContaService exportacaoContaService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @TestConfiguration
+    static class EsquemaNosFragmentos {
+
+        @EventListener(ContextRefreshedEvent.class)
+        public void criar(ContextRefreshedEvent event) {
+            // o Hibernate cria as tabelas apenas no fragmento padrão; em produção cada fragmento é migrado pelo Flyway.
+            // Precisa acontecer antes da carga do índice de descrições, que lê todos os fragmentos
+            List<DataSource> fragmentos = event.getApplicationContext().getBean(FragmentoDataSource.class).getFragmentos();
+            JdbcTemplate padrao = new JdbcTemplate(fragmentos.get(0));
+            for (DataSource fragmento : fragmentos.subList(1, fragmentos.size())) {
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(fragmento);
+                if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'CONTAS'", Integer.class) == 0) {
+                    padrao.queryForList("SCRIPT NODATA", String.class).forEach(jdbcTemplate::execute);
+                }
+            }
+        }
+    }
+
+    @Test
+    void gravarCadaContaNoFragmentoDoId() {
+        List<ContaEntity> contas = IntStream.range(0, 6)
+                .mapToObj(i -> contaService.cadastrarConta(conta("Fragmento " + i, "10.00", VENCIMENTO.plusDays(100))))
+                .toList();
+
+        assertEquals(Set.of(0, 1, 2), contas.stream().map(conta -> GeradorIdConta.fragmento(conta.getId())).collect(Collectors.toSet()));
+        for (ContaEntity conta : contas) {
+            int fragmento = GeradorIdConta.fragmento(conta.getId());
+            for (int i = 0; i < fragmentoDataSource.getFragmentos().size(); i++) {
+                assertEquals(i == fragmento ? 1 : 0, contarConta(i, conta.getId()));
+            }
+
+            contaService.alterarSituacaoConta(conta.getId(), SituacaoConta.PAGO);
+            assertEquals(SituacaoConta.PAGO, contaService.buscarContaPorId(conta.getId()).getSituacao());
+        }
+    }
+
+    @Test
+    void intercalarPaginasDosFragmentos() {
+        List<String> valores = List.of("7.00", "3.00", "9.00", "1.00", "5.00", "8.00", "2.00");
+        List<Long> ids = new ArrayList<>();
+        valores.forEach(valor -> ids.add(contaService.cadastrarConta(conta("Pagina " + valor, valor, VENCIMENTO)).getId()));
+        contaService.alterarSituacaoConta(ids.get(2), SituacaoConta.PAGO);
+        FiltroPesquisaConta filtro = new FiltroPesquisaConta().setDataVencimento(VENCIMENTO);
+
+        Page<ContaResponse> primeira = contaService.buscarContasAPagar(PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "valor")), filtro);
+        Page<ContaResponse> segunda = contaService.buscarContasAPagar(PageRequest.of(1, 3, Sort.by(Sort.Direction.DESC, "valor")), filtro);
+
+        assertEquals(6, primeira.getTotalElements());
+        assertEquals(2, primeira.getTotalPages());
+        assertEquals(List.of("8.00", "7.00", "5.00"), valores(primeira));
+        assertEquals(List.of("3.00", "2.00", "1.00"), valores(segunda));
+    }
+
+    @Test
+    void somarPagamentosDeTodosOsFragmentos() {
+        LocalDate hoje = LocalDate.now();
+        BigDecimal antes = contaService.obterValorTotalPagoPorPeriodo(hoje, hoje).get("valorTotalPago");
+
+        List<ContaEntity> contas = List.of(
+                contaService.cadastrarConta(conta("Total 1", "10.50", VENCIMENTO.plusDays(200))),
+                contaService.cadastrarConta(conta("Total 2", "20.25", VENCIMENTO.plusDays(200))),
+                contaService.cadastrarConta(conta("Total 3", "30.00", VENCIMENTO.plusDays(200))));
+        contas.forEach(conta -> contaService.alterarSituacaoConta(conta.getId(), SituacaoConta.PAGO));
+
+        Map<String, BigDecimal> total = contaService.obterValorTotalPagoPorPeriodo(hoje, hoje);
+        assertEquals(0, antes.add(new BigDecimal("60.75")).compareTo(total.get("valorTotalPago")));
+    }
+
+    @Test
+    void processarLoteEmCadaFragmento() {
+        List<Long> ids = IntStream.range(0, 6)
+                .mapToObj(i -> contaService.cadastrarConta(conta("Lote fragmento " + i, "10.00", VENCIMENTO.plusDays(300))).getId())
+                .collect(Collectors.toCollection(ArrayList::new));
+        ids.add(2, -1L);
+
+        ResultadoOperacaoLote pagamento = contaLoteService.alterarSituacaoContas(ids, SituacaoConta.PAGO);
+
+        assertEquals(6, pagamento.getSucessos());
+        assertEquals(IntStream.range(0, ids.size()).boxed().toList(),
+                pagamento.getItens().stream().map(ResultadoItemLote::getIndice).toList());
+        assertEquals(ids, pagamento.getItens().stream().map(ResultadoItemLote::getId).toList());
+        assertEquals(SituacaoItemLote.NAO_ENCONTRADA, pagamento.getItens().get(2).getSituacao());
+        ids.remove(2);
+        ids.forEach(id -> assertEquals(SituacaoConta.PAGO, contaService.buscarContaPorId(id).getSituacao()));
+
+        ResultadoOperacaoLote atualizacao = contaLoteService.atualizarContas(ids.stream()
+                .map(id -> new ContaLoteRequest().setId(id).setDescricao("Lote atualizado").setValor(new BigDecimal("12.00"))
+                        .setDataVencimento(VENCIMENTO.plusDays(300)))
+                .toList());
+
+        assertEquals(6, atualizacao.getSucessos());
+        ids.forEach(id -> assertEquals("Lote atualizado", contaService.buscarContaPorId(id).getDescricao()));
+    }
+
+    @Test
+    void ordenarPesquisaPorRelevanciaEntreFragmentos() {
+        String marcador = UUID.randomUUID().toString().substring(0, 8);
+        Long longa = contaService.cadastrarConta(conta("Pagamento do fornecedor " + marcador + " referente a maio", "10.00", VENCIMENTO)).getId();
+        Long curta = contaService.cadastrarConta(conta("Fornecedor " + marcador, "10.00", VENCIMENTO.plusDays(1))).getId();
+        Long outroDia = contaService.cadastrarConta(conta("Fornecedor " + marcador + " filial", "10.00", VENCIMENTO.plusDays(2))).getId();
+        assertEquals(3, Stream.of(longa, curta, outroDia).map(GeradorIdConta::fragmento).distinct().count());
+        FiltroPesquisaConta filtro = new FiltroPesquisaConta().setDescricao("fornecedor " + marcador);
+
+        Page<ContaResponse> primeira = contaService.buscarContasAPagar(PageRequest.of(0, 2), filtro);
+        Page<ContaResponse> segunda = contaService.buscarContasAPagar(PageRequest.of(1, 2), filtro);
+
+        assertEquals(3, primeira.getTotalElements());
+        assertEquals(List.of(curta, outroDia), primeira.getContent().stream().map(ContaResponse::getId).toList());
+        assertEquals(List.of(longa), segunda.getContent().stream().map(ContaResponse::getId).toList());
+    }
+
+    @Test
+    void marcarAtrasadasEmTodosOsFragmentos() {
+        LocalDate hoje = LocalDate.now();
+        List<Long> ids = IntStream.range(0, 3)
+                .mapToObj(i -> contaService.cadastrarConta(conta("Atrasada " + i, "10.00", hoje.minusDays(3 + i))).getId())
+                .toList();
+        assertEquals(3, ids.stream().map(GeradorIdConta::fragmento).distinct().count());
+
+        ResultadoAtualizacaoAtrasadas resultado = atualizacaoContasAtrasadasService.executar();
+
+        assertEquals(3, resultado.getContasAtualizadas());
+        assertEquals(0, resultado.getAtrasoDias());
+        assertSame(resultado, atualizacaoContasAtrasadasService.obterUltimaExecucao());
+        ids.forEach(id -> assertEquals(SituacaoConta.ATRASADO, contaService.buscarContaPorId(id).getSituacao()));
+    }
+
+    @Test
+    void paginarPorCursorEntreFragmentos() {
+        String marcador = UUID.randomUUID().toString().substring(0, 8);
+        List<Long> ids = List.of(
+                contaService.cadastrarConta(conta("Cursor " + marcador, "10.00", VENCIMENTO.plusDays(1))).getId(),
+                contaService.cadastrarConta(conta("Cursor " + marcador, "10.00", VENCIMENTO)).getId(),
+                contaService.cadastrarConta(conta("Cursor " + marcador, "10.00", VENCIMENTO)).getId(),
+                contaService.cadastrarConta(conta("Cursor " + marcador, "10.00", VENCIMENTO.plusDays(2))).getId(),
+                contaService.cadastrarConta(conta("Cursor " + marcador, "10.00", VENCIMENTO)).getId());
+        assertEquals(3, ids.stream().map(GeradorIdConta::fragmento).distinct().count());
+        FiltroPesquisaConta filtro = new FiltroPesquisaConta().setDescricao(marcador);
+
+        PaginaCursor<ContaResponse> primeira = contaService.buscarContasAPagarPorCursor(null, 2, filtro);
+        PaginaCursor<ContaResponse> segunda = contaService.buscarContasAPagarPorCursor(primeira.getProximoCursor(), 2, filtro);
+        PaginaCursor<ContaResponse> terceira = contaService.buscarContasAPagarPorCursor(segunda.getProximoCursor(), 2, filtro);
+
+        List<Long> mesmoDia = Stream.of(ids.get(1), ids.get(2), ids.get(4)).sorted().toList();
+        assertEquals(mesmoDia.subList(0, 2), primeira.getConteudo().stream().map(ContaResponse::getId).toList());
+        assertEquals(List.of(mesmoDia.get(2), ids.get(0)), segunda.getConteudo().stream().map(ContaResponse::getId).toList());
+        assertEquals(List.of(ids.get(3)), terceira.getConteudo().stream().map(ContaResponse::getId).toList());
+        assertNull(terceira.getProximoCursor());
+    }
+
+    @Test
+    void exportarContasDeTodosOsFragmentos() throws Exception {
+        LocalDate vencimento = VENCIMENTO.plusDays(500);
+        Set<Long> ids = IntStream.range(0, 3)
+                .mapToObj(i -> contaService.cadastrarConta(conta("Exportada " + i, "10.00", vencimento)).getId())
+                .collect(Collectors.toSet());
+        assertEquals(3, ids.stream().map(GeradorIdConta::fragmento).distinct().count());
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        long linhas = exportacaoContaService.exportar(new FiltroExportacaoConta().setDataVencimentoInicio(vencimento)
+                .setDataVencimentoFim(vencimento), FormatoExportacao.CSV, saida);
+
+        List<String> csv = saida.toString(StandardCharsets.UTF_8).lines().skip(1).toList();
+        assertEquals(3, linhas);
+        assertEquals(ids, csv.stream().map(linha -> Long.valueOf(linha.split(",")[3])).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void transmitirEventosDeTodosOsFragmentos() throws Exception {
+        MvcResult assinatura = mockMvc.perform(get("/contas/eventos").with(httpBasic("admin", "secret"))
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        List<Long> ids = IntStream.range(0, 3)
+                .mapToObj(i -> contaService.cadastrarConta(conta("Evento fragmento " + i, "10.00", VENCIMENTO)).getId())
+                .toList();
+        assertEquals(3, ids.stream().map(GeradorIdConta::fragmento).distinct().count());
+
+        String eventos = aguardarEventos(assinatura, ids);
+        // o id de cada evento traz a posição da assinatura em cada fragmento
+        assertTrue(eventos.lines().filter(linha -> linha.startsWith("id:"))
+                .allMatch(linha -> linha.matches("id:\\d+,\\d+,\\d+")), eventos);
+    }
+
+    private static String aguardarEventos(MvcResult resultado, List<Long> contaIds) throws Exception {
+        long limite = System.currentTimeMillis() + ESPERA_MAXIMA_MILLIS;
+        String conteudo = resultado.getResponse().getContentAsString();
+        while (!contemEventos(conteudo, contaIds) && System.currentTimeMillis() < limite) {
+            Thread.sleep(50);
+            conteudo = resultado.getResponse().getContentAsString();
+        }
+        assertTrue(contemEventos(conteudo, contaIds), conteudo);
+        return conteudo;
+    }
+
+    private static boolean contemEventos(String conteudo, List<Long> contaIds) {
+        return contaIds.stream().allMatch(id -> conteudo.contains("\"contaId\":" + id + ","));
+    }
+
+    private int contarConta(int fragmento, Long id) {
+        return new JdbcTemplate(fragmentoDataSource.getFragmentos().get(fragmento))
+                .queryForObject("SELECT COUNT(*) FROM contas WHERE id = ?", Integer.class, id);
+    }
+
+    private static List<String> valores(Page<ContaResponse> pagina) {
+        return pagina.getContent().stream().map(conta -> conta.getValor().setScale(2).toPlainString()).toList();
+    }
+
+    private static ContaRequest conta(String descricao, String valor, LocalDate dataVencimento) {
+        return new ContaRequest()
+                .setDescricao(descricao)
+                .setValor(new BigDecimal(valor))
+                .setDataVencimento(dataVencimento);
+    }
+}
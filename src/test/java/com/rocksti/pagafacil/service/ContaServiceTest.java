@@ -1,20 +1,31 @@
 package com.rocksti.pagafacil.service;
 
+import com.rocksti.pagafacil.cache.ContaCache;
 import com.rocksti.pagafacil.dto.filtro.FiltroPesquisaConta;
 import com.rocksti.pagafacil.dto.request.ContaRequest;
+import com.rocksti.pagafacil.dto.response.ContaResponse;
+import com.rocksti.pagafacil.dto.response.PaginaCursor;
+import com.rocksti.pagafacil.dto.response.ResultadoImportacao;
 import com.rocksti.pagafacil.entity.ContaEntity;
 import com.rocksti.pagafacil.enumeration.SituacaoConta;
 import com.rocksti.pagafacil.exception.BadRequestException;
 import com.rocksti.pagafacil.exception.NotFoundException;
 import com.rocksti.pagafacil.repository.ContaRepository;
+import com.rocksti.pagafacil.repository.specification.ContaSpecifications;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -23,15 +34,21 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -40,26 +57,41 @@ class ContaServiceTest {
     @MockBean
     private ContaRepository contaRepository;
 
+    @MockBean
+    private ConsolidacaoPagamentoService consolidacaoPagamentoService;
+
     @Autowired
     private ContaService contaService;
 
+    @Autowired
+    private ContaCache contaCache;
+
     private static List<ContaEntity> getContas() {
         return List.of(
                 new ContaEntity()
                         .setId(1L)
                         .setSituacao(SituacaoConta.PENDENTE)
-                        .setValor(BigDecimal.valueOf(100.00))
+                        .setValorCentavos(10000L)
                         .setDescricao("Conta de luz")
                         .setDataVencimento(LocalDate.now()),
                 new ContaEntity()
                         .setId(2L)
                         .setSituacao(SituacaoConta.PENDENTE)
-                        .setValor(BigDecimal.valueOf(200.00))
+                        .setValorCentavos(20000L)
                         .setDescricao("Conta de água")
                         .setDataVencimento(LocalDate.now())
         );
     }
 
+    private static List<ContaResponse> getProjecoes() {
+        return getContas().stream().map(ContaResponse::of).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        contaCache.invalidarTudo();
+    }
+
     @Test
     void cadastrarConta() {
 
@@ -67,7 +99,7 @@ class ContaServiceTest {
                 .thenReturn(getContas().get(0));
 
         ContaRequest contaRequest = new ContaRequest()
-                .setValor(getContas().get(0).getValor())
+                .setValor(new BigDecimal("100.00"))
                 .setDescricao(getContas().get(0).getDescricao())
                 .setDataVencimento(getContas().get(0).getDataVencimento());
 
@@ -75,7 +107,7 @@ class ContaServiceTest {
 
         assertNotNull(conta);
         assertEquals(conta.getId(), 1L);
-        assertEquals(conta.getValor(), getContas().get(0).getValor());
+        assertEquals(conta.getValorCentavos(), getContas().get(0).getValorCentavos());
         assertEquals(conta.getDescricao(), getContas().get(0).getDescricao());
         assertEquals(conta.getDataVencimento(), getContas().get(0).getDataVencimento());
         assertEquals(conta.getSituacao(), SituacaoConta.PENDENTE);
@@ -91,7 +123,7 @@ class ContaServiceTest {
                 .thenReturn(getContas().get(0));
 
         ContaRequest contaRequest = new ContaRequest()
-                .setValor(getContas().get(0).getValor())
+                .setValor(new BigDecimal("100.00"))
                 .setDescricao(getContas().get(0).getDescricao())
                 .setDataVencimento(getContas().get(0).getDataVencimento());
 
@@ -99,7 +131,7 @@ class ContaServiceTest {
 
         assertNotNull(conta);
         assertEquals(conta.getId(), 1L);
-        assertEquals(conta.getValor(), getContas().get(0).getValor());
+        assertEquals(conta.getValorCentavos(), getContas().get(0).getValorCentavos());
         assertEquals(conta.getDescricao(), getContas().get(0).getDescricao());
         assertEquals(conta.getDataVencimento(), getContas().get(0).getDataVencimento());
         assertEquals(conta.getSituacao(), SituacaoConta.PENDENTE);
@@ -111,7 +143,7 @@ class ContaServiceTest {
         when(contaRepository.findById(1L)).thenReturn(Optional.empty());
 
         ContaRequest contaRequest = new ContaRequest()
-                .setValor(getContas().get(0).getValor())
+                .setValor(new BigDecimal("100.00"))
                 .setDescricao(getContas().get(0).getDescricao())
                 .setDataVencimento(getContas().get(0).getDataVencimento());
 
@@ -133,10 +165,11 @@ class ContaServiceTest {
 
         assertNotNull(conta);
         assertEquals(conta.getId(), 1L);
-        assertEquals(conta.getValor(), getContas().get(0).getValor());
+        assertEquals(conta.getValorCentavos(), getContas().get(0).getValorCentavos());
         assertEquals(conta.getDescricao(), getContas().get(0).getDescricao());
         assertEquals(conta.getDataVencimento(), getContas().get(0).getDataVencimento());
         assertEquals(conta.getSituacao(), SituacaoConta.PAGO);
+        verify(consolidacaoPagamentoService).registrarAlteracao(eq(SituacaoConta.PENDENTE), isNull(), eq(conta.getValorCentavos()), eq(conta));
     }
 
     @Test
@@ -152,25 +185,25 @@ class ContaServiceTest {
     @Test
     void obterValorTotalPagoPorPeriodo() {
 
-        when(contaRepository.obterValorTotalPagoPorPeriodo(LocalDate.now(), LocalDate.now()))
-                .thenReturn(BigDecimal.valueOf(300.00));
+        when(consolidacaoPagamentoService.obterCentavosPagosPorPeriodo(LocalDate.now(), LocalDate.now()))
+                .thenReturn(30000L);
 
         BigDecimal valorTotalPago = contaService.obterValorTotalPagoPorPeriodo(LocalDate.now(), LocalDate.now()).get("valorTotalPago");
 
         assertNotNull(valorTotalPago);
-        assertEquals(valorTotalPago, BigDecimal.valueOf(300.00));
+        assertEquals(valorTotalPago, new BigDecimal("300.00"));
     }
 
     @Test
     void buscarContasAPagar() {
         PageRequest pageable = PageRequest.of(0, 10);
 
-        Page<ContaEntity> contaPage = new PageImpl<>(getContas(), pageable, getContas().size());
+        Page<ContaResponse> contaPage = new PageImpl<>(getProjecoes(), pageable, getContas().size());
 
-        when(contaRepository.findByAPagarComFiltro(any(PageRequest.class), any(LocalDate.class), any(String.class)))
+        when(contaRepository.buscarProjecoes(any(Specification.class), any(Pageable.class)))
                 .thenReturn(contaPage);
 
-        Page<ContaEntity> resultado = contaService.buscarContasAPagar(
+        Page<ContaResponse> resultado = contaService.buscarContasAPagar(
                 pageable,
                 new FiltroPesquisaConta()
                         .setDataVencimento(LocalDate.now())
@@ -184,24 +217,89 @@ class ContaServiceTest {
         assertEquals(1, resultado.getTotalPages());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void buscarContasAPagarPorCursor() {
+        FiltroPesquisaConta filtro = new FiltroPesquisaConta();
+        Specification<ContaEntity> aPagar = Mockito.mock(Specification.class);
+        Specification<ContaEntity> aposPrimeira = Mockito.mock(Specification.class);
+        Specification<ContaEntity> aPagarAposPrimeira = Mockito.mock(Specification.class);
+        when(aPagar.and(aposPrimeira)).thenReturn(aPagarAposPrimeira);
+
+        try (MockedStatic<ContaSpecifications> specifications = Mockito.mockStatic(ContaSpecifications.class)) {
+            specifications.when(() -> ContaSpecifications.aPagar(filtro)).thenReturn(aPagar);
+            specifications.when(() -> ContaSpecifications.aposCursor(argThat(cursor ->
+                            LocalDate.now().equals(cursor.getDataVencimento()) && Long.valueOf(1L).equals(cursor.getId()))))
+                    .thenReturn(aposPrimeira);
+            when(contaRepository.buscarProjecoes(eq(aPagar), eq(ContaSpecifications.ORDEM_CURSOR), eq(2)))
+                    .thenReturn(getProjecoes());
+            when(contaRepository.buscarProjecoes(eq(aPagarAposPrimeira), eq(ContaSpecifications.ORDEM_CURSOR), eq(2)))
+                    .thenReturn(getProjecoes().subList(1, 2));
+
+            PaginaCursor<ContaResponse> primeiraPagina = contaService.buscarContasAPagarPorCursor(null, 1, filtro);
+
+            assertEquals(1, primeiraPagina.getTamanho());
+            assertEquals(1L, primeiraPagina.getConteudo().get(0).getId());
+            assertNotNull(primeiraPagina.getProximoCursor());
+
+            PaginaCursor<ContaResponse> segundaPagina = contaService.buscarContasAPagarPorCursor(
+                    primeiraPagina.getProximoCursor(), 1, filtro);
+
+            assertEquals(1, segundaPagina.getTamanho());
+            assertEquals(2L, segundaPagina.getConteudo().get(0).getId());
+            assertNull(segundaPagina.getProximoCursor());
+            specifications.verify(() -> ContaSpecifications.aposCursor(any()), times(1));
+        }
+    }
+
+    @Test
+    void buscarContasAPagarPorCursorInvalido() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> contaService.buscarContasAPagarPorCursor("invalido", 10, new FiltroPesquisaConta()));
+
+        assertEquals("Cursor inválido", exception.getMessage());
+    }
+
     @Test
     void buscarContaPorId() {
-        when(contaRepository.findById(1L))
-                .thenReturn(java.util.Optional.of(getContas().get(0)));
+        when(contaRepository.buscarProjecaoPorId(1L))
+                .thenReturn(Optional.of(getProjecoes().get(0)));
 
-        ContaEntity conta = contaService.buscarContaPorId(1L);
+        ContaResponse conta = contaService.buscarContaPorId(1L);
 
         assertNotNull(conta);
         assertEquals(conta.getId(), 1L);
-        assertEquals(conta.getValor(), getContas().get(0).getValor());
+        assertEquals(new BigDecimal("100.00"), conta.getValor());
         assertEquals(conta.getDescricao(), getContas().get(0).getDescricao());
         assertEquals(conta.getDataVencimento(), getContas().get(0).getDataVencimento());
         assertEquals(conta.getSituacao(), SituacaoConta.PENDENTE);
     }
 
+    @Test
+    void buscarContaPorIdEmCache() {
+        when(contaRepository.buscarProjecaoPorId(1L))
+                .thenReturn(Optional.of(getProjecoes().get(0)));
+        when(contaRepository.findById(1L))
+                .thenReturn(Optional.of(getContas().get(0)));
+
+        contaService.buscarContaPorId(1L);
+        ContaResponse conta = contaService.buscarContaPorId(1L);
+
+        assertEquals(1L, conta.getId());
+        verify(contaRepository, times(1)).buscarProjecaoPorId(1L);
+
+        when(contaRepository.save(any(ContaEntity.class)))
+                .thenReturn(getContas().get(0).setSituacao(SituacaoConta.PAGO));
+
+        contaService.alterarSituacaoConta(1L, SituacaoConta.PAGO);
+        contaService.buscarContaPorId(1L);
+
+        verify(contaRepository, times(2)).buscarProjecaoPorId(1L);
+    }
+
     @Test
     void buscarContaPorIdComErro() {
-        when(contaRepository.findById(1L)).thenReturn(Optional.empty());
+        when(contaRepository.buscarProjecaoPorId(1L)).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> contaService.buscarContaPorId(1L));
 
@@ -210,27 +308,43 @@ class ContaServiceTest {
 
     @Test
     void testarImportarContas() throws IOException {
-        List<ContaEntity> contasCsv = new ArrayList<>();
-        contasCsv.add(new ContaEntity()
-                .setDescricao("Conta 1")
-                .setValor(BigDecimal.valueOf(100.0))
-                .setDataVencimento(LocalDate.of(2024, 9, 25)));
-        contasCsv.add(new ContaEntity()
-                .setDescricao("Conta 2")
-                .setValor(BigDecimal.valueOf(200.0))
-                .setDataVencimento(LocalDate.of(2024, 9, 26)));
+        ArgumentCaptor<List<ContaEntity>> captor = ArgumentCaptor.forClass(List.class);
+        when(contaRepository.saveAll(captor.capture())).then(ContaServiceTest::gerarIds);
 
-        when(contaRepository.saveAll(anyList())).thenReturn(contasCsv);
+        ResultadoImportacao resultado = contaService.importarContas(getArquivoCsv());
 
-        List<ContaEntity> contaEntities = contaService.importarContas(getArquivoCsv());
+        assertEquals(2, resultado.getLinhasImportadas());
+        assertEquals(0, resultado.getLinhasComFalha());
+        assertEquals(1, resultado.getLotes().size());
+        assertTrue(resultado.getLotes().get(0).isConfirmado());
 
+        List<ContaEntity> contaEntities = captor.getValue();
         assertEquals(2, contaEntities.size());
-        assertEquals(contasCsv.get(0).getDescricao(), contaEntities.get(0).getDescricao());
-        assertEquals(contasCsv.get(0).getValor(), contaEntities.get(0).getValor());
-        assertEquals(contasCsv.get(0).getDataVencimento(), contaEntities.get(0).getDataVencimento());
-        assertEquals(contasCsv.get(1).getDescricao(), contaEntities.get(1).getDescricao());
-        assertEquals(contasCsv.get(1).getValor(), contaEntities.get(1).getValor());
-        assertEquals(contasCsv.get(1).getDataVencimento(), contaEntities.get(1).getDataVencimento());
+        assertEquals("Conta 1", contaEntities.get(0).getDescricao());
+        assertEquals(10000L, contaEntities.get(0).getValorCentavos());
+        assertEquals(LocalDate.of(2024, 9, 25), contaEntities.get(0).getDataVencimento());
+        assertEquals(SituacaoConta.PENDENTE, contaEntities.get(0).getSituacao());
+        assertEquals("Conta 2", contaEntities.get(1).getDescricao());
+        assertEquals(20000L, contaEntities.get(1).getValorCentavos());
+        assertEquals(LocalDate.of(2024, 9, 26), contaEntities.get(1).getDataVencimento());
+    }
+
+    @Test
+    void testarImportarContasComLinhaInvalida() throws IOException {
+        when(contaRepository.saveAll(anyList())).then(ContaServiceTest::gerarIds);
+
+        MockMultipartFile arquivo = new MockMultipartFile(
+                "file",
+                "contas.csv",
+                "text/csv",
+                ("descricao,valor,dataVencimento\n"
+                 + "Conta 1,100.0,2024-09-25\n"
+                 + "Conta 2,abc,2024-09-26\n").getBytes(StandardCharsets.UTF_8));
+
+        ResultadoImportacao resultado = contaService.importarContas(arquivo);
+
+        assertEquals(1, resultado.getLinhasImportadas());
+        assertEquals(1, resultado.getLinhasComFalha());
     }
 
     @Test
@@ -243,6 +357,14 @@ class ContaServiceTest {
         assertEquals("Erro ao importar CSV", exception.getMessage());
     }
 
+    private static List<ContaEntity> gerarIds(InvocationOnMock invocation) {
+        List<ContaEntity> contas = invocation.getArgument(0);
+        for (int i = 0; i < contas.size(); i++) {
+            contas.get(i).setId(i + 1L);
+        }
+        return contas;
+    }
+
     private MockMultipartFile getArquivoCsv() throws IOException {
         String csvContent = "descricao,valor,dataVencimento\n"
                             + "Conta 1,100.0,2024-09-25\n"
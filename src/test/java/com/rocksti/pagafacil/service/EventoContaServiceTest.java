@@ -0,0 +1,73 @@
+package com.rocksti.pagafacil.service;
+
+import com.rocksti.pagafacil.dto.request.ContaRequest;
+import com.rocksti.pagafacil.dto.response.EventoContaResponse;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.enumeration.TipoEventoConta;
+import com.rocksti.pagafacil.repository.EventoContaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class EventoContaServiceTest {
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private EventoContaRepository eventoContaRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void registrarUmEventoPorEscrita() {
+        long posicao = eventoContaRepository.obterUltimoId();
+
+        ContaEntity conta = contaService.cadastrarConta(conta("Evento"));
+        contaService.atualizarConta(conta.getId(), conta("Evento alterado"));
+        contaService.alterarSituacaoConta(conta.getId(), SituacaoConta.PAGO);
+
+        List<EventoContaResponse> eventos = eventosDaConta(posicao, conta.getId());
+        assertEquals(List.of(TipoEventoConta.CRIADA, TipoEventoConta.ALTERADA, TipoEventoConta.ALTERADA),
+                eventos.stream().map(EventoContaResponse::getTipo).toList());
+        assertEquals(List.of(0L, 1L, 2L), eventos.stream().map(EventoContaResponse::getVersao).toList());
+        assertEquals(SituacaoConta.PAGO, eventos.get(2).getSituacao());
+    }
+
+    @Test
+    void descartarEventoDeTransacaoDesfeita() {
+        long posicao = eventoContaRepository.obterUltimoId();
+
+        Long id = transactionTemplate.execute(status -> {
+            ContaEntity conta = contaService.cadastrarConta(conta("Evento desfeito"));
+            status.setRollbackOnly();
+            return conta.getId();
+        });
+
+        assertEquals(List.of(), eventosDaConta(posicao, id));
+    }
+
+    private List<EventoContaResponse> eventosDaConta(long posicao, Long contaId) {
+        return eventoContaRepository.buscarApos(posicao, PageRequest.of(0, 1000)).stream()
+                .filter(evento -> evento.getContaId().equals(contaId))
+                .toList();
+    }
+
+    private static ContaRequest conta(String descricao) {
+        return new ContaRequest()
+                .setDescricao(descricao)
+                .setValor(new BigDecimal("12.30"))
+                .setDataVencimento(LocalDate.of(2032, 8, 20));
+    }
+}
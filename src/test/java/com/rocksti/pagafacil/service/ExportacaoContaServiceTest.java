@@ -0,0 +1,106 @@
+package com.rocksti.pagafacil.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rocksti.pagafacil.dto.filtro.FiltroExportacaoConta;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.enumeration.FormatoExportacao;
+import com.rocksti.pagafacil.enumeration.SituacaoConta;
+import com.rocksti.pagafacil.exception.BadRequestException;
+import com.rocksti.pagafacil.repository.ContaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@SpringBootTest(properties = "pagafacil.exportacao.tamanho-fetch=2")
+class ExportacaoContaServiceTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2033, 1, 1);
+    private static final LocalDate FIM = LocalDate.of(2033, 1, 31);
+
+    @Autowired
+    private ExportacaoContaService exportacaoContaService;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private List<ContaEntity> contas;
+
+    @BeforeEach
+    void cadastrarContas() {
+        contas = contaRepository.saveAllAndFlush(List.of(
+                conta("Água, \"janeiro\"", INICIO, SituacaoConta.PENDENTE),
+                conta("Luz", INICIO.plusDays(10), SituacaoConta.PAGO),
+                conta("Internet", FIM, SituacaoConta.ATRASADO),
+                conta("Fora do período", FIM.plusDays(1), SituacaoConta.PENDENTE)));
+    }
+
+    @Test
+    void exportarCsv() throws Exception {
+        FiltroExportacaoConta filtro = new FiltroExportacaoConta()
+                .setDataVencimentoInicio(INICIO)
+                .setDataVencimentoFim(FIM)
+                .setSituacao(List.of(SituacaoConta.PENDENTE, SituacaoConta.PAGO));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        long linhas = exportacaoContaService.exportar(filtro, FormatoExportacao.CSV, saida);
+
+        String[] csv = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, linhas);
+        assertEquals(3, csv.length);
+        assertEquals("dataVencimento,descricao,valor,id,situacao,dataPagamento", csv[0]);
+        assertEquals("2033-01-01,\"Água, \"\"janeiro\"\"\",10.00," + contas.get(0).getId() + ",PENDENTE,", csv[1]);
+        assertEquals("2033-01-11,Luz,10.00," + contas.get(1).getId() + ",PAGO,2033-01-11", csv[2]);
+    }
+
+    @Test
+    void exportarNdjson() throws Exception {
+        FiltroExportacaoConta filtro = new FiltroExportacaoConta()
+                .setDataVencimentoInicio(INICIO)
+                .setDataVencimentoFim(FIM);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        long linhas = exportacaoContaService.exportar(filtro, FormatoExportacao.NDJSON, saida);
+
+        String[] ndjson = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, linhas);
+        assertEquals(3, ndjson.length);
+        JsonNode ultima = objectMapper.readTree(ndjson[2]);
+        assertEquals(contas.get(2).getId(), ultima.get("id").asLong());
+        assertEquals("ATRASADO", ultima.get("situacao").asText());
+        assertEquals("2033-01-31", ultima.get("dataVencimento").asText());
+    }
+
+    @Test
+    void exportarComPeriodoInvalido() {
+        FiltroExportacaoConta filtro = new FiltroExportacaoConta()
+                .setDataPagamentoInicio(FIM)
+                .setDataPagamentoFim(INICIO);
+
+        assertThrows(BadRequestException.class,
+                () -> exportacaoContaService.exportar(filtro, FormatoExportacao.CSV, new ByteArrayOutputStream()));
+    }
+
+    private static ContaEntity conta(String descricao, LocalDate vencimento, SituacaoConta situacao) {
+        return new ContaEntity()
+                .setDescricao(descricao)
+                .setValorCentavos(1000L)
+                .setDataVencimento(vencimento)
+                .setSituacao(situacao)
+                .setDataPagamento(situacao == SituacaoConta.PAGO ? vencimento : null);
+    }
+}
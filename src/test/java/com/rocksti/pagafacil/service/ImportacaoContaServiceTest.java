@@ -0,0 +1,129 @@
+package com.rocksti.pagafacil.service;
+
+import com.rocksti.pagafacil.dto.request.ContaLoteRequest;
+import com.rocksti.pagafacil.dto.request.ContaRequest;
+import com.rocksti.pagafacil.dto.response.ResultadoImportacao;
+import com.rocksti.pagafacil.entity.ContaEntity;
+import com.rocksti.pagafacil.repository.ContaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ImportacaoContaServiceTest {
+
+    @Autowired
+    private ImportacaoContaService importacaoContaService;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private ContaLoteService contaLoteService;
+
+    @Test
+    void importarArquivoRepetido() throws IOException {
+        String csv = "descricao,valor,dataVencimento\n"
+                     + UUID.randomUUID() + ",100.0,2024-09-25\n";
+
+        ResultadoImportacao primeira = importar(csv);
+        ResultadoImportacao segunda = importar(csv);
+
+        assertFalse(primeira.isArquivoJaImportado());
+        assertEquals(1, primeira.getLinhasImportadas());
+        assertTrue(segunda.isArquivoJaImportado());
+        assertEquals(primeira.getChecksum(), segunda.getChecksum());
+        assertEquals(0, segunda.getLinhasImportadas());
+        assertTrue(segunda.getLotes().isEmpty());
+    }
+
+    @Test
+    void ignorarContasDuplicadas() throws IOException {
+        String descricao = UUID.randomUUID().toString();
+
+        ResultadoImportacao primeira = importar("descricao,valor,dataVencimento\n"
+                                                + descricao + " 1,100.0,2024-09-25\n"
+                                                + descricao + " 2,200.0,2024-09-26\n"
+                                                + descricao + " 1,100.0,2024-09-25\n");
+        ResultadoImportacao segunda = importar("descricao,valor,dataVencimento\n"
+                                               + descricao + " 1,100.00,2024-09-25\n"
+                                               + descricao + " 3,300.0,2024-09-27\n");
+
+        assertEquals(2, primeira.getLinhasImportadas());
+        assertEquals(1, primeira.getLinhasDuplicadas());
+        assertEquals(1, primeira.getLotes().get(0).getLinhasDuplicadas());
+        assertEquals(1, segunda.getLinhasImportadas());
+        assertEquals(1, segunda.getLinhasDuplicadas());
+        assertEquals(0, segunda.getLinhasComFalha());
+
+        List<ContaEntity> contas = contaRepository.findAll().stream()
+                .filter(conta -> conta.getDescricao().startsWith(descricao))
+                .sorted(Comparator.comparing(ContaEntity::getDescricao))
+                .toList();
+        assertEquals(List.of(descricao + " 1", descricao + " 2", descricao + " 3"),
+                contas.stream().map(ContaEntity::getDescricao).toList());
+        assertEquals(10000L, contas.get(0).getValorCentavos());
+        assertEquals(3, contas.stream().map(ContaEntity::getChaveDeduplicacao).distinct().count());
+    }
+
+    @Test
+    void recalcularChaveAoEditarConta() throws IOException {
+        String descricao = UUID.randomUUID().toString();
+        importar("descricao,valor,dataVencimento\n"
+                 + descricao + " 1,100.0,2024-09-25\n"
+                 + descricao + " 2,200.0,2024-09-26\n");
+        List<ContaEntity> importadas = buscarContas(descricao);
+        ContaRequest editada = new ContaRequest()
+                .setDescricao(descricao + " 3")
+                .setValor(new BigDecimal("300.0"))
+                .setDataVencimento(LocalDate.of(2024, 9, 27));
+
+        contaService.atualizarConta(importadas.get(0).getId(), editada);
+        contaLoteService.atualizarContas(List.of(new ContaLoteRequest()
+                .setId(importadas.get(1).getId())
+                .setDescricao(editada.getDescricao())
+                .setValor(editada.getValor())
+                .setDataVencimento(editada.getDataVencimento())));
+        ResultadoImportacao reimportacao = importar("descricao,valor,dataVencimento\n"
+                                                    + descricao + " 1,100.0,2024-09-25\n"
+                                                    + descricao + " 3,300.00,2024-09-27\n");
+
+        assertEquals(1, reimportacao.getLinhasImportadas());
+        assertEquals(1, reimportacao.getLinhasDuplicadas());
+        ContaEntity primeira = contaRepository.findById(importadas.get(0).getId()).orElseThrow();
+        assertNotNull(primeira.getChaveDeduplicacao());
+        assertEquals(1L, primeira.getVersao());
+        assertNull(contaRepository.findById(importadas.get(1).getId()).orElseThrow().getChaveDeduplicacao());
+        assertEquals(List.of(descricao + " 1", descricao + " 3", descricao + " 3"),
+                buscarContas(descricao).stream().map(ContaEntity::getDescricao).toList());
+    }
+
+    private List<ContaEntity> buscarContas(String descricao) {
+        return contaRepository.findAll().stream()
+                .filter(conta -> conta.getDescricao().startsWith(descricao))
+                .sorted(Comparator.comparing(ContaEntity::getDescricao).thenComparing(ContaEntity::getId))
+                .toList();
+    }
+
+    private ResultadoImportacao importar(String csv) throws IOException {
+        return importacaoContaService.importar(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
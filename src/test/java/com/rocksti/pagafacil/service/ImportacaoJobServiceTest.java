@@ -0,0 +1,114 @@
+package com.rocksti.pagafacil.service;
+
+import com.rocksti.pagafacil.dto.response.ImportacaoJobResponse;
+import com.rocksti.pagafacil.enumeration.SituacaoImportacao;
+import com.rocksti.pagafacil.exception.NotFoundException;
+import com.rocksti.pagafacil.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ImportacaoJobServiceTest {
+
+    @Autowired
+    private ImportacaoJobService importacaoJobService;
+
+    @Test
+    void submeterImportacao() throws InterruptedException {
+        MockMultipartFile arquivo = new MockMultipartFile(
+                "arquivo",
+                "contas.csv",
+                "text/csv",
+                ("descricao,valor,dataVencimento\n"
+                 + "Conta 1,100.0,2024-09-25\n"
+                 + "Conta 2,abc,2024-09-26\n"
+                 + "Conta 3,300.0,2024-09-27\n").getBytes(StandardCharsets.UTF_8));
+
+        ImportacaoJobResponse job = importacaoJobService.submeter(() -> arquivo, "admin");
+
+        assertNotNull(job.getId());
+
+        ImportacaoJobResponse resultado = aguardarConclusao(job.getId());
+
+        assertEquals(SituacaoImportacao.CONCLUIDA, resultado.getSituacao());
+        assertEquals(2, resultado.getLinhasProcessadas());
+        assertEquals(1, resultado.getLinhasComFalha());
+        assertNotNull(resultado.getConcluidaEm());
+    }
+
+    @Test
+    void recusarImportacaoAcimaDoLimiteAntesDeLerOArquivo() throws Exception {
+        CountDownLatch recebendo = new CountDownLatch(2);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Supplier<MultipartFile> arquivoLento = () -> {
+            recebendo.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new MockMultipartFile("arquivo", "contas.csv", "text/csv",
+                    "descricao,valor,dataVencimento\n".getBytes(StandardCharsets.UTF_8));
+        };
+        ExecutorService envios = Executors.newFixedThreadPool(2);
+        try {
+            Future<ImportacaoJobResponse> primeiro = envios.submit(() -> importacaoJobService.submeter(arquivoLento, "limite"));
+            Future<ImportacaoJobResponse> segundo = envios.submit(() -> importacaoJobService.submeter(arquivoLento, "limite"));
+            assertTrue(recebendo.await(5, TimeUnit.SECONDS));
+
+            AtomicBoolean lido = new AtomicBoolean();
+            TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                    () -> importacaoJobService.submeter(() -> {
+                        lido.set(true);
+                        return null;
+                    }, "limite"));
+
+            assertEquals("Limite de importações simultâneas por usuário atingido", exception.getMessage());
+            assertFalse(lido.get());
+
+            liberar.countDown();
+            aguardarConclusao(primeiro.get(5, TimeUnit.SECONDS).getId());
+            aguardarConclusao(segundo.get(5, TimeUnit.SECONDS).getId());
+        } finally {
+            liberar.countDown();
+            envios.shutdownNow();
+        }
+    }
+
+    @Test
+    void buscarImportacaoInexistente() {
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> importacaoJobService.buscarJob(UUID.randomUUID()));
+
+        assertEquals("Importação não encontrada", exception.getMessage());
+    }
+
+    private ImportacaoJobResponse aguardarConclusao(UUID id) throws InterruptedException {
+        for (int tentativa = 0; tentativa < 100; tentativa++) {
+            ImportacaoJobResponse job = importacaoJobService.buscarJob(id);
+            if (job.getSituacao() == SituacaoImportacao.CONCLUIDA || job.getSituacao() == SituacaoImportacao.FALHOU) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Importação não concluída");
+    }
+}
@@ -0,0 +1,89 @@
+package com.rocksti.pagafacil.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LacunasEventosTest {
+    private static final long ESPERA = TimeUnit.SECONDS.toNanos(5);
+    private static final long ESPERA_MAXIMA = TimeUnit.MINUTES.toNanos(10);
+
+    private final AtomicLong relogio = new AtomicLong(TimeUnit.DAYS.toNanos(1));
+    private final LacunasEventos lacunas = new LacunasEventos(ESPERA, ESPERA_MAXIMA, 100, relogio::get);
+
+    @Test
+    void esperarAPartirDeQuandoALacunaFoiVista() {
+        assertTrue(lacunas.aguardar(10, 13));
+
+        relogio.addAndGet(ESPERA - 1);
+        assertTrue(lacunas.aguardar(10, 13));
+
+        relogio.addAndGet(1);
+        assertFalse(lacunas.aguardar(10, 13));
+    }
+
+    @Test
+    void continuarProcurandoIdsUltrapassadosAteAEsperaMaxima() {
+        lacunas.aguardar(10, 13);
+        relogio.addAndGet(ESPERA);
+        assertFalse(lacunas.aguardar(10, 13));
+
+        assertEquals(List.of(11L, 12L), lacunas.pendentes(13, 10));
+        assertEquals(List.of(11L), lacunas.pendentes(13, 1));
+
+        lacunas.entregue(12);
+        assertEquals(List.of(11L), lacunas.pendentes(13, 10));
+
+        relogio.addAndGet(ESPERA_MAXIMA);
+        assertEquals(List.of(), lacunas.pendentes(13, 10));
+        assertEquals(0, lacunas.tamanho());
+    }
+
+    @Test
+    void naoTratarComoPendenteLacunaAindaAFrente() {
+        lacunas.aguardar(10, 13);
+        lacunas.entregue(11);
+
+        assertEquals(List.of(), lacunas.pendentes(11, 10));
+        assertTrue(lacunas.aguardar(11, 13));
+    }
+
+    @Test
+    void agruparLacunasUltrapassadasEmIntervalos() {
+        lacunas.aguardar(10, 13);
+        lacunas.aguardar(13, 15);
+        lacunas.aguardar(20, 22);
+
+        assertEquals(List.of(List.of(11L, 12L), List.of(14L, 14L)), intervalos(lacunas.intervalos(20, 10)));
+        assertEquals(List.of(List.of(14L, 14L)), intervalos(lacunas.intervalos(20, 1)));
+    }
+
+    @Test
+    void procurarLacunasRestauradasAteAEsperaMaxima() {
+        lacunas.restaurar(5, 7);
+
+        assertEquals(List.of(5L, 6L, 7L), lacunas.pendentes(10, 10));
+        assertFalse(lacunas.aguardar(10, 11));
+
+        relogio.addAndGet(ESPERA_MAXIMA);
+        assertEquals(List.of(), lacunas.pendentes(10, 10));
+    }
+
+    @Test
+    void abandonarLacunasMaisAntigasAcimaDoLimite() {
+        lacunas.aguardar(0, 151);
+
+        assertEquals(100, lacunas.tamanho());
+        assertEquals(51L, lacunas.pendentes(150, 1).get(0));
+    }
+
+    private static List<List<Long>> intervalos(List<long[]> intervalos) {
+        return intervalos.stream().map(intervalo -> List.of(intervalo[0], intervalo[1])).toList();
+    }
+}